@@ -5,19 +5,121 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import lombok.Value;
 
+/**
+ * A value which may be viewed either as a JSON tree, or as any number of typed objects.
+ *
+ * <p>The JSON tree and each typed view are converted at most once, and remain cached together
+ * until the value is replaced by {@link #setValue(Object)}. Views are shared, so callers must not
+ * mutate them.
+ *
+ * <p>Reads do not lock; once a view has been materialized, it is returned from an immutable
+ * snapshot. Concurrent first requests for the same view may each convert, but all callers observe
+ * the single published view.
+ */
 public class JsonViewWrapper {
 
+  /**
+   * A snapshot of the process-wide view conversion counters.
+   */
+  @Value
+  public static class ConversionStats {
+
+    /**
+     * The number of object to JSON tree conversions.
+     */
+    long treeConversions;
+
+    /**
+     * The number of JSON tree to typed object conversions.
+     */
+    long objectConversions;
+  }
+
+  private static final LongAdder TREE_CONVERSIONS = new LongAdder();
+  private static final LongAdder OBJECT_CONVERSIONS = new LongAdder();
+
+  /**
+   * Get the process-wide view conversion counters; for profiling.
+   *
+   * @return a snapshot of the counters.
+   */
+  @Nonnull
+  public static ConversionStats getConversionStats() {
+    return new ConversionStats(TREE_CONVERSIONS.sum(), OBJECT_CONVERSIONS.sum());
+  }
+
+  /**
+   * Reset the process-wide view conversion counters.
+   */
+  public static void resetConversionStats() {
+    TREE_CONVERSIONS.reset();
+    OBJECT_CONVERSIONS.reset();
+  }
+
   public static JsonViewWrapper of(Object value) {
     return new JsonViewWrapper(value);
   }
 
-  @Nullable private JsonNode jsonValue;
+  /**
+   * An immutable snapshot of the value and its views.
+   *
+   * <p>Views are added by compare-and-set of a new snapshot derived from the current one; a view
+   * is only published while its source tree is still current, so views of an old value are never
+   * attached to a new one.
+   */
+  @Value
+  private static class Snapshot {
+
+    @Nullable JsonNode tree;
+
+    /**
+     * Typed views, keyed by class; includes the original value, if it was not a tree.
+     *
+     * <p>Never modified once published; may contain null views.
+     */
+    @Nonnull
+    Map<Class<?>, Object> views;
+
+    @Nonnull
+    Snapshot withTree(@Nonnull JsonNode tree) {
+      return new Snapshot(tree, views);
+    }
+
+    @Nonnull
+    Snapshot withView(@Nonnull Class<?> clazz, @Nullable Object view) {
+      var copy = new HashMap<>(views);
+      copy.put(clazz, view);
+      return new Snapshot(tree, copy);
+    }
+  }
+
+  private static final VarHandle SNAPSHOT;
 
+  static {
+    try {
+      SNAPSHOT =
+        MethodHandles.lookup().findVarHandle(JsonViewWrapper.class, "snapshot", Snapshot.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * The current snapshot; read with acquire semantics, and replaced by compare-and-set.
+   */
   @JsonIgnore
-  @Nullable private Object objectValue;
+  @Nonnull
+  @SuppressWarnings("unused")
+  private Snapshot snapshot;
 
   @JsonCreator
   public JsonViewWrapper(Object value) {
@@ -29,68 +131,90 @@ public class JsonViewWrapper {
     return new JsonViewWrapper(viewAsJsonNode());
   }
 
-  public synchronized void setValue(Object value) {
-    this.jsonValue = null;
-    this.objectValue = null;
+  public void setValue(Object value) {
+    Snapshot next;
     if (value instanceof JsonNode jsonNode) {
-      this.jsonValue = jsonNode;
+      next = new Snapshot(jsonNode, Map.of());
+    } else if (value == null) {
+      next = new Snapshot(JsonUtil.convertValue(null, JsonNode.class), Map.of());
     } else {
-      this.objectValue = value;
+      next = new Snapshot(null, Map.of(value.getClass(), value));
     }
+    SNAPSHOT.setRelease(this, next);
   }
 
   public boolean isNull() {
-    if (jsonValue != null) {
-      return jsonValue.isNull();
-    }
-    return objectValue == null;
-  }
-
-  private JsonNode nonUpdatingTreeView() {
-    if (objectValue != null) {
-      return JsonUtil.convertValue(objectValue, JsonNode.class);
-    }
-    return jsonValue;
+    return viewAsJsonNode().isNull();
   }
 
   @Nonnull
   @JsonValue
   @CanIgnoreReturnValue
-  public synchronized JsonNode viewAsJsonNode() {
-    if (objectValue != null) {
-      setValue(nonUpdatingTreeView());
+  public JsonNode viewAsJsonNode() {
+    var current = load();
+    while (current.getTree() == null) {
+      var source = current.getViews().values().iterator().next();
+      var tree = JsonUtil.convertValue(source, JsonNode.class);
+      TREE_CONVERSIONS.increment();
+      current = publish(current, current.withTree(tree));
     }
-    assert jsonValue != null;
-    return jsonValue;
+    return current.getTree();
   }
 
-  @SuppressWarnings("unchecked")
-  public synchronized <T> T viewAs(@Nonnull Class<T> clazz) {
-    if (objectValue != null && clazz != objectValue.getClass()) {
-      viewAsJsonNode();
-    }
-    if (jsonValue != null) {
+  public <T> T viewAs(@Nonnull Class<T> clazz) {
+    var current = load();
+    while (!current.getViews().containsKey(clazz)) {
+      var tree = viewAsJsonNode();
+      T view;
       try {
-        setValue(JsonUtil.convertValue(jsonValue, clazz));
+        view = JsonUtil.convertValue(tree, clazz);
       } catch (Exception e) {
         throw new ViewConversionError(
-          "Failed to convert <%s> to %s".formatted(JsonUtil.toPrettyJson(jsonValue), clazz),
+          "Failed to convert <%s> to %s".formatted(JsonUtil.toPrettyJson(tree), clazz),
           e
         );
       }
+      OBJECT_CONVERSIONS.increment();
+      current = load();
+      // Losing the race to a snapshot of the same tree keeps our view valid; only a replaced tree
+      // needs another conversion.
+      while (current.getTree() == tree && !current.getViews().containsKey(clazz)) {
+        current = publish(current, current.withView(clazz, view));
+      }
     }
-    return (T) objectValue;
+    return clazz.cast(current.getViews().get(clazz));
+  }
+
+  @Nonnull
+  private Snapshot load() {
+    return (Snapshot) SNAPSHOT.getAcquire(this);
+  }
+
+  /**
+   * Try to replace {@code expected} with {@code next}.
+   *
+   * <p>On a lost race the winning snapshot is returned, so that callers re-check it; any view it
+   * already has is used rather than our duplicate.
+   *
+   * @param expected the snapshot {@code next} was derived from.
+   * @param next the new snapshot.
+   * @return the current snapshot.
+   */
+  @Nonnull
+  private Snapshot publish(@Nonnull Snapshot expected, @Nonnull Snapshot next) {
+    var witness = (Snapshot) SNAPSHOT.compareAndExchangeRelease(this, expected, next);
+    return witness == expected ? next : witness;
   }
 
   @Override
-  public synchronized boolean equals(Object o) {
+  public boolean equals(Object o) {
     if (this == o) return true;
     if (!(o instanceof JsonViewWrapper wrapper)) return false;
-    return nonUpdatingTreeView().equals(wrapper.nonUpdatingTreeView());
+    return viewAsJsonNode().equals(wrapper.viewAsJsonNode());
   }
 
   @Override
   public int hashCode() {
-    return nonUpdatingTreeView().hashCode();
+    return viewAsJsonNode().hashCode();
   }
 }
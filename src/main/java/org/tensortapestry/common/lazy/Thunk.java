@@ -1,14 +1,18 @@
 package org.tensortapestry.common.lazy;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import lombok.SneakyThrows;
+import lombok.Value;
 
 /**
  * A lazy {@code Supplier<T>}.
  *
- * <p>Value is computed once on the first call to {#link Thunk::get}.
+ * <p>Value is computed once on the first call to {#link Thunk::get}; later calls do not lock.
  *
  * @param <T> the type of the Thunk.
  */
@@ -36,11 +40,34 @@ public class Thunk<T> implements Supplier<T> {
     return new Thunk<>(() -> value);
   }
 
-  @Nullable private Supplier<T> supplier;
+  /**
+   * The outcome of the supplier; published once.
+   */
+  @Value
+  private static class Result<T> {
 
-  @Nullable private Throwable error;
+    @Nullable T value;
+
+    @Nullable Throwable error;
+  }
 
-  @Nullable private T value;
+  private static final VarHandle RESULT;
+
+  static {
+    try {
+      RESULT = MethodHandles.lookup().findVarHandle(Thunk.class, "result", Result.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  @Nullable private Supplier<T> supplier;
+
+  /**
+   * The published result; read with acquire semantics, so that once set, {@link #get()} does not
+   * lock.
+   */
+  @Nullable private Result<T> result;
 
   public Thunk(@Nonnull Supplier<T> supplier) {
     this.supplier = supplier;
@@ -48,19 +75,32 @@ public class Thunk<T> implements Supplier<T> {
 
   @Override
   @SneakyThrows
-  public synchronized T get() {
-    if (supplier != null) {
-      try {
-        value = supplier.get();
-      } catch (Throwable t) {
-        error = t;
-      }
-      supplier = null;
+  public T get() {
+    @SuppressWarnings("unchecked")
+    var r = (Result<T>) RESULT.getAcquire(this);
+    if (r == null) {
+      r = compute();
+    }
+    if (r.getError() != null) {
+      throw r.getError();
+    }
+    return r.getValue();
+  }
+
+  @Nonnull
+  private synchronized Result<T> compute() {
+    if (result != null) {
+      return result;
     }
-    if (error != null) {
-      throw error;
+    Result<T> r;
+    try {
+      r = new Result<>(Objects.requireNonNull(supplier).get(), null);
+    } catch (Throwable t) {
+      r = new Result<>(null, t);
     }
-    return value;
+    supplier = null;
+    RESULT.setRelease(this, r);
+    return r;
   }
 
   @Override
@@ -0,0 +1,185 @@
+package org.tensortapestry.loom.graph;
+
+import java.util.*;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+/**
+ * Journal of the net node changes to a graph since the last checkpoint.
+ *
+ * <p>Records the ids of added, removed, and modified nodes; and, for removed and modified nodes,
+ * the node as it was at the checkpoint. A node which is added and then removed is forgotten; a
+ * node which is removed and then re-added is modified.
+ *
+ * <p>Obtain the journal of a graph via {@link #of(LoomGraph)}; the graph keeps it up to date. A
+ * new journal records every existing node as added, so the first incremental validation of a
+ * graph is a full validation.
+ */
+public final class ChangeJournal implements LoomGraph.NodeIndex {
+
+  /**
+   * Get the journal of a graph, creating it if necessary.
+   *
+   * @param graph the graph.
+   * @return the journal.
+   */
+  @Nonnull
+  public static ChangeJournal of(@Nonnull LoomGraph graph) {
+    return graph.getIndex(ChangeJournal.class, ChangeJournal::new);
+  }
+
+  /**
+   * An immutable snapshot of the journal.
+   */
+  @Value
+  public static class Changes {
+
+    /**
+     * The ids of nodes added since the checkpoint, in order.
+     */
+    @Nonnull
+    Set<UUID> added;
+
+    /**
+     * The ids of nodes removed since the checkpoint, in order.
+     */
+    @Nonnull
+    Set<UUID> removed;
+
+    /**
+     * The ids of nodes modified since the checkpoint, in order.
+     */
+    @Nonnull
+    Set<UUID> modified;
+
+    /**
+     * The removed and modified nodes, as they were at the checkpoint.
+     */
+    @Nonnull
+    Map<UUID, LoomNode> previous;
+
+    /**
+     * Are there no changes?
+     *
+     * @return true if nothing has changed.
+     */
+    public boolean isEmpty() {
+      return added.isEmpty() && removed.isEmpty() && modified.isEmpty();
+    }
+
+    /**
+     * Get a removed or modified node, as it was at the checkpoint.
+     *
+     * @param id the node id.
+     * @return the detached node, or null if it was not removed or modified.
+     */
+    @Nullable public LoomNode getPrevious(@Nonnull UUID id) {
+      return previous.get(id);
+    }
+
+    /**
+     * Get the added and modified nodes which are still in the graph.
+     *
+     * @param graph the graph.
+     * @return the nodes, added nodes first.
+     */
+    @Nonnull
+    public List<LoomNode> currentNodes(@Nonnull LoomGraph graph) {
+      var result = new ArrayList<LoomNode>(added.size() + modified.size());
+      for (var ids : List.of(added, modified)) {
+        for (var id : ids) {
+          var node = graph.getNode(id);
+          if (node != null) {
+            result.add(node);
+          }
+        }
+      }
+      return result;
+    }
+  }
+
+  private final Set<UUID> added = new LinkedHashSet<>();
+  private final Set<UUID> removed = new LinkedHashSet<>();
+  private final Set<UUID> modified = new LinkedHashSet<>();
+  private final Map<UUID, LoomNode> previous = new HashMap<>();
+
+  @Override
+  public synchronized void nodeAdded(@Nonnull LoomNode node) {
+    var id = node.getId();
+    if (removed.remove(id)) {
+      modified.add(id);
+    } else {
+      added.add(id);
+    }
+  }
+
+  @Override
+  public synchronized void nodeRemoved(@Nonnull LoomNode node) {
+    var id = node.getId();
+    if (added.remove(id)) {
+      return;
+    }
+    modified.remove(id);
+    removed.add(id);
+    if (!previous.containsKey(id)) {
+      // Copy now; the removed node may be edited, without notification, and re-added.
+      previous.put(id, detachedCopy(node));
+    }
+  }
+
+  @Override
+  public synchronized void nodeChanging(@Nonnull LoomNode node) {
+    var id = node.getId();
+    if (!added.contains(id) && modified.add(id)) {
+      previous.put(id, detachedCopy(node));
+    }
+  }
+
+  @Override
+  public void nodeChanged(@Nonnull LoomNode node) {}
+
+  /**
+   * Get a snapshot of the changes since the last checkpoint.
+   *
+   * @return the changes.
+   */
+  @Nonnull
+  public synchronized Changes peek() {
+    return new Changes(
+      Collections.unmodifiableSet(new LinkedHashSet<>(added)),
+      Collections.unmodifiableSet(new LinkedHashSet<>(removed)),
+      Collections.unmodifiableSet(new LinkedHashSet<>(modified)),
+      Map.copyOf(previous)
+    );
+  }
+
+  /**
+   * Checkpoint the journal, forgetting all changes.
+   */
+  public synchronized void clear() {
+    added.clear();
+    removed.clear();
+    modified.clear();
+    previous.clear();
+  }
+
+  /**
+   * Take a snapshot of the changes, and checkpoint the journal.
+   *
+   * @return the changes.
+   */
+  @Nonnull
+  public synchronized Changes drain() {
+    var changes = peek();
+    clear();
+    return changes;
+  }
+
+  @Nonnull
+  private static LoomNode detachedCopy(@Nonnull LoomNode node) {
+    var copy = node.copy();
+    copy.setGraph(null);
+    return copy;
+  }
+}
@@ -0,0 +1,292 @@
+package org.tensortapestry.loom.graph;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Getter;
+
+/**
+ * An immutable directed adjacency structure over dense integer vertices, in compressed sparse row
+ * (CSR) form.
+ *
+ * <p>The successors of vertex {@code v} are {@code targets[offsets[v] .. offsets[v + 1])}, in
+ * insertion order. Vertices are typically {@link LoomGraph} node handles; vertices which are not
+ * in use simply have no edges.
+ */
+public final class CsrAdjacency {
+
+  /**
+   * Builder for a CsrAdjacency.
+   */
+  public static final class Builder {
+
+    private final int vertexCount;
+    private int[] sources = new int[16];
+    private int[] targets = new int[16];
+    private int edgeCount = 0;
+
+    private Builder(int vertexCount) {
+      this.vertexCount = vertexCount;
+    }
+
+    /**
+     * Add an edge.
+     *
+     * @param source the source vertex.
+     * @param target the target vertex.
+     * @return {@code this}
+     */
+    @Nonnull
+    @CanIgnoreReturnValue
+    public Builder addEdge(int source, int target) {
+      Objects.checkIndex(source, vertexCount);
+      Objects.checkIndex(target, vertexCount);
+      if (edgeCount == sources.length) {
+        sources = Arrays.copyOf(sources, 2 * edgeCount);
+        targets = Arrays.copyOf(targets, 2 * edgeCount);
+      }
+      sources[edgeCount] = source;
+      targets[edgeCount] = target;
+      edgeCount++;
+      return this;
+    }
+
+    /**
+     * Build the adjacency, by a counting sort of the edges on their source.
+     *
+     * @return the new CsrAdjacency.
+     */
+    @Nonnull
+    public CsrAdjacency build() {
+      var offsets = new int[vertexCount + 1];
+      for (int e = 0; e < edgeCount; ++e) {
+        offsets[sources[e] + 1]++;
+      }
+      for (int v = 0; v < vertexCount; ++v) {
+        offsets[v + 1] += offsets[v];
+      }
+      var cursor = Arrays.copyOf(offsets, vertexCount);
+      var sorted = new int[edgeCount];
+      for (int e = 0; e < edgeCount; ++e) {
+        sorted[cursor[sources[e]]++] = targets[e];
+      }
+      return new CsrAdjacency(offsets, sorted);
+    }
+  }
+
+  /**
+   * Create a new builder.
+   *
+   * @param vertexCount the number of vertices; edges must lie in {@code [0, vertexCount)}.
+   * @return the builder.
+   */
+  @Nonnull
+  public static Builder builder(int vertexCount) {
+    return new Builder(vertexCount);
+  }
+
+  /**
+   * The edge offsets, of length {@code vertexCount + 1}.
+   *
+   * <p>Shared, not copied; callers must not modify it.
+   */
+  @Getter
+  @Nonnull
+  private final int[] offsets;
+
+  /**
+   * The edge targets, of length {@code edgeCount}.
+   *
+   * <p>Shared, not copied; callers must not modify it.
+   */
+  @Getter
+  @Nonnull
+  private final int[] targets;
+
+  private CsrAdjacency(@Nonnull int[] offsets, @Nonnull int[] targets) {
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  /**
+   * Get the number of vertices.
+   *
+   * @return the vertex count.
+   */
+  public int getVertexCount() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Get the number of edges.
+   *
+   * @return the edge count.
+   */
+  public int getEdgeCount() {
+    return targets.length;
+  }
+
+  /**
+   * Get the out-degree of a vertex.
+   *
+   * @param vertex the vertex.
+   * @return the number of successors.
+   */
+  public int degree(int vertex) {
+    return offsets[vertex + 1] - offsets[vertex];
+  }
+
+  /**
+   * Get the successors of a vertex.
+   *
+   * @param vertex the vertex.
+   * @return a new array of the successors.
+   */
+  @Nonnull
+  public int[] successors(int vertex) {
+    return Arrays.copyOfRange(targets, offsets[vertex], offsets[vertex + 1]);
+  }
+
+  /**
+   * Visit the successors of a vertex.
+   *
+   * @param vertex the vertex.
+   * @param visitor the visitor.
+   */
+  public void forEachSuccessor(int vertex, @Nonnull IntConsumer visitor) {
+    for (int e = offsets[vertex]; e < offsets[vertex + 1]; ++e) {
+      visitor.accept(targets[e]);
+    }
+  }
+
+  /**
+   * Build the reverse adjacency, mapping each vertex to its predecessors.
+   *
+   * @return the transposed adjacency.
+   */
+  @Nonnull
+  public CsrAdjacency transpose() {
+    int n = getVertexCount();
+    var builder = builder(n);
+    for (int v = 0; v < n; ++v) {
+      for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+        builder.addEdge(targets[e], v);
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Compute the in-degree of every vertex.
+   *
+   * @return the number of predecessors of each vertex, counting parallel edges.
+   */
+  @Nonnull
+  public int[] inDegrees() {
+    var inDegree = new int[getVertexCount()];
+    for (int target : targets) {
+      inDegree[target]++;
+    }
+    return inDegree;
+  }
+
+  /**
+   * Compute a topological order of the vertices, by Kahn's algorithm.
+   *
+   * <p>Runs in {@code O(V + E)} time. The order is deterministic: vertices are released in
+   * first-in, first-out order, starting from the sources in vertex order.
+   *
+   * @return every vertex, each after all of its predecessors; or null if there is a cycle.
+   */
+  @Nullable public int[] topologicalOrder() {
+    int n = getVertexCount();
+    var inDegree = inDegrees();
+    var order = new int[n];
+    int tail = 0;
+    for (int v = 0; v < n; ++v) {
+      if (inDegree[v] == 0) {
+        order[tail++] = v;
+      }
+    }
+    for (int head = 0; head < tail; ++head) {
+      int v = order[head];
+      for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+        int w = targets[e];
+        if (--inDegree[w] == 0) {
+          order[tail++] = w;
+        }
+      }
+    }
+    return tail == n ? order : null;
+  }
+
+  /**
+   * Compute the strongly connected components, by an iterative Tarjan's algorithm.
+   *
+   * <p>Runs in {@code O(V + E)} time, with no recursion. Components are numbered in the order they
+   * are completed, which is a reverse topological order of the condensation: every edge between
+   * two components runs from a higher to a lower (or equal) component number.
+   *
+   * @return the component number of each vertex, in {@code [0, componentCount)}.
+   */
+  @Nonnull
+  public int[] stronglyConnectedComponents() {
+    int n = getVertexCount();
+    var index = new int[n];
+    var low = new int[n];
+    var component = new int[n];
+    var cursor = new int[n];
+    var sccStack = new int[n];
+    var callStack = new int[n];
+    Arrays.fill(index, -1);
+    Arrays.fill(component, -1);
+
+    int nextIndex = 0;
+    int componentCount = 0;
+    int sp = 0;
+    for (int root = 0; root < n; ++root) {
+      if (index[root] >= 0) {
+        continue;
+      }
+      int cp = 0;
+      index[root] = low[root] = nextIndex++;
+      cursor[root] = offsets[root];
+      sccStack[sp++] = root;
+      callStack[cp++] = root;
+
+      while (cp > 0) {
+        int v = callStack[cp - 1];
+        if (cursor[v] < offsets[v + 1]) {
+          int w = targets[cursor[v]++];
+          if (index[w] < 0) {
+            index[w] = low[w] = nextIndex++;
+            cursor[w] = offsets[w];
+            sccStack[sp++] = w;
+            callStack[cp++] = w;
+          } else if (component[w] < 0) {
+            // w is still on the component stack.
+            low[v] = Math.min(low[v], index[w]);
+          }
+        } else {
+          cp--;
+          if (cp > 0) {
+            int u = callStack[cp - 1];
+            low[u] = Math.min(low[u], low[v]);
+          }
+          if (low[v] == index[v]) {
+            int w;
+            do {
+              w = sccStack[--sp];
+              component[w] = componentCount;
+            } while (w != v);
+            componentCount++;
+          }
+        }
+      }
+    }
+    return component;
+  }
+}
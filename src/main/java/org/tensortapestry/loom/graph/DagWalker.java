@@ -0,0 +1,134 @@
+package org.tensortapestry.loom.graph;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+import javax.annotation.Nonnull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Parallel traversal of a directed acyclic graph in dependency order.
+ */
+@UtilityClass
+public class DagWalker {
+
+  /**
+   * Visit every vertex of a DAG, dispatching each vertex to the executor as soon as all of its
+   * predecessors have been visited.
+   *
+   * <p>Readiness is tracked with an atomic count of unvisited predecessors per vertex; the thread
+   * which completes the last predecessor of a vertex dispatches it. No thread blocks while waiting.
+   *
+   * <p>If a visit throws, or the executor rejects a task, the returned future completes
+   * exceptionally with that error and no further vertices are dispatched; visits already running
+   * are not interrupted.
+   *
+   * @param dag the graph; must be acyclic.
+   * @param executor the executor to visit vertices on.
+   * @param visitor the vertex visitor; called once per vertex, possibly concurrently.
+   * @return a future which completes when every vertex has been visited.
+   * @throws IllegalArgumentException if the graph has a cycle.
+   */
+  @Nonnull
+  public CompletableFuture<Void> walk(
+    @Nonnull CsrAdjacency dag,
+    @Nonnull Executor executor,
+    @Nonnull IntConsumer visitor
+  ) {
+    if (dag.topologicalOrder() == null) {
+      throw new IllegalArgumentException("Graph has a cycle");
+    }
+    return walkAcyclic(dag, executor, visitor);
+  }
+
+  /**
+   * As {@link #walk(CsrAdjacency, Executor, IntConsumer)}, for a graph already known to be
+   * acyclic; the cycle check is skipped.
+   *
+   * @param dag the graph; must be acyclic, or the returned future never completes.
+   * @param executor the executor to visit vertices on.
+   * @param visitor the vertex visitor; called once per vertex, possibly concurrently.
+   * @return a future which completes when every vertex has been visited.
+   */
+  @Nonnull
+  CompletableFuture<Void> walkAcyclic(
+    @Nonnull CsrAdjacency dag,
+    @Nonnull Executor executor,
+    @Nonnull IntConsumer visitor
+  ) {
+    return new Walk(dag, executor, visitor).start();
+  }
+
+  private static final class Walk {
+
+    private final CsrAdjacency dag;
+    private final Executor executor;
+    private final IntConsumer visitor;
+    private final int[] inDegree;
+    private final AtomicIntegerArray waiting;
+    private final AtomicInteger remaining;
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    private Walk(
+      @Nonnull CsrAdjacency dag,
+      @Nonnull Executor executor,
+      @Nonnull IntConsumer visitor
+    ) {
+      this.dag = dag;
+      this.executor = executor;
+      this.visitor = visitor;
+      this.inDegree = dag.inDegrees();
+      this.waiting = new AtomicIntegerArray(inDegree);
+      this.remaining = new AtomicInteger(dag.getVertexCount());
+    }
+
+    @Nonnull
+    private CompletableFuture<Void> start() {
+      int n = dag.getVertexCount();
+      if (n == 0) {
+        done.complete(null);
+      }
+      for (int v = 0; v < n && !done.isDone(); ++v) {
+        // Sources are chosen from the initial in-degrees; workers may already be releasing
+        // other vertices, which they dispatch themselves.
+        if (inDegree[v] == 0) {
+          dispatch(v);
+        }
+      }
+      return done;
+    }
+
+    private void dispatch(int v) {
+      try {
+        executor.execute(() -> visit(v));
+      } catch (RuntimeException e) {
+        done.completeExceptionally(e);
+      }
+    }
+
+    private void visit(int v) {
+      if (done.isDone()) {
+        return;
+      }
+      try {
+        visitor.accept(v);
+      } catch (Throwable e) {
+        done.completeExceptionally(e);
+        return;
+      }
+      var offsets = dag.getOffsets();
+      var targets = dag.getTargets();
+      for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+        int w = targets[e];
+        if (waiting.decrementAndGet(w) == 0) {
+          dispatch(w);
+        }
+      }
+      if (remaining.decrementAndGet() == 0) {
+        done.complete(null);
+      }
+    }
+  }
+}
@@ -2,7 +2,11 @@ package org.tensortapestry.loom.graph;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.Builder;
 import lombok.Data;
 import lombok.Singular;
@@ -41,6 +45,99 @@ public final class LoomEnvironment {
       @Nonnull LoomGraph graph,
       @Nonnull ValidationIssueCollector issueCollector
     );
+
+    /**
+     * Validate a graph which was valid before the given changes.
+     *
+     * <p>Implementations need only re-check the parts of the graph which the changes could have
+     * invalidated. The default re-validates the whole graph.
+     *
+     * @param env the LoomEnvironment.
+     * @param graph the graph.
+     * @param changes the changes since the graph was last valid.
+     * @param issueCollector the ValidationIssueCollector.
+     */
+    default void validateIncremental(
+      @Nonnull LoomEnvironment env,
+      @Nonnull LoomGraph graph,
+      @Nonnull ChangeJournal.Changes changes,
+      @Nonnull ValidationIssueCollector issueCollector
+    ) {
+      validateConstraint(env, graph, issueCollector);
+    }
+  }
+
+  /**
+   * A constraint which checks each node independently of the others.
+   *
+   * <p>Node constraints may be validated in parallel, see
+   * {@link LoomEnvironment#getValidationExecutor()}; {@link #validateNode} must be safe to call
+   * concurrently for different nodes.
+   */
+  public interface NodeConstraint extends Constraint {
+    /**
+     * Select the nodes to check in a full validation.
+     *
+     * @param graph the graph.
+     * @return the nodes; by default, all nodes.
+     */
+    @Nonnull
+    default List<LoomNode> selectNodes(@Nonnull LoomGraph graph) {
+      return List.copyOf(graph.getNodes().values());
+    }
+
+    /**
+     * Select the nodes to check in an incremental validation.
+     *
+     * @param graph the graph.
+     * @param changes the changes since the graph was last valid.
+     * @return the nodes; by default, the added and modified nodes.
+     */
+    @Nonnull
+    default List<LoomNode> selectNodes(
+      @Nonnull LoomGraph graph,
+      @Nonnull ChangeJournal.Changes changes
+    ) {
+      return changes.currentNodes(graph);
+    }
+
+    /**
+     * Check a single node.
+     *
+     * @param env the LoomEnvironment.
+     * @param graph the graph.
+     * @param node the node.
+     * @param issueCollector the ValidationIssueCollector.
+     */
+    void validateNode(
+      @Nonnull LoomEnvironment env,
+      @Nonnull LoomGraph graph,
+      @Nonnull LoomNode node,
+      @Nonnull ValidationIssueCollector issueCollector
+    );
+
+    @Override
+    default void validateConstraint(
+      @Nonnull LoomEnvironment env,
+      @Nonnull LoomGraph graph,
+      @Nonnull ValidationIssueCollector issueCollector
+    ) {
+      for (var node : selectNodes(graph)) {
+        validateNode(env, graph, node, issueCollector);
+      }
+    }
+
+    @Override
+    default void validateIncremental(
+      @Nonnull LoomEnvironment env,
+      @Nonnull LoomGraph graph,
+      @Nonnull ChangeJournal.Changes changes,
+      @Nonnull ValidationIssueCollector issueCollector
+    ) {
+      for (var node : selectNodes(graph, changes)) {
+        validateNode(env, graph, node, issueCollector);
+      }
+    }
   }
 
   public interface TypeSupportProvider extends Constraint {
@@ -62,6 +159,20 @@ public final class LoomEnvironment {
   @Singular
   private final Map<String, String> urlAliases;
 
+  /**
+   * Executor for the parallel validation of {@link NodeConstraint}s; if null, validation is
+   * sequential.
+   *
+   * <p>Either way, issues are reported in the same order.
+   */
+  @Nullable private final Executor validationExecutor;
+
+  /**
+   * The number of nodes validated per task, when validating in parallel.
+   */
+  @Builder.Default
+  private final int validationChunkSize = 256;
+
   public String urlAlias(String type) {
     if (type.contains("#")) {
       var parts = type.split("#", 2);
@@ -184,10 +295,10 @@ public final class LoomEnvironment {
   public void validateGraph(LoomGraph graph, ValidationIssueCollector issueCollector) {
     var listCollector = new ListValidationIssueCollector();
 
-    typeSupportProvider.validateConstraint(this, graph, listCollector);
+    checkConstraint(typeSupportProvider, graph, null, listCollector);
     for (var constraint : constraints) {
       if (!listCollector.hasFailed()) {
-        constraint.validateConstraint(this, graph, listCollector);
+        checkConstraint(constraint, graph, null, listCollector);
       }
     }
     if (listCollector.hasFailed()) {
@@ -195,6 +306,118 @@ public final class LoomEnvironment {
     }
   }
 
+  /**
+   * Validate the changes to a graph since its last successful incremental validation.
+   *
+   * @param graph the graph to validate.
+   * @throws LoomValidationError if the graph is invalid.
+   */
+  public void validateGraphChanges(LoomGraph graph) {
+    var listCollector = new ListValidationIssueCollector();
+    validateGraphChanges(graph, listCollector);
+    listCollector.check();
+  }
+
+  /**
+   * Validate the changes to a graph since its last successful incremental validation.
+   *
+   * <p>Changes are read from the graph's {@link ChangeJournal}, and checked by
+   * {@link Constraint#validateIncremental}. If no issues are found, the journal is cleared;
+   * otherwise it is kept, so that the issues are reported again until fixed. The first call on a
+   * graph validates every node.
+   *
+   * @param graph the graph to validate.
+   * @param issueCollector the ValidationIssueCollector.
+   */
+  public void validateGraphChanges(LoomGraph graph, ValidationIssueCollector issueCollector) {
+    var journal = ChangeJournal.of(graph);
+    var changes = journal.peek();
+    if (changes.isEmpty()) {
+      return;
+    }
+
+    var listCollector = new ListValidationIssueCollector();
+
+    checkConstraint(typeSupportProvider, graph, changes, listCollector);
+    for (var constraint : constraints) {
+      if (!listCollector.hasFailed()) {
+        checkConstraint(constraint, graph, changes, listCollector);
+      }
+    }
+    if (listCollector.hasFailed()) {
+      listCollector.getIssues().forEach(issueCollector::addIssue);
+    } else {
+      journal.clear();
+    }
+  }
+
+  private void checkConstraint(
+    @Nonnull Constraint constraint,
+    @Nonnull LoomGraph graph,
+    @Nullable ChangeJournal.Changes changes,
+    @Nonnull ValidationIssueCollector issueCollector
+  ) {
+    if (validationExecutor != null && constraint instanceof NodeConstraint nodeConstraint) {
+      var nodes = changes == null
+        ? nodeConstraint.selectNodes(graph)
+        : nodeConstraint.selectNodes(graph, changes);
+      validateNodesInParallel(nodeConstraint, graph, nodes, issueCollector);
+    } else if (changes == null) {
+      constraint.validateConstraint(this, graph, issueCollector);
+    } else {
+      constraint.validateIncremental(this, graph, changes, issueCollector);
+    }
+  }
+
+  /**
+   * Validate nodes in chunks on the validation executor.
+   *
+   * <p>Each chunk collects its own issues, and chunks are merged in order; so the issues are
+   * reported in the same order as by sequential validation.
+   */
+  private void validateNodesInParallel(
+    @Nonnull NodeConstraint constraint,
+    @Nonnull LoomGraph graph,
+    @Nonnull List<LoomNode> nodes,
+    @Nonnull ValidationIssueCollector issueCollector
+  ) {
+    var executor = Objects.requireNonNull(validationExecutor);
+    var chunkSize = Math.max(1, validationChunkSize);
+    var chunks = new ArrayList<CompletableFuture<ListValidationIssueCollector>>();
+    for (int start = 0; start < nodes.size(); start += chunkSize) {
+      var chunk = nodes.subList(start, Math.min(nodes.size(), start + chunkSize));
+      chunks.add(
+        CompletableFuture.supplyAsync(
+          () -> {
+            var chunkCollector = new ListValidationIssueCollector();
+            for (var node : chunk) {
+              constraint.validateNode(this, graph, node, chunkCollector);
+            }
+            return chunkCollector;
+          },
+          executor
+        )
+      );
+    }
+    for (var chunk : chunks) {
+      ListValidationIssueCollector chunkCollector;
+      try {
+        chunkCollector = chunk.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException cause) {
+          throw cause;
+        }
+        if (e.getCause() instanceof Error cause) {
+          throw cause;
+        }
+        throw e;
+      }
+      if (chunkCollector.hasFailed()) {
+        chunkCollector.getIssues().forEach(issueCollector::addIssue);
+      }
+    }
+  }
+
   /**
    * Create a new graph with this environment.
    *
@@ -9,6 +9,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import java.util.*;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.CheckReturnValue;
 import javax.annotation.Nonnull;
@@ -114,10 +115,106 @@ public final class LoomGraph implements HasToJsonString, StreamableIterable<Loom
   @Nonnull
   private UUID id = UUID.randomUUID();
 
+  /**
+   * The source of IDs for {@link #genNodeId()}.
+   */
+  @JsonIgnore
+  @Nonnull
+  private NodeIdGenerator nodeIdGenerator = NodeIdGenerator.TIME_ORDERED;
+
   @JsonSerialize(using = MapValueListUtil.MapSerializer.class)
   @JsonDeserialize(using = Serialization.NodeListToMapDeserializer.class)
   private final Map<UUID, LoomNode> nodes = new HashMap<>();
 
+  /**
+   * The nodes of the graph, partitioned by type; each bucket is in insertion order.
+   */
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Map<String, Map<UUID, LoomNode>> nodesByType = new HashMap<>();
+
+  /**
+   * The dense handle of each node.
+   */
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Map<UUID, Integer> handles = new HashMap<>();
+
+  /**
+   * The node of each handle; null for free handles.
+   */
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final List<LoomNode> nodesByHandle = new ArrayList<>();
+
+  /**
+   * Stack of free handles, available for reuse.
+   */
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private int[] freeHandles = new int[0];
+
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private int freeHandleCount = 0;
+
+  /**
+   * A derived index over the nodes of a graph.
+   *
+   * <p>Indexes are created on first use by {@link #getIndex(Class, Supplier)}, populated with the
+   * current nodes, and then maintained incrementally as nodes are added, removed, or changed in
+   * place via {@link LoomNode#setBody(Object)}, {@link LoomNode#addTag(String, Object)} or
+   * {@link LoomNode#removeTag(String)}.
+   *
+   * <p>In-place changes are bracketed by {@link #nodeChanging(LoomNode)} and
+   * {@link #nodeChanged(LoomNode)}; by default, a removal and a re-addition of the node.
+   */
+  public interface NodeIndex {
+    /**
+     * Called when a node is added to the graph.
+     *
+     * @param node the node.
+     */
+    void nodeAdded(@Nonnull LoomNode node);
+
+    /**
+     * Called when a node is removed from the graph.
+     *
+     * @param node the node.
+     */
+    void nodeRemoved(@Nonnull LoomNode node);
+
+    /**
+     * Called before a node in the graph is changed in place.
+     *
+     * <p>By default, the change is treated as a removal followed by an addition.
+     *
+     * @param node the node, as it is before the change.
+     */
+    default void nodeChanging(@Nonnull LoomNode node) {
+      nodeRemoved(node);
+    }
+
+    /**
+     * Called after a node in the graph is changed in place.
+     *
+     * @param node the node, as it is after the change.
+     */
+    default void nodeChanged(@Nonnull LoomNode node) {
+      nodeAdded(node);
+    }
+  }
+
+  @JsonIgnore
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final Map<Class<? extends NodeIndex>, NodeIndex> indexes = new LinkedHashMap<>();
+
   public LoomGraph(@Nonnull LoomEnvironment env) {
     this.env = env;
   }
@@ -129,7 +226,7 @@ public final class LoomGraph implements HasToJsonString, StreamableIterable<Loom
   ) {
     this.id = id;
     if (nodes != null) {
-      this.nodes.putAll(nodes);
+      nodes.values().forEach(this::addNode);
     }
   }
 
@@ -137,7 +234,12 @@ public final class LoomGraph implements HasToJsonString, StreamableIterable<Loom
   public LoomGraph copy() {
     var g = new LoomGraph(env);
     g.id = id;
-    nodes.values().stream().map(LoomNode::copy).forEach(g::addNode);
+    g.nodeIdGenerator = nodeIdGenerator;
+    for (var node : nodes.values()) {
+      var copy = node.copy();
+      copy.setGraph(null);
+      g.addNode(copy);
+    }
     return g;
   }
 
@@ -173,6 +275,128 @@ public final class LoomGraph implements HasToJsonString, StreamableIterable<Loom
     assertEnv().validateGraph(this, issueCollector);
   }
 
+  /**
+   * Validate the changes to the graph since the last successful incremental validation.
+   *
+   * @throws LoomValidationError if the graph is invalid.
+   * @see LoomEnvironment#validateGraphChanges(LoomGraph, ValidationIssueCollector)
+   */
+  public void validateChanges() {
+    assertEnv().validateGraphChanges(this);
+  }
+
+  /**
+   * Validate the changes to the graph since the last successful incremental validation.
+   *
+   * @param issueCollector the issue collector to use.
+   * @see LoomEnvironment#validateGraphChanges(LoomGraph, ValidationIssueCollector)
+   */
+  public void validateChanges(ValidationIssueCollector issueCollector) {
+    assertEnv().validateGraphChanges(this, issueCollector);
+  }
+
+  /**
+   * Get the index of the given class, creating and populating it if it does not yet exist.
+   *
+   * @param indexClass the index class.
+   * @param factory a factory for a new, empty index.
+   * @param <I> the index type.
+   * @return the index.
+   */
+  @Nonnull
+  public synchronized <I extends NodeIndex> I getIndex(
+    @Nonnull Class<I> indexClass,
+    @Nonnull Supplier<I> factory
+  ) {
+    var index = indexes.get(indexClass);
+    if (index == null) {
+      var created = factory.get();
+      nodes.values().forEach(created::nodeAdded);
+      indexes.put(indexClass, created);
+      index = created;
+    }
+    return indexClass.cast(index);
+  }
+
+  /**
+   * Change a node of the graph in place, notifying the graph's indexes before and after.
+   *
+   * @param node the node.
+   * @param change the change.
+   */
+  void updateNode(@Nonnull LoomNode node, @Nonnull Runnable change) {
+    for (var index : indexes.values()) {
+      index.nodeChanging(node);
+    }
+    change.run();
+    for (var index : indexes.values()) {
+      index.nodeChanged(node);
+    }
+  }
+
+  /**
+   * Get the dense integer handle of a node.
+   *
+   * <p>Handles are assigned when a node is added to the graph, are in {@code [0,
+   * getHandleLimit())}, and are recycled after the node is removed. They permit graph algorithms to
+   * run over primitive arrays indexed by handle, rather than over maps keyed by UUID.
+   *
+   * @param id the node ID.
+   * @return the handle.
+   * @throws IllegalStateException if the node does not exist.
+   */
+  public int assertHandle(@Nonnull UUID id) {
+    var handle = handles.get(id);
+    if (handle == null) {
+      throw new IllegalStateException("Node not found: " + id);
+    }
+    return handle;
+  }
+
+  /**
+   * Get the node with the given handle.
+   *
+   * @param handle the handle.
+   * @return the node, or null if the handle is not in use.
+   */
+  @Nullable public LoomNode getNodeByHandle(int handle) {
+    if (handle < 0 || handle >= nodesByHandle.size()) {
+      return null;
+    }
+    return nodesByHandle.get(handle);
+  }
+
+  /**
+   * Get the exclusive upper bound of the handles in use; suitable for sizing handle-indexed arrays.
+   *
+   * @return the handle limit.
+   */
+  @JsonIgnore
+  public int getHandleLimit() {
+    return nodesByHandle.size();
+  }
+
+  private void allocateHandle(@Nonnull LoomNode node) {
+    int handle;
+    if (freeHandleCount > 0) {
+      handle = freeHandles[--freeHandleCount];
+      nodesByHandle.set(handle, node);
+    } else {
+      handle = nodesByHandle.size();
+      nodesByHandle.add(node);
+    }
+    handles.put(node.getId(), handle);
+  }
+
+  private void releaseHandle(@Nonnull UUID id) {
+    int handle = handles.remove(id);
+    nodesByHandle.set(handle, null);
+    if (freeHandleCount == freeHandles.length) {
+      freeHandles = Arrays.copyOf(freeHandles, Math.max(8, 2 * freeHandles.length));
+    }
+    freeHandles[freeHandleCount++] = handle;
+  }
+
   /**
    * Get an iterator over all nodes in the graph.
    *
@@ -198,12 +422,34 @@ public final class LoomGraph implements HasToJsonString, StreamableIterable<Loom
   /**
    * Get all nodes of the given type.
    *
+   * <p>Nodes are returned in the order they were added to the graph; iteration is proportional
+   * to the number of nodes of the type.
+   *
    * @param type the node type.
    * @return the nodes.
    */
   @Nonnull
   public StreamableIterable<LoomNode> byType(String type) {
-    return () -> nodes.values().stream().filter(node -> node.getType().equals(type)).iterator();
+    return () -> typeBucket(type).iterator();
+  }
+
+  /**
+   * Count the nodes of the given type.
+   *
+   * @param type the node type.
+   * @return the number of nodes.
+   */
+  public int countByType(String type) {
+    return typeBucket(type).size();
+  }
+
+  @Nonnull
+  private Collection<LoomNode> typeBucket(String type) {
+    var bucket = nodesByType.get(type);
+    if (bucket == null) {
+      return List.of();
+    }
+    return bucket.values();
   }
 
   /**
@@ -235,20 +481,22 @@ public final class LoomGraph implements HasToJsonString, StreamableIterable<Loom
     String type,
     Function<LoomNode, W> wrap
   ) {
-    return () ->
-      nodes.values().stream().filter(node -> node.getType().equals(type)).map(wrap).iterator();
+    return () -> typeBucket(type).stream().map(wrap).iterator();
   }
 
   /**
    * Create a new, unused node ID.
    *
+   * <p>IDs are drawn from the graph's {@link NodeIdGenerator}. The default generator never repeats
+   * an ID, so the check against existing nodes only retries for IDs inserted from elsewhere.
+   *
    * @return the new ID.
    */
   @Nonnull
   public UUID genNodeId() {
     UUID id;
     do {
-      id = UUID.randomUUID();
+      id = nodeIdGenerator.generate();
     } while (hasNode(id));
     return id;
   }
@@ -387,7 +635,15 @@ public final class LoomGraph implements HasToJsonString, StreamableIterable<Loom
     }
 
     node.setGraph(this);
-    nodes.put(node.getId(), node);
+    if (nodes.put(node.getId(), node) == null) {
+      allocateHandle(node);
+      nodesByType
+        .computeIfAbsent(node.getType(), k -> new LinkedHashMap<>())
+        .put(node.getId(), node);
+      for (var index : indexes.values()) {
+        index.nodeAdded(node);
+      }
+    }
     return node;
   }
 
@@ -416,6 +672,15 @@ public final class LoomGraph implements HasToJsonString, StreamableIterable<Loom
   public LoomNode removeNode(@Nonnull UUID id) {
     var node = nodes.remove(id);
     if (node != null) {
+      releaseHandle(id);
+      var bucket = nodesByType.get(node.getType());
+      bucket.remove(id);
+      if (bucket.isEmpty()) {
+        nodesByType.remove(node.getType());
+      }
+      for (var index : indexes.values()) {
+        index.nodeRemoved(node);
+      }
       node.setGraph(null);
     }
     return node;
@@ -322,6 +322,25 @@ public final class LoomNode implements LoomNodeWrapper<LoomNode>, HasToJsonStrin
     return body.viewAs(clazz);
   }
 
+  /**
+   * Replace the body of the node.
+   *
+   * <p>If the node belongs to a graph, the graph's indexes are updated.
+   *
+   * @param value the new body.
+   */
+  public void setBody(@Nonnull Object value) {
+    update(() -> body.setValue(value));
+  }
+
+  private void update(@Nonnull Runnable change) {
+    if (graph != null) {
+      graph.updateNode(this, change);
+    } else {
+      change.run();
+    }
+  }
+
   /**
    * View the body of the node as a JsonNode.
    * <p>Equivalent to {@code this.getBody().viewAsJsonNode()}</p>
@@ -376,7 +395,7 @@ public final class LoomNode implements LoomNodeWrapper<LoomNode>, HasToJsonStrin
    * @param value the value of the tag.
    */
   public void addTag(@Nonnull String type, @Nonnull Object value) {
-    tags.put(type, JsonViewWrapper.of(value));
+    update(() -> tags.put(type, JsonViewWrapper.of(value)));
   }
 
   /**
@@ -385,6 +404,6 @@ public final class LoomNode implements LoomNodeWrapper<LoomNode>, HasToJsonStrin
    * @param type the type of the tag.
    */
   public void removeTag(@Nonnull String type) {
-    tags.remove(type);
+    update(() -> tags.remove(type));
   }
 }
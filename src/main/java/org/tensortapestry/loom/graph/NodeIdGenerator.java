@@ -0,0 +1,89 @@
+package org.tensortapestry.loom.graph;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+
+/**
+ * A source of new node IDs for a {@link LoomGraph}.
+ */
+@FunctionalInterface
+public interface NodeIdGenerator {
+  /**
+   * Random (version 4) UUIDs, from {@link UUID#randomUUID()}.
+   */
+  NodeIdGenerator RANDOM = UUID::randomUUID;
+
+  /**
+   * Time-ordered (version 7 layout) UUIDs; the default.
+   *
+   * @see TimeOrdered
+   */
+  NodeIdGenerator TIME_ORDERED = TimeOrdered::next;
+
+  /**
+   * Generate a new ID.
+   *
+   * @return the new ID.
+   */
+  @Nonnull
+  UUID generate();
+
+  /**
+   * Time-ordered UUIDs, in the RFC 9562 version 7 layout.
+   *
+   * <p>The high 64 bits hold a 48-bit millisecond timestamp and a 12-bit sequence, drawn from a
+   * per-thread monotonic counter, so concurrent generation shares no mutable state. IDs from one
+   * thread sort (by {@link UUID#compareTo(UUID)}) in generation order; IDs from different threads
+   * sort by millisecond. When a thread requests more than 4096 IDs in one millisecond, its sequence
+   * carries into its timestamp, which stays monotonic.
+   *
+   * <p>The low 62 bits hold a 32-bit thread slot, distinct for each thread of this process, and 30
+   * bits drawn from the per-thread, non-cryptographic {@link ThreadLocalRandom}. The slots are
+   * mixed with a random per-process salt, to separate IDs generated in different processes; so IDs
+   * generated in this process never collide.
+   */
+  final class TimeOrdered {
+
+    private static final long SALT = new SecureRandom().nextInt() & 0xFFFF_FFFFL;
+
+    /**
+     * The next thread slot; taken once per thread.
+     */
+    private static final AtomicInteger NEXT_SLOT = new AtomicInteger();
+
+    /**
+     * The sequence state of one thread.
+     */
+    private static final class State {
+
+      private final long slot = (NEXT_SLOT.getAndIncrement() ^ SALT) & 0xFFFF_FFFFL;
+      private long lastStamp;
+    }
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private TimeOrdered() {}
+
+    /**
+     * Generate a new time-ordered UUID.
+     *
+     * @return the new UUID.
+     */
+    @Nonnull
+    public static UUID next() {
+      var state = STATE.get();
+      long stamp = Math.max(state.lastStamp + 1, System.currentTimeMillis() << 12);
+      state.lastStamp = stamp;
+
+      long msb = ((stamp >>> 12) << 16) | 0x7000L | (stamp & 0xFFFL);
+      long lsb =
+        0x8000_0000_0000_0000L |
+        (state.slot << 30) |
+        (ThreadLocalRandom.current().nextInt() & 0x3FFF_FFFFL);
+      return new UUID(msb, lsb);
+    }
+  }
+}
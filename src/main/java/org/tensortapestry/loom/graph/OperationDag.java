@@ -0,0 +1,250 @@
+package org.tensortapestry.loom.graph;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpsIndex;
+
+/**
+ * The dependency DAG of the {@link OperationNode}s of a graph.
+ *
+ * <p>An operation depends on every operation which writes a tensor it reads. Operations are
+ * numbered by their position in a topological order, so every dependency edge runs from a lower to
+ * a higher index; the order is deterministic for a given graph.
+ *
+ * <p>The DAG is a snapshot; it does not track later changes to the graph.
+ */
+public final class OperationDag {
+
+  /**
+   * Build the operation DAG of a graph.
+   *
+   * @param graph the graph.
+   * @return the DAG.
+   * @throws IllegalStateException if the operations form a cycle; see {@link
+   *     TraversalUtils#findOperationCycles(LoomGraph, int)}.
+   */
+  @Nonnull
+  public static OperationDag of(@Nonnull LoomGraph graph) {
+    return new OperationDag(graph);
+  }
+
+  @Getter
+  @Nonnull
+  private final LoomGraph graph;
+
+  /**
+   * The operations, in topological order.
+   */
+  @Getter
+  @Nonnull
+  private final List<OperationNode> operations;
+
+  /**
+   * The dependency edges, from each operation index to the indexes of its dependents.
+   *
+   * <p>Parallel edges are kept, one per shared tensor.
+   */
+  @Getter
+  @Nonnull
+  private final CsrAdjacency successors;
+
+  /**
+   * The predecessor edges; the transpose of {@link #successors}.
+   */
+  @Getter
+  @Nonnull
+  private final CsrAdjacency predecessors;
+
+  /**
+   * The wavefront level of each operation: the length of the longest dependency path ending at it.
+   */
+  private final int[] levels;
+
+  private final Map<UUID, Integer> indexById;
+
+  private OperationDag(@Nonnull LoomGraph graph) {
+    this.graph = graph;
+    var index = TensorOpsIndex.of(graph);
+
+    List<OperationNode> nodes = graph.byType(OperationNode.class).toList();
+    int n = nodes.size();
+    Map<UUID, Integer> position = new HashMap<>(2 * n);
+    for (int i = 0; i < n; ++i) {
+      position.put(nodes.get(i).getId(), i);
+    }
+    var builder = CsrAdjacency.builder(n);
+    for (int i = 0; i < n; ++i) {
+      for (var tensorId : index.getOutputIds(nodes.get(i).getId())) {
+        for (var consumerId : index.getConsumerIds(tensorId)) {
+          builder.addEdge(i, position.get(consumerId));
+        }
+      }
+    }
+    var unordered = builder.build();
+    var order = unordered.topologicalOrder();
+    if (order == null) {
+      throw new IllegalStateException("Operation graph has a cycle");
+    }
+
+    var rank = new int[n];
+    List<OperationNode> sorted = new ArrayList<>(n);
+    Map<UUID, Integer> ids = new HashMap<>(2 * n);
+    for (int i = 0; i < n; ++i) {
+      rank[order[i]] = i;
+      var node = nodes.get(order[i]);
+      sorted.add(node);
+      ids.put(node.getId(), i);
+    }
+    var relabeled = CsrAdjacency.builder(n);
+    for (int i = 0; i < n; ++i) {
+      int source = i;
+      unordered.forEachSuccessor(order[i], w -> relabeled.addEdge(source, rank[w]));
+    }
+
+    this.operations = Collections.unmodifiableList(sorted);
+    this.indexById = ids;
+    this.successors = relabeled.build();
+    this.predecessors = successors.transpose();
+
+    this.levels = new int[n];
+    for (int v = 0; v < n; ++v) {
+      for (int e = successors.getOffsets()[v]; e < successors.getOffsets()[v + 1]; ++e) {
+        int w = successors.getTargets()[e];
+        levels[w] = Math.max(levels[w], levels[v] + 1);
+      }
+    }
+  }
+
+  /**
+   * Get the number of operations.
+   *
+   * @return the count.
+   */
+  public int size() {
+    return operations.size();
+  }
+
+  /**
+   * Get the index of an operation.
+   *
+   * @param id the operation id.
+   * @return the index, in {@code [0, size())}.
+   * @throws IllegalArgumentException if the operation is not in the DAG.
+   */
+  public int indexOf(@Nonnull UUID id) {
+    var i = indexById.get(id);
+    if (i == null) {
+      throw new IllegalArgumentException("Operation not in DAG: " + id);
+    }
+    return i;
+  }
+
+  /**
+   * Get the operation at an index.
+   *
+   * @param index the index.
+   * @return the operation.
+   */
+  @Nonnull
+  public OperationNode get(int index) {
+    return operations.get(index);
+  }
+
+  /**
+   * Get the wavefront level of an operation.
+   *
+   * @param index the operation index.
+   * @return the length of the longest dependency path ending at the operation; 0 for sources.
+   */
+  public int getLevel(int index) {
+    return levels[index];
+  }
+
+  /**
+   * Get the number of wavefront levels.
+   *
+   * @return one more than the greatest level; 0 if there are no operations.
+   */
+  public int getLevelCount() {
+    int count = 0;
+    for (int level : levels) {
+      count = Math.max(count, level + 1);
+    }
+    return count;
+  }
+
+  /**
+   * Get the operations grouped into wavefronts.
+   *
+   * <p>Each wavefront depends only on earlier wavefronts, so the operations within one are
+   * mutually independent; iterating the wavefronts in order visits operations in dependency order.
+   *
+   * @return the wavefronts, each in topological order.
+   */
+  @Nonnull
+  public List<List<OperationNode>> getLevels() {
+    List<List<OperationNode>> result = new ArrayList<>();
+    for (int i = 0; i < levels.length; ++i) {
+      while (result.size() <= levels[i]) {
+        result.add(new ArrayList<>());
+      }
+      result.get(levels[i]).add(operations.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Get the operations which an operation depends on.
+   *
+   * @param index the operation index.
+   * @return the distinct predecessors, in index order.
+   */
+  @Nonnull
+  public List<OperationNode> getPredecessors(int index) {
+    return distinct(predecessors, index);
+  }
+
+  /**
+   * Get the operations which depend on an operation.
+   *
+   * @param index the operation index.
+   * @return the distinct successors, in index order.
+   */
+  @Nonnull
+  public List<OperationNode> getSuccessors(int index) {
+    return distinct(successors, index);
+  }
+
+  @Nonnull
+  private List<OperationNode> distinct(@Nonnull CsrAdjacency adjacency, int index) {
+    return Arrays
+      .stream(adjacency.successors(index))
+      .sorted()
+      .distinct()
+      .mapToObj(operations::get)
+      .toList();
+  }
+
+  /**
+   * Visit every operation in parallel, each as soon as its dependencies have been visited.
+   *
+   * @param executor the executor to visit operations on.
+   * @param visitor the visitor; called once per operation, possibly concurrently.
+   * @return a future which completes when every operation has been visited, or exceptionally with
+   *     the first visitor error.
+   * @see DagWalker#walk(CsrAdjacency, Executor, java.util.function.IntConsumer)
+   */
+  @Nonnull
+  public CompletableFuture<Void> walk(
+    @Nonnull Executor executor,
+    @Nonnull Consumer<OperationNode> visitor
+  ) {
+    // The operations were topologically sorted on construction; no need to check again.
+    return DagWalker.walkAcyclic(successors, executor, i -> visitor.accept(operations.get(i)));
+  }
+}
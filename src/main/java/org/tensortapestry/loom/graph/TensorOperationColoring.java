@@ -0,0 +1,461 @@
+package org.tensortapestry.loom.graph;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+
+/**
+ * Vertex coloring of the interference graph of Tensor and Operation nodes.
+ *
+ * <p>The interference graph is that of {@link TraversalUtils#tensorOperationColoringGraph}: an
+ * operation is adjacent to its tensors, to the producers of its inputs, and to the consumers of its
+ * outputs; and two tensors are adjacent when some operation touches both. It is never
+ * materialized; neighbors are enumerated on demand from the {@link
+ * TraversalUtils#buildOperationLinkAdjacency(LoomGraph) operation link adjacency} and its
+ * transpose, so memory is linear in the size of the link graph rather than quadratic in the fan-in
+ * and fan-out of operations. All working state is held in primitive arrays indexed by node handle.
+ *
+ * <p>Only memory is linear. In the time bounds below, {@code E} counts edges of the interference
+ * graph, which grow quadratically with the fan-in and fan-out of each operation.
+ */
+public final class TensorOperationColoring {
+
+  /**
+   * The order in which vertices are colored.
+   */
+  public enum Strategy {
+    /**
+     * Greedy coloring, in order of decreasing degree; {@code O(V + E)} for {@code E} interference
+     * edges.
+     */
+    LARGEST_FIRST,
+
+    /**
+     * Brelaz's DSATUR: repeatedly color the vertex with the most distinct neighbor colors, breaking
+     * ties by degree; {@code O((V + E) log V)} for {@code E} interference edges, and usually uses
+     * fewer colors.
+     */
+    DSATUR,
+  }
+
+  /**
+   * A coloring, by node handle.
+   */
+  @Value
+  public static class Coloring {
+
+    /**
+     * The color of each node handle; -1 for handles which are not vertices of the interference
+     * graph.
+     *
+     * <p>Shared, not copied; callers must not modify it.
+     */
+    @Nonnull
+    int[] colors;
+
+    /**
+     * The number of colors used.
+     */
+    int colorCount;
+
+    /**
+     * Did the time budget run out; if so, the remaining vertices were colored largest-first.
+     */
+    boolean budgetExhausted;
+
+    /**
+     * Get the color of a node.
+     *
+     * @param graph the graph.
+     * @param id the node id.
+     * @return the color, or -1 if the node is not colored.
+     */
+    public int getColor(@Nonnull LoomGraph graph, @Nonnull UUID id) {
+      int handle = graph.assertHandle(id);
+      return handle < colors.length ? colors[handle] : -1;
+    }
+
+    /**
+     * Convert to a JGraphT coloring, keyed by node id.
+     *
+     * @param graph the colored graph.
+     * @return the coloring.
+     */
+    @Nonnull
+    public VertexColoringAlgorithm.Coloring<UUID> toIdColoring(@Nonnull LoomGraph graph) {
+      Map<UUID, Integer> map = new HashMap<>();
+      for (int v = 0; v < colors.length; ++v) {
+        if (colors[v] >= 0) {
+          map.put(graph.getNodeByHandle(v).getId(), colors[v]);
+        }
+      }
+      return new VertexColoringAlgorithm.ColoringImpl<>(map, colorCount);
+    }
+  }
+
+  /**
+   * Color the interference graph, with no time budget.
+   *
+   * @param graph the graph.
+   * @param strategy the coloring strategy.
+   * @return the coloring.
+   */
+  @Nonnull
+  public static Coloring color(@Nonnull LoomGraph graph, @Nonnull Strategy strategy) {
+    return color(graph, strategy, null);
+  }
+
+  /**
+   * Color the interference graph.
+   *
+   * <p>The budget bounds the time spent by {@link Strategy#DSATUR}; when it runs out, the remaining
+   * vertices are colored largest-first. The result is always a proper coloring.
+   *
+   * @param graph the graph.
+   * @param strategy the coloring strategy.
+   * @param budget the time budget, or null for none.
+   * @return the coloring.
+   */
+  @Nonnull
+  public static Coloring color(
+    @Nonnull LoomGraph graph,
+    @Nonnull Strategy strategy,
+    @Nullable Duration budget
+  ) {
+    var coloring = new TensorOperationColoring(graph);
+    return switch (strategy) {
+      case LARGEST_FIRST -> coloring.largestFirst();
+      case DSATUR -> coloring.dsatur(budget);
+    };
+  }
+
+  /**
+   * How many DSATUR steps between checks of the clock.
+   */
+  private static final int CLOCK_INTERVAL = 256;
+
+  private final CsrAdjacency link;
+  private final CsrAdjacency reverse;
+
+  /**
+   * The link adjacency and its transpose.
+   */
+  private final CsrAdjacency[] directions;
+
+  private final boolean[] isOperation;
+
+  /**
+   * The vertices of the interference graph, in handle order.
+   */
+  private final int[] vertices;
+
+  private final int[] degree;
+  private final int[] colors;
+
+  /**
+   * Neighbor enumeration buffer, filled by {@link #neighbors(int)}.
+   */
+  private final int[] buffer;
+
+  /**
+   * Neighbor de-duplication marks; a vertex is marked when {@code mark[v] == markStamp}.
+   */
+  private final int[] mark;
+
+  private int markStamp = 0;
+
+  /**
+   * Used color marks for {@link #smallestFreeColor(int)}.
+   */
+  private final int[] colorMark;
+
+  private int colorStamp = 0;
+
+  private TensorOperationColoring(@Nonnull LoomGraph graph) {
+    link = TraversalUtils.buildOperationLinkAdjacency(graph);
+    reverse = link.transpose();
+    directions = new CsrAdjacency[] { link, reverse };
+    int n = link.getVertexCount();
+
+    isOperation = new boolean[n];
+    for (var operation : graph.byType(OperationNode.TYPE)) {
+      isOperation[graph.assertHandle(operation.getId())] = true;
+    }
+    int count = 0;
+    var all = new int[n];
+    for (int v = 0; v < n; ++v) {
+      if (isOperation[v] || link.degree(v) > 0 || reverse.degree(v) > 0) {
+        all[count++] = v;
+      }
+    }
+    vertices = Arrays.copyOf(all, count);
+
+    buffer = new int[n];
+    mark = new int[n];
+    colorMark = new int[n + 1];
+    degree = new int[n];
+    for (int v : vertices) {
+      degree[v] = neighbors(v);
+    }
+    colors = new int[n];
+    Arrays.fill(colors, -1);
+  }
+
+  /**
+   * Enumerate the distinct neighbors of a vertex into {@link #buffer}.
+   *
+   * @param v the vertex.
+   * @return the number of neighbors.
+   */
+  private int neighbors(int v) {
+    int stamp = ++markStamp;
+    mark[v] = stamp;
+    int count = 0;
+    if (isOperation[v]) {
+      // Outputs, and their consumers; inputs, and their producers.
+      for (var adjacency : directions) {
+        var offsets = adjacency.getOffsets();
+        var targets = adjacency.getTargets();
+        for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+          int tensor = targets[e];
+          count = visit(tensor, stamp, count);
+          for (int f = offsets[tensor]; f < offsets[tensor + 1]; ++f) {
+            count = visit(targets[f], stamp, count);
+          }
+        }
+      }
+    } else {
+      // The operations touching the tensor, and every tensor they touch.
+      for (var adjacency : directions) {
+        var offsets = adjacency.getOffsets();
+        var targets = adjacency.getTargets();
+        for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+          int op = targets[e];
+          count = visit(op, stamp, count);
+          count = visitAll(link, op, stamp, count);
+          count = visitAll(reverse, op, stamp, count);
+        }
+      }
+    }
+    return count;
+  }
+
+  private int visitAll(@Nonnull CsrAdjacency adjacency, int v, int stamp, int count) {
+    var offsets = adjacency.getOffsets();
+    var targets = adjacency.getTargets();
+    for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+      count = visit(targets[e], stamp, count);
+    }
+    return count;
+  }
+
+  private int visit(int u, int stamp, int count) {
+    if (mark[u] != stamp) {
+      mark[u] = stamp;
+      buffer[count++] = u;
+    }
+    return count;
+  }
+
+  private int smallestFreeColor(int v) {
+    int count = neighbors(v);
+    int stamp = ++colorStamp;
+    for (int i = 0; i < count; ++i) {
+      int c = colors[buffer[i]];
+      if (c >= 0) {
+        colorMark[c] = stamp;
+      }
+    }
+    int c = 0;
+    while (colorMark[c] == stamp) {
+      c++;
+    }
+    return c;
+  }
+
+  /**
+   * Greedily color vertices in order of decreasing degree, by a stable counting sort.
+   *
+   * @param order the vertices to color.
+   */
+  private void colorLargestFirst(@Nonnull int[] order) {
+    int maxDegree = 0;
+    for (int v : order) {
+      maxDegree = Math.max(maxDegree, degree[v]);
+    }
+    var start = new int[maxDegree + 2];
+    for (int v : order) {
+      start[maxDegree - degree[v] + 1]++;
+    }
+    for (int d = 0; d <= maxDegree; ++d) {
+      start[d + 1] += start[d];
+    }
+    var sorted = new int[order.length];
+    for (int v : order) {
+      sorted[start[maxDegree - degree[v]]++] = v;
+    }
+    for (int v : sorted) {
+      colors[v] = smallestFreeColor(v);
+    }
+  }
+
+  @Nonnull
+  private Coloring largestFirst() {
+    colorLargestFirst(vertices);
+    return result(false);
+  }
+
+  @Nonnull
+  private Coloring dsatur(@Nullable Duration budget) {
+    long deadline = budget == null ? 0 : System.nanoTime() + budget.toNanos();
+    var heap = new DsaturHeap(colors.length);
+    for (int v : vertices) {
+      heap.push(v);
+    }
+    var neighborColors = new long[colors.length][];
+
+    boolean exhausted = false;
+    for (int step = 0; heap.size > 0; ++step) {
+      if (budget != null && step % CLOCK_INTERVAL == 0 && System.nanoTime() - deadline >= 0) {
+        exhausted = true;
+        break;
+      }
+      int v = heap.pop();
+      int c = firstClearBit(neighborColors[v]);
+      colors[v] = c;
+
+      int count = neighbors(v);
+      for (int i = 0; i < count; ++i) {
+        int u = buffer[i];
+        if (colors[u] < 0) {
+          var bits = neighborColors[u];
+          int word = c >>> 6;
+          if (bits == null || bits.length <= word) {
+            bits = Arrays.copyOf(bits == null ? new long[0] : bits, word + 1);
+            neighborColors[u] = bits;
+          }
+          long bit = 1L << c;
+          if ((bits[word] & bit) == 0) {
+            bits[word] |= bit;
+            heap.saturation[u]++;
+            heap.raise(u);
+          }
+        }
+      }
+    }
+    if (exhausted) {
+      colorLargestFirst(Arrays.copyOf(heap.heap, heap.size));
+    }
+    return result(exhausted);
+  }
+
+  private static int firstClearBit(@Nullable long[] bits) {
+    if (bits == null) {
+      return 0;
+    }
+    for (int word = 0; word < bits.length; ++word) {
+      if (bits[word] != -1L) {
+        return (word << 6) + Long.numberOfTrailingZeros(~bits[word]);
+      }
+    }
+    return bits.length << 6;
+  }
+
+  @Nonnull
+  private Coloring result(boolean budgetExhausted) {
+    int colorCount = 0;
+    for (int v : vertices) {
+      colorCount = Math.max(colorCount, colors[v] + 1);
+    }
+    return new Coloring(colors, colorCount, budgetExhausted);
+  }
+
+  /**
+   * An indexed binary max-heap of uncolored vertices, ordered by saturation, then degree, then
+   * lowest handle.
+   */
+  private final class DsaturHeap {
+
+    private final int[] heap;
+    private final int[] position;
+    private final int[] saturation;
+    private int size = 0;
+
+    private DsaturHeap(int n) {
+      heap = new int[n];
+      position = new int[n];
+      saturation = new int[n];
+    }
+
+    private boolean before(int a, int b) {
+      if (saturation[a] != saturation[b]) {
+        return saturation[a] > saturation[b];
+      }
+      if (degree[a] != degree[b]) {
+        return degree[a] > degree[b];
+      }
+      return a < b;
+    }
+
+    private void push(int v) {
+      heap[size] = v;
+      position[v] = size;
+      size++;
+      raise(v);
+    }
+
+    private int pop() {
+      int top = heap[0];
+      size--;
+      if (size > 0) {
+        place(heap[size], 0);
+        lower(heap[0]);
+      }
+      return top;
+    }
+
+    private void raise(int v) {
+      int i = position[v];
+      while (i > 0) {
+        int parent = (i - 1) / 2;
+        if (!before(v, heap[parent])) {
+          break;
+        }
+        place(heap[parent], i);
+        i = parent;
+      }
+      place(v, i);
+    }
+
+    private void lower(int v) {
+      int i = position[v];
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && before(heap[child + 1], heap[child])) {
+          child++;
+        }
+        if (!before(heap[child], v)) {
+          break;
+        }
+        place(heap[child], i);
+        i = child;
+      }
+      place(v, i);
+    }
+
+    private void place(int v, int i) {
+      heap[i] = v;
+      position[v] = i;
+    }
+  }
+}
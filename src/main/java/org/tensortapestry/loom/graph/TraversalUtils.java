@@ -1,25 +1,121 @@
 package org.tensortapestry.loom.graph;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import javax.annotation.Nonnull;
 import lombok.experimental.UtilityClass;
 import org.jgrapht.Graph;
-import org.jgrapht.alg.color.GreedyColoring;
 import org.jgrapht.alg.cycle.TarjanSimpleCycles;
 import org.jgrapht.alg.interfaces.VertexColoringAlgorithm;
 import org.jgrapht.graph.DefaultDirectedGraph;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.graph.DefaultUndirectedGraph;
 import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpsIndex;
 
 @UtilityClass
 public class TraversalUtils {
 
+  /**
+   * Find representative cycles of Tensors and Operations in the graph, in linear time.
+   *
+   * <p>Computes the strongly connected components of the {@link
+   * #buildOperationLinkAdjacency(LoomGraph) operation link adjacency}; the graph is acyclic if and
+   * only if every component is a single node. For each cyclic component, up to {@code maxCycles},
+   * one shortest cycle through its first operation (in graph order) is reported, starting at that
+   * operation.
+   *
+   * <p>Runs in {@code O(V + E)} time; unlike {@link #findOperationSimpleCycles(LoomGraph)}, which
+   * may be exponential.
+   *
+   * @param graph the graph to search.
+   * @param maxCycles the maximum number of cycles to report.
+   * @return a list of cycles, where each cycle is a list of nodes in the cycle; empty if the graph
+   *     is acyclic.
+   */
+  @Nonnull
+  public List<List<LoomNode>> findOperationCycles(@Nonnull LoomGraph graph, int maxCycles) {
+    var adjacency = buildOperationLinkAdjacency(graph);
+    var component = adjacency.stronglyConnectedComponents();
+    int n = component.length;
+
+    var componentSize = new int[n];
+    for (int c : component) {
+      componentSize[c]++;
+    }
+    var reported = new boolean[n];
+    var parent = new int[n];
+    Arrays.fill(parent, -1);
+    var queue = new int[n];
+
+    List<List<LoomNode>> cycles = new ArrayList<>();
+    for (var operation : graph.byType(OperationNode.TYPE)) {
+      if (cycles.size() >= maxCycles) {
+        break;
+      }
+      int start = graph.assertHandle(operation.getId());
+      int c = component[start];
+      if (componentSize[c] < 2 || reported[c]) {
+        continue;
+      }
+      reported[c] = true;
+      cycles.add(shortestCycle(graph, adjacency, component, start, parent, queue));
+    }
+    return cycles;
+  }
+
+  /**
+   * Breadth-first search, within the component of {@code start}, for a shortest cycle through it.
+   *
+   * <p>Components are disjoint, so {@code parent} need not be reset between components.
+   */
+  @Nonnull
+  private List<LoomNode> shortestCycle(
+    @Nonnull LoomGraph graph,
+    @Nonnull CsrAdjacency adjacency,
+    @Nonnull int[] component,
+    int start,
+    @Nonnull int[] parent,
+    @Nonnull int[] queue
+  ) {
+    var offsets = adjacency.getOffsets();
+    var targets = adjacency.getTargets();
+    int c = component[start];
+    int head = 0;
+    int tail = 0;
+    parent[start] = start;
+    queue[tail++] = start;
+    while (head < tail) {
+      int v = queue[head++];
+      for (int e = offsets[v]; e < offsets[v + 1]; ++e) {
+        int w = targets[e];
+        if (w == start) {
+          var cycle = new ArrayList<LoomNode>();
+          for (int u = v; u != start; u = parent[u]) {
+            cycle.add(graph.getNodeByHandle(u));
+          }
+          cycle.add(graph.getNodeByHandle(start));
+          Collections.reverse(cycle);
+          return cycle;
+        }
+        if (component[w] == c && parent[w] < 0) {
+          parent[w] = v;
+          queue[tail++] = w;
+        }
+      }
+    }
+    throw new IllegalStateException("No cycle through a vertex of a cyclic component");
+  }
+
   /**
    * Find all simple cycles of Tensors and Operations in the graph.
    *
+   * <p>The number of simple cycles may be exponential in the size of the graph; this is a
+   * diagnostic, see {@link #findOperationCycles(LoomGraph, int)} for validation.
+   *
    * @param graph the graph to search
    * @return a list of cycles, where each cycle is a list of nodes in the cycle.
    */
@@ -67,9 +163,40 @@ public class TraversalUtils {
     return linkGraph;
   }
 
+  /**
+   * Build a CSR adjacency of the data flow of Operation and Tensor nodes in the graph.
+   *
+   * <p>The integer form of {@link #buildOpeartionLinkGraph(LoomGraph)}: vertices are the
+   * {@link LoomGraph#assertHandle(UUID) node handles}, and the edges run from Tensor inputs to
+   * Operation nodes; and from Operation nodes to Tensor outputs.
+   *
+   * @param graph the graph to traverse.
+   * @return the adjacency, with {@link LoomGraph#getHandleLimit()} vertices.
+   */
+  @Nonnull
+  public CsrAdjacency buildOperationLinkAdjacency(LoomGraph graph) {
+    var index = TensorOpsIndex.of(graph);
+    var builder = CsrAdjacency.builder(graph.getHandleLimit());
+    for (var operation : graph.byType(OperationNode.TYPE)) {
+      var opId = operation.getId();
+      int op = graph.assertHandle(opId);
+      for (var tensorId : index.getInputIds(opId)) {
+        builder.addEdge(graph.assertHandle(tensorId), op);
+      }
+      for (var tensorId : index.getOutputIds(opId)) {
+        builder.addEdge(op, graph.assertHandle(tensorId));
+      }
+    }
+    return builder.build();
+  }
+
   /**
    * Construct a coloring graph for tensor and operation adjacency.
    *
+   * <p>Materializes an edge between every pair of tensors touched by an operation, which is
+   * quadratic in operation fan-in and fan-out; {@link TensorOperationColoring} colors the same
+   * graph without building it.
+   *
    * @param graph The graph to construct the coloring graph for.
    * @return The coloring graph.
    */
@@ -123,12 +250,16 @@ public class TraversalUtils {
   /**
    * Color the nodes of a graph based on the adjacency of tensors and operations.
    *
+   * <p>Uses {@link TensorOperationColoring.Strategy#LARGEST_FIRST}, which is deterministic; its
+   * time grows with the interference edges, quadratic in each operation's fan-in and fan-out,
+   * while its memory stays linear in the graph.
+   *
    * @param graph The graph to color.
    * @return The Coloring.
    */
   public VertexColoringAlgorithm.Coloring<UUID> tensorOperationColoring(LoomGraph graph) {
-    var coloringGraph = tensorOperationColoringGraph(graph);
-    var greedyColoring = new GreedyColoring<>(coloringGraph);
-    return greedyColoring.getColoring();
+    return TensorOperationColoring
+      .color(graph, TensorOperationColoring.Strategy.LARGEST_FIRST)
+      .toIdColoring(graph);
   }
 }
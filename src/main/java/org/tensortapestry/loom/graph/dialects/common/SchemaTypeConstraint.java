@@ -4,7 +4,6 @@ import java.net.URI;
 import java.util.List;
 import javax.annotation.Nonnull;
 import org.tensortapestry.common.json.JsonPathUtils;
-import org.tensortapestry.common.json.JsonUtil;
 import org.tensortapestry.common.validation.ValidationIssue;
 import org.tensortapestry.common.validation.ValidationIssueCollector;
 import org.tensortapestry.loom.graph.LoomEnvironment;
@@ -12,76 +11,100 @@ import org.tensortapestry.loom.graph.LoomGraph;
 import org.tensortapestry.loom.graph.LoomNode;
 import org.tensortapestry.loom.json.JsonSchemaFactoryManager;
 
-public class SchemaTypeConstraint implements LoomEnvironment.Constraint {
+/**
+ * Validates node bodies and tags against the JSON schemas of their types.
+ *
+ * <p>Nodes which pass are recorded in the graph's {@link SchemaValidationIndex}, and are skipped
+ * by later validations until they, or the bound schemas, change.
+ */
+public class SchemaTypeConstraint implements LoomEnvironment.NodeConstraint {
 
   @Override
-  public void validateConstraint(
+  public void validateNode(
     @Nonnull LoomEnvironment env,
     @Nonnull LoomGraph graph,
+    @Nonnull LoomNode node,
     @Nonnull ValidationIssueCollector issueCollector
   ) {
     var manager = env.getJsonSchemaFactoryManager();
-    graph.getNodes().values().forEach(node -> checkNode(manager, node, issueCollector));
+    var index = SchemaValidationIndex.of(graph);
+    if (index.isValidated(manager, node)) {
+      return;
+    }
+    // Read before validating, so a schema change during validation leaves the node stale.
+    long generation = manager.getSchemaGeneration();
+    if (checkNode(manager, node, issueCollector) == 0) {
+      index.markValidated(generation, node);
+    }
   }
 
-  private void checkNode(
+  /**
+   * Validate the body and tags of a node against their schemas.
+   *
+   * @return the number of issues reported.
+   */
+  private int checkNode(
     @Nonnull JsonSchemaFactoryManager manager,
     @Nonnull LoomNode node,
     @Nonnull ValidationIssueCollector issueCollector
   ) {
+    int issues = 0;
     var nodeType = node.getType();
     var nodeSchema = manager.loadSchema(URI.create(nodeType));
-    manager
-      .issueScan()
-      .schema(nodeSchema)
-      .issueCollector(issueCollector)
-      .param("nodeType", nodeType)
-      .summaryPrefix("Node Body ")
-      .jsonPathPrefix(JsonPathUtils.concatJsonPath(node.getJsonPath() + ".body"))
-      .data(node.viewBodyAsJsonNode())
-      .contexts(() ->
-        List.of(
-          node.asValidationContext("Node"),
-          ValidationIssue.Context
-            .builder()
-            .name("Node Body Schema")
-            .data(nodeSchema.getSchemaNode())
-            .build()
-        )
-      )
-      .build()
-      .scan();
-
-    for (var entry : node.getTags().entrySet()) {
-      var annotationType = entry.getKey();
-      var annotation = entry.getValue();
-
-      var annSchema = manager.loadSchema(URI.create(annotationType));
+    issues +=
       manager
         .issueScan()
-        .schema(annSchema)
+        .schema(nodeSchema)
         .issueCollector(issueCollector)
         .param("nodeType", nodeType)
-        .param("annotationType", annotationType)
-        .summaryPrefix("Annotation ")
-        .jsonPathPrefix(
-          JsonPathUtils.concatJsonPath(
-            node.getJsonPath() + ".annotations['" + annotationType + "']"
-          )
-        )
-        .data(JsonUtil.valueToJsonNodeTree(annotation))
+        .summaryPrefix("Node Body ")
+        .jsonPathPrefix(JsonPathUtils.concatJsonPath(node.getJsonPath() + ".body"))
+        .data(node.viewBodyAsJsonNode())
         .contexts(() ->
           List.of(
             node.asValidationContext("Node"),
             ValidationIssue.Context
               .builder()
-              .name("Annotation Schema")
-              .data(annSchema.getSchemaNode())
+              .name("Node Body Schema")
+              .data(nodeSchema.getSchemaNode())
               .build()
           )
         )
         .build()
         .scan();
+
+    for (var entry : node.getTags().entrySet()) {
+      var annotationType = entry.getKey();
+      var annotation = entry.getValue();
+
+      var annSchema = manager.loadSchema(URI.create(annotationType));
+      issues +=
+        manager
+          .issueScan()
+          .schema(annSchema)
+          .issueCollector(issueCollector)
+          .param("nodeType", nodeType)
+          .param("annotationType", annotationType)
+          .summaryPrefix("Annotation ")
+          .jsonPathPrefix(
+            JsonPathUtils.concatJsonPath(
+              node.getJsonPath() + ".annotations['" + annotationType + "']"
+            )
+          )
+          .data(annotation.viewAsJsonNode())
+          .contexts(() ->
+            List.of(
+              node.asValidationContext("Node"),
+              ValidationIssue.Context
+                .builder()
+                .name("Annotation Schema")
+                .data(annSchema.getSchemaNode())
+                .build()
+            )
+          )
+          .build()
+          .scan();
     }
+    return issues;
   }
 }
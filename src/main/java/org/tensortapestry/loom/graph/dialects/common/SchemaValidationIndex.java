@@ -0,0 +1,141 @@
+package org.tensortapestry.loom.graph.dialects.common;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.LoomNode;
+import org.tensortapestry.loom.json.JsonSchemaFactoryManager;
+
+/**
+ * Records the nodes of a graph which have passed {@link SchemaTypeConstraint} validation.
+ *
+ * <p>A node is recorded with a fingerprint of the JSON trees of its body and tags, compared by
+ * identity. The trees are cached by their {@link org.tensortapestry.common.json.JsonViewWrapper}s
+ * until the value is replaced, so an unchanged fingerprint means an unchanged node, and the node
+ * need not be re-validated. Nodes are also re-validated when the schema manager changes, or when
+ * its {@link JsonSchemaFactoryManager#getSchemaGeneration() schema generation} advances.
+ *
+ * <p>Obtain the index of a graph via {@link #of(LoomGraph)}; the graph evicts nodes when they are
+ * removed or their body is replaced.
+ */
+public final class SchemaValidationIndex implements LoomGraph.NodeIndex {
+
+  /**
+   * Get the index of a graph, creating it if necessary.
+   *
+   * @param graph the graph.
+   * @return the index.
+   */
+  @Nonnull
+  public static SchemaValidationIndex of(@Nonnull LoomGraph graph) {
+    return graph.getIndex(SchemaValidationIndex.class, SchemaValidationIndex::new);
+  }
+
+  /**
+   * The identities of the JSON trees of a node, at validation time.
+   */
+  private static final class Fingerprint {
+
+    private final long schemaGeneration;
+    private final JsonNode body;
+    private final String[] tagTypes;
+    private final JsonNode[] tagTrees;
+
+    private Fingerprint(long schemaGeneration, @Nonnull LoomNode node) {
+      this.schemaGeneration = schemaGeneration;
+      this.body = node.viewBodyAsJsonNode();
+      var tags = node.getTags();
+      this.tagTypes = new String[tags.size()];
+      this.tagTrees = new JsonNode[tags.size()];
+      int i = 0;
+      for (var entry : tags.entrySet()) {
+        tagTypes[i] = entry.getKey();
+        tagTrees[i] = entry.getValue().viewAsJsonNode();
+        i++;
+      }
+    }
+
+    private boolean matches(long schemaGeneration, @Nonnull LoomNode node) {
+      if (this.schemaGeneration != schemaGeneration || body != node.viewBodyAsJsonNode()) {
+        return false;
+      }
+      var tags = node.getTags();
+      if (tags.size() != tagTypes.length) {
+        return false;
+      }
+      for (int i = 0; i < tagTypes.length; ++i) {
+        var tag = tags.get(tagTypes[i]);
+        if (tag == null || tag.viewAsJsonNode() != tagTrees[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  @Nullable private JsonSchemaFactoryManager manager;
+
+  private final Map<UUID, Fingerprint> validated = new HashMap<>();
+
+  @Override
+  public void nodeAdded(@Nonnull LoomNode node) {}
+
+  @Override
+  public synchronized void nodeRemoved(@Nonnull LoomNode node) {
+    validated.remove(node.getId());
+  }
+
+  /**
+   * Has the node passed validation, and not changed since?
+   *
+   * <p>A changed node, or a node validated against an older schema generation, is evicted.
+   *
+   * @param manager the schema manager used for validation; a different manager invalidates all
+   *     nodes.
+   * @param node the node.
+   * @return true if the node need not be re-validated.
+   */
+  public synchronized boolean isValidated(
+    @Nonnull JsonSchemaFactoryManager manager,
+    @Nonnull LoomNode node
+  ) {
+    if (this.manager != manager) {
+      this.manager = manager;
+      validated.clear();
+      return false;
+    }
+    var id = node.getId();
+    var fingerprint = validated.get(id);
+    if (fingerprint == null) {
+      return false;
+    }
+    if (!fingerprint.matches(manager.getSchemaGeneration(), node)) {
+      validated.remove(id);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Record that the node, as it is now, has passed validation.
+   *
+   * @param schemaGeneration the schema generation of the manager, read before validation began.
+   * @param node the node.
+   */
+  public synchronized void markValidated(long schemaGeneration, @Nonnull LoomNode node) {
+    validated.put(node.getId(), new Fingerprint(schemaGeneration, node));
+  }
+
+  /**
+   * Get the number of nodes recorded as validated.
+   *
+   * @return the count.
+   */
+  public synchronized int getValidatedCount() {
+    return validated.size();
+  }
+}
@@ -14,7 +14,7 @@ import org.tensortapestry.loom.graph.LoomNode;
 @Value
 @Builder(toBuilder = true)
 public class TypeRestrictionConstraint
-  implements LoomEnvironment.Constraint, LoomEnvironment.TypeSupportProvider {
+  implements LoomEnvironment.NodeConstraint, LoomEnvironment.TypeSupportProvider {
 
   @Nonnull
   @Singular
@@ -35,15 +35,12 @@ public class TypeRestrictionConstraint
   }
 
   @Override
-  public void validateConstraint(
+  public void validateNode(
     @Nonnull LoomEnvironment env,
     @Nonnull LoomGraph graph,
+    @Nonnull LoomNode node,
     @Nonnull ValidationIssueCollector issueCollector
   ) {
-    graph.getNodes().values().forEach(node -> checkNode(node, issueCollector));
-  }
-
-  private void checkNode(LoomNode node, ValidationIssueCollector issueCollector) {
     checkType(node, "node", node.getType(), nodeTypes, issueCollector);
     for (var type : node.getTags().keySet()) {
       checkType(node, "tag", type, tagTypes, issueCollector);
@@ -0,0 +1,43 @@
+package org.tensortapestry.loom.graph.dialects.tensorops;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import org.tensortapestry.common.json.HasToJsonString;
+
+/**
+ * The {@link TensorOpNodes#BUFFER_ASSIGNMENT_TYPE} tag of a Tensor node: its live interval, and the
+ * reusable buffer planned to hold it.
+ *
+ * <p>Steps are indexes into a topological order of the operations of the graph.
+ */
+@Value
+@Jacksonized
+@Builder
+public class BufferAssignment implements HasToJsonString {
+
+  /**
+   * The buffer index.
+   */
+  int buffer;
+
+  /**
+   * The byte offset of the buffer in the arena.
+   */
+  long offset;
+
+  /**
+   * The size of the tensor, in bytes.
+   */
+  long bytes;
+
+  /**
+   * The first step at which the tensor is live.
+   */
+  int start;
+
+  /**
+   * The last step at which the tensor is live, inclusive.
+   */
+  int end;
+}
@@ -0,0 +1,51 @@
+package org.tensortapestry.loom.graph.dialects.tensorops;
+
+import java.util.Map;
+import javax.annotation.Nonnull;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Storage sizes of tensor dtypes.
+ */
+@UtilityClass
+public class DTypes {
+
+  private final Map<String, Integer> BYTE_WIDTHS = Map.ofEntries(
+    Map.entry("bool", 1),
+    Map.entry("int8", 1),
+    Map.entry("uint8", 1),
+    Map.entry("int16", 2),
+    Map.entry("float16", 2),
+    Map.entry("bfloat16", 2),
+    Map.entry("int32", 4),
+    Map.entry("float32", 4),
+    Map.entry("int64", 8),
+    Map.entry("float64", 8)
+  );
+
+  /**
+   * Get the size of one element of a dtype.
+   *
+   * @param dtype the dtype.
+   * @return the size, in bytes.
+   * @throws IllegalArgumentException if the dtype is not recognized.
+   */
+  public int byteWidth(@Nonnull String dtype) {
+    var width = BYTE_WIDTHS.get(dtype);
+    if (width == null) {
+      throw new IllegalArgumentException("Unknown dtype: " + dtype);
+    }
+    return width;
+  }
+
+  /**
+   * Get the storage size of a tensor.
+   *
+   * @param tensor the tensor.
+   * @return the size, in bytes.
+   * @throws IllegalArgumentException if the dtype is not recognized.
+   */
+  public long byteSize(@Nonnull TensorNode tensor) {
+    return (long) tensor.getSize() * byteWidth(tensor.getDtype());
+  }
+}
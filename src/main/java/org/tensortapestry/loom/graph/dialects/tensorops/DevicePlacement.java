@@ -0,0 +1,21 @@
+package org.tensortapestry.loom.graph.dialects.tensorops;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import org.tensortapestry.common.json.HasToJsonString;
+
+/**
+ * The {@link TensorOpNodes#DEVICE_PLACEMENT_TYPE} tag of an Application node: the device it is
+ * placed on.
+ */
+@Value
+@Jacksonized
+@Builder
+public class DevicePlacement implements HasToJsonString {
+
+  /**
+   * The device index.
+   */
+  int device;
+}
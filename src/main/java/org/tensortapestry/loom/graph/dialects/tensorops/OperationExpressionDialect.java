@@ -28,6 +28,7 @@ public class OperationExpressionDialect {
         .tagType(TensorOpNodes.IPF_INDEX_ANNOTATION_TYPE)
         .tagType(TensorOpNodes.IPF_SIGNATURE_ANNOTATION_TYPE)
         .tagType(TensorOpNodes.IO_SEQUENCE_POINT_TYPE)
+        .tagType(TensorOpNodes.BUFFER_ASSIGNMENT_TYPE)
         .build()
     )
     .jsonSchemaFactoryManager(CommonEnvironments.COMMON_SCHEMA_MANAGER)
@@ -36,7 +37,7 @@ public class OperationExpressionDialect {
     .urlAlias("http://tensortapestry.org/schemas/loom/2024-01/tag_types.jsd", "loom")
     .constraint(CommonEnvironments.commonDTypeConstraint())
     .constraint(new TensorOperationAgreementConstraint())
-    .constraint(new NoTensorOperationCyclesConstraint())
+    .constraint(NoTensorOperationCyclesConstraint.builder().build())
     .constraint(new OperationIPFSignatureAgreementConstraint())
     .build();
 
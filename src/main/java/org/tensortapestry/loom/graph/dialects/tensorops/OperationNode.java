@@ -79,14 +79,15 @@ public final class OperationNode extends AbstractNodeWrapper<OperationNode, Oper
     return getBody();
   }
 
+  /**
+   * Get the applications of this operation.
+   *
+   * @return the application nodes.
+   */
   public StreamableIterable<ApplicationNode> getApplicationNodes() {
-    var id = getId();
-    return () ->
-      assertGraph()
-        .byType(ApplicationNode.class)
-        .stream()
-        .filter(n -> n.getOperationId().equals(id))
-        .iterator();
+    var graph = assertGraph();
+    var ids = TensorOpsIndex.of(graph).getApplicationIds(getId());
+    return () -> ids.stream().map(id -> graph.assertNode(id, ApplicationNode.class)).iterator();
   }
 
   /**
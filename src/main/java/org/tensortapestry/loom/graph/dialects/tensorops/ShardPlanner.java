@@ -0,0 +1,300 @@
+package org.tensortapestry.loom.graph.dialects.tensorops;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.tensortapestry.zspace.ZRange;
+import org.tensortapestry.zspace.ZRangeProjectionMap;
+
+/**
+ * Automatic sharding of {@link OperationNode}s over their IPF index.
+ *
+ * <p>A plan splits the index range into a grid of balanced chunks, choosing how many chunks to cut
+ * each index dimension into. Only dimensions which every output projection depends upon may be
+ * split; splitting any other dimension would have several shards write the same output cells.
+ *
+ * <p>Among the grids of at most {@code workers} shards, the planner keeps those whose largest
+ * shard is within {@link #BALANCE_TOLERANCE} of the smallest achievable largest shard, and of
+ * those picks the one reading the fewest input cells in total; input cells read by several shards
+ * are counted once per shard, so this minimizes the replication implied by the input projections.
+ */
+@UtilityClass
+public class ShardPlanner {
+
+  /**
+   * The relative slack in the largest shard size which a plan may trade for lower input volume.
+   */
+  public static final double BALANCE_TOLERANCE = 0.1;
+
+  /**
+   * A shard plan.
+   */
+  @Value
+  public static class ShardPlan {
+
+    /**
+     * The index range which was planned.
+     */
+    @Nonnull
+    ZRange index;
+
+    /**
+     * The number of chunks each index dimension is split into.
+     */
+    @Nonnull
+    List<Integer> splits;
+
+    /**
+     * The shard index ranges, which partition the index.
+     */
+    @Nonnull
+    List<ZRange> shards;
+
+    /**
+     * The number of index points in the largest shard.
+     */
+    long maxShardPoints;
+
+    /**
+     * The total number of input cells read by all shards.
+     */
+    long inputCells;
+
+    /**
+     * Get the number of shards.
+     *
+     * @return the shard count.
+     */
+    public int getShardCount() {
+      return shards.size();
+    }
+  }
+
+  /**
+   * Plan the shards of an operation.
+   *
+   * @param operation the operation; must have IPF index and signature tags.
+   * @param workers the target worker count; the maximum number of shards.
+   * @return the plan.
+   * @throws IllegalArgumentException if the operation has no IPF tags, or {@code workers < 1}.
+   */
+  @Nonnull
+  public ShardPlan plan(@Nonnull OperationNode operation, int workers) {
+    if (
+      !operation.hasTag(TensorOpNodes.IPF_INDEX_ANNOTATION_TYPE) ||
+      !operation.hasTag(TensorOpNodes.IPF_SIGNATURE_ANNOTATION_TYPE)
+    ) {
+      throw new IllegalArgumentException("Operation has no IPF signature: " + operation.getId());
+    }
+    return plan(
+      operation.viewTagAs(TensorOpNodes.IPF_INDEX_ANNOTATION_TYPE, ZRange.class),
+      operation.viewTagAs(TensorOpNodes.IPF_SIGNATURE_ANNOTATION_TYPE, IPFSignature.class),
+      workers
+    );
+  }
+
+  /**
+   * Plan the shards of an IPF index.
+   *
+   * @param index the index range.
+   * @param signature the IPF signature.
+   * @param workers the target worker count; the maximum number of shards.
+   * @return the plan.
+   * @throws IllegalArgumentException if {@code workers < 1}.
+   */
+  @Nonnull
+  public ShardPlan plan(@Nonnull ZRange index, @Nonnull IPFSignature signature, int workers) {
+    if (workers < 1) {
+      throw new IllegalArgumentException("workers must be >= 1: " + workers);
+    }
+    int ndim = index.getNDim();
+    var shape = index.getShape().toArray();
+    var eligible = new boolean[ndim];
+    for (int d = 0; d < ndim; ++d) {
+      eligible[d] = shape[d] > 1 && writtenByEveryOutput(signature, d);
+    }
+
+    List<int[]> candidates = new ArrayList<>();
+    enumerate(shape, eligible, workers, 0, new int[ndim], candidates);
+
+    List<ZRangeProjectionMap> inputs = signature
+      .getInputs()
+      .values()
+      .stream()
+      .flatMap(List::stream)
+      .toList();
+    int n = candidates.size();
+    var maxPoints = new long[n];
+    var inputCells = new long[n];
+    long best = Long.MAX_VALUE;
+    for (int c = 0; c < n; ++c) {
+      maxPoints[c] = maxShardPoints(shape, candidates.get(c));
+      best = Math.min(best, maxPoints[c]);
+    }
+    var limit = (long) Math.floor(best * (1 + BALANCE_TOLERANCE));
+
+    int chosen = -1;
+    for (int c = 0; c < n; ++c) {
+      if (maxPoints[c] > limit) {
+        continue;
+      }
+      inputCells[c] = inputCells(shape, candidates.get(c), inputs);
+      if (chosen < 0 || isBetter(c, chosen, inputCells, maxPoints, candidates)) {
+        chosen = c;
+      }
+    }
+
+    var splits = candidates.get(chosen);
+    return new ShardPlan(
+      index,
+      Arrays.stream(splits).boxed().toList(),
+      Collections.unmodifiableList(grid(index, splits)),
+      maxPoints[chosen],
+      inputCells[chosen]
+    );
+  }
+
+  /**
+   * Replace the applications of an operation with the shards of a new plan.
+   *
+   * @param operation the operation; must have IPF index and signature tags.
+   * @param workers the target worker count; the maximum number of shards.
+   * @return the new applications.
+   * @throws IllegalArgumentException if the operation has no IPF tags, or {@code workers < 1}.
+   */
+  @Nonnull
+  @CanIgnoreReturnValue
+  public List<ApplicationNode> shard(@Nonnull OperationNode operation, int workers) {
+    var plan = plan(operation, workers);
+    var graph = operation.assertGraph();
+    for (var app : operation.getApplicationNodes().toList()) {
+      graph.removeNode(app);
+    }
+    return OperationUtils.createIpfShards(operation, plan.getShards());
+  }
+
+  private boolean writtenByEveryOutput(@Nonnull IPFSignature signature, int dim) {
+    for (var projections : signature.getOutputs().values()) {
+      for (var projection : projections) {
+        var matrix = projection.getAffineMap().projection;
+        boolean written = false;
+        for (int row = 0; row < matrix.getOutputNDim(); ++row) {
+          if (matrix.get(row, dim) != 0) {
+            written = true;
+            break;
+          }
+        }
+        if (!written) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private void enumerate(
+    @Nonnull int[] shape,
+    @Nonnull boolean[] eligible,
+    int budget,
+    int dim,
+    @Nonnull int[] splits,
+    @Nonnull List<int[]> candidates
+  ) {
+    if (dim == shape.length) {
+      candidates.add(splits.clone());
+      return;
+    }
+    int max = eligible[dim] ? Math.min(budget, shape[dim]) : 1;
+    for (int k = 1; k <= max; ++k) {
+      splits[dim] = k;
+      enumerate(shape, eligible, budget / k, dim + 1, splits, candidates);
+    }
+  }
+
+  private long maxShardPoints(@Nonnull int[] shape, @Nonnull int[] splits) {
+    long points = 1;
+    for (int d = 0; d < shape.length; ++d) {
+      points *= (shape[d] + splits[d] - 1) / splits[d];
+    }
+    return points;
+  }
+
+  /**
+   * Count the input cells read by every shard of a grid.
+   *
+   * <p>A balanced split of a dimension has chunks of at most two sizes, and the size of a
+   * projected range depends only on the shape of its source; so each input is sized once per
+   * combination of chunk sizes, rather than once per shard.
+   */
+  private long inputCells(
+    @Nonnull int[] shape,
+    @Nonnull int[] splits,
+    @Nonnull List<ZRangeProjectionMap> inputs
+  ) {
+    int ndim = shape.length;
+    long total = 0;
+    var chunkShape = new int[ndim];
+    for (int mask = 0; mask < (1 << ndim); ++mask) {
+      long multiplicity = 1;
+      for (int d = 0; d < ndim && multiplicity > 0; ++d) {
+        int q = shape[d] / splits[d];
+        int r = shape[d] % splits[d];
+        if ((mask & (1 << d)) != 0) {
+          chunkShape[d] = q + 1;
+          multiplicity *= r;
+        } else {
+          chunkShape[d] = q;
+          multiplicity *= splits[d] - r;
+        }
+      }
+      if (multiplicity == 0) {
+        continue;
+      }
+      var chunk = ZRange.newFromShape(chunkShape);
+      for (var input : inputs) {
+        total += multiplicity * input.apply(chunk).getSize();
+      }
+    }
+    return total;
+  }
+
+  private boolean isBetter(
+    int a,
+    int b,
+    @Nonnull long[] inputCells,
+    @Nonnull long[] maxPoints,
+    @Nonnull List<int[]> candidates
+  ) {
+    if (inputCells[a] != inputCells[b]) {
+      return inputCells[a] < inputCells[b];
+    }
+    if (maxPoints[a] != maxPoints[b]) {
+      return maxPoints[a] < maxPoints[b];
+    }
+    return Arrays.compare(candidates.get(a), candidates.get(b)) > 0;
+  }
+
+  @Nonnull
+  private List<ZRange> grid(@Nonnull ZRange index, @Nonnull int[] splits) {
+    List<ZRange> shards = List.of(index);
+    for (int d = 0; d < splits.length; ++d) {
+      int k = splits[d];
+      if (k == 1) {
+        continue;
+      }
+      int size = index.getShape().get(d);
+      var chunks = new int[k];
+      for (int i = 0; i < k; ++i) {
+        chunks[i] = size / k + (i < size % k ? 1 : 0);
+      }
+      int dim = d;
+      shards = shards.stream().flatMap(s -> Arrays.stream(s.split(dim, chunks))).toList();
+    }
+    return new ArrayList<>(shards);
+  }
+}
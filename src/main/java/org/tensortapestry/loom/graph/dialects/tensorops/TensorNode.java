@@ -131,35 +131,33 @@ public final class TensorNode
     return TensorSelection.builder().tensorId(getId()).range(getBody().getRange()).build();
   }
 
+  /**
+   * Get the operations which write to this tensor.
+   *
+   * @return the operations.
+   */
   public List<OperationNode> getSourceNodes() {
-    return assertGraph()
-      .byType(OperationNode.class)
+    var graph = assertGraph();
+    return TensorOpsIndex
+      .of(graph)
+      .getProducerIds(getId())
       .stream()
-      .filter(op ->
-        op
-          .getOutputs()
-          .values()
-          .stream()
-          .flatMap(List::stream)
-          .anyMatch(ts -> ts.getTensorId().equals(getId()))
-      )
-      .distinct()
+      .map(id -> graph.assertNode(id, OperationNode.class))
       .toList();
   }
 
+  /**
+   * Get the operations which read from this tensor.
+   *
+   * @return the operations.
+   */
   public List<OperationNode> getConsumerNodes() {
-    return assertGraph()
-      .byType(OperationNode.class)
+    var graph = assertGraph();
+    return TensorOpsIndex
+      .of(graph)
+      .getConsumerIds(getId())
       .stream()
-      .filter(op ->
-        op
-          .getInputs()
-          .values()
-          .stream()
-          .flatMap(List::stream)
-          .anyMatch(ts -> ts.getTensorId().equals(getId()))
-      )
-      .distinct()
+      .map(id -> graph.assertNode(id, OperationNode.class))
       .toList();
   }
 }
@@ -15,4 +15,10 @@ public class TensorOpNodes {
     "http://tensortapestry.org/schemas/loom/2024-01/tag_types.jsd#/tags/IPFSignature";
   public final String IPF_INDEX_ANNOTATION_TYPE =
     "http://tensortapestry.org/schemas/loom/2024-01/tag_types.jsd#/tags/IPFIndex";
+
+  public final String BUFFER_ASSIGNMENT_TYPE =
+    "http://tensortapestry.org/schemas/loom/2024-01/tag_types.jsd#/tags/BufferAssignment";
+
+  public final String DEVICE_PLACEMENT_TYPE =
+    "http://tensortapestry.org/schemas/loom/2024-01/tag_types.jsd#/tags/DevicePlacement";
 }
@@ -0,0 +1,292 @@
+package org.tensortapestry.loom.graph.dialects.tensorops;
+
+import java.util.*;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import org.tensortapestry.common.json.ViewConversionError;
+import org.tensortapestry.loom.graph.ChangeJournal;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.LoomNode;
+
+/**
+ * Reverse adjacency index of the tensor operation dialect.
+ *
+ * <p>Tracks, for each tensor, the operations which produce and consume it; and for each operation,
+ * the applications of it. Lookups are proportional to the degree of the node, rather than to the
+ * size of the graph.
+ *
+ * <p>Obtain the index of a graph via {@link #of(LoomGraph)}; the graph keeps it up to date.
+ *
+ * <p>Nodes whose bodies cannot be viewed as their node type are not indexed; they are reported by
+ * graph validation.
+ */
+public final class TensorOpsIndex implements LoomGraph.NodeIndex {
+
+  /**
+   * Get the index of a graph, creating it if necessary.
+   *
+   * @param graph the graph.
+   * @return the index.
+   */
+  @Nonnull
+  public static TensorOpsIndex of(@Nonnull LoomGraph graph) {
+    return graph.getIndex(TensorOpsIndex.class, TensorOpsIndex::new);
+  }
+
+  /**
+   * The references recorded for an indexed node, used to unindex it.
+   */
+  @Value
+  private static class Refs {
+
+    @Nonnull
+    List<UUID> inputs;
+
+    @Nonnull
+    List<UUID> outputs;
+  }
+
+  /**
+   * The operations and applications whose validity may depend on a set of graph changes.
+   */
+  @Value
+  public static class Affected {
+
+    /**
+     * The ids of the affected operations; may include removed operations.
+     */
+    @Nonnull
+    Set<UUID> operationIds;
+
+    /**
+     * The ids of the affected applications.
+     */
+    @Nonnull
+    Set<UUID> applicationIds;
+
+    /**
+     * Get the affected operations still in the graph.
+     *
+     * @param graph the graph.
+     * @return the operations.
+     */
+    @Nonnull
+    public List<OperationNode> operations(@Nonnull LoomGraph graph) {
+      return present(graph, operationIds, OperationNode.TYPE).map(OperationNode::wrap).toList();
+    }
+
+    /**
+     * Get the affected applications still in the graph.
+     *
+     * @param graph the graph.
+     * @return the applications.
+     */
+    @Nonnull
+    public List<ApplicationNode> applications(@Nonnull LoomGraph graph) {
+      return present(graph, applicationIds, ApplicationNode.TYPE)
+        .map(ApplicationNode::wrap)
+        .toList();
+    }
+
+    private static Stream<LoomNode> present(
+      LoomGraph graph,
+      Set<UUID> ids,
+      String type
+    ) {
+      return ids
+        .stream()
+        .map(graph::getNode)
+        .filter(node -> node != null && node.getType().equals(type));
+    }
+  }
+
+  private final Map<UUID, Refs> operationRefs = new HashMap<>();
+  private final Map<UUID, UUID> applicationRefs = new HashMap<>();
+
+  private final Map<UUID, Set<UUID>> producers = new HashMap<>();
+  private final Map<UUID, Set<UUID>> consumers = new HashMap<>();
+  private final Map<UUID, Set<UUID>> applications = new HashMap<>();
+
+  @Override
+  public synchronized void nodeAdded(@Nonnull LoomNode node) {
+    var id = node.getId();
+    try {
+      switch (node.getType()) {
+        case OperationNode.TYPE -> {
+          var body = node.viewBodyAs(OperationNode.Body.class);
+          var refs = new Refs(tensorIds(body.getInputs()), tensorIds(body.getOutputs()));
+          operationRefs.put(id, refs);
+          refs.getInputs().forEach(t -> link(consumers, t, id));
+          refs.getOutputs().forEach(t -> link(producers, t, id));
+        }
+        case ApplicationNode.TYPE -> {
+          var operationId = node.viewBodyAs(ApplicationNode.Body.class).getOperationId();
+          applicationRefs.put(id, operationId);
+          link(applications, operationId, id);
+        }
+        default -> {}
+      }
+    } catch (ViewConversionError e) {
+      // Malformed bodies are left unindexed.
+    }
+  }
+
+  @Override
+  public synchronized void nodeRemoved(@Nonnull LoomNode node) {
+    var id = node.getId();
+    var refs = operationRefs.remove(id);
+    if (refs != null) {
+      refs.getInputs().forEach(t -> unlink(consumers, t, id));
+      refs.getOutputs().forEach(t -> unlink(producers, t, id));
+    }
+    var operationId = applicationRefs.remove(id);
+    if (operationId != null) {
+      unlink(applications, operationId, id);
+    }
+  }
+
+  /**
+   * Get the ids of the operations which write to a tensor.
+   *
+   * @param tensorId the tensor id.
+   * @return the operation ids, in insertion order.
+   */
+  @Nonnull
+  public synchronized List<UUID> getProducerIds(@Nonnull UUID tensorId) {
+    return List.copyOf(producers.getOrDefault(tensorId, Set.of()));
+  }
+
+  /**
+   * Get the ids of the operations which read from a tensor.
+   *
+   * @param tensorId the tensor id.
+   * @return the operation ids, in insertion order.
+   */
+  @Nonnull
+  public synchronized List<UUID> getConsumerIds(@Nonnull UUID tensorId) {
+    return List.copyOf(consumers.getOrDefault(tensorId, Set.of()));
+  }
+
+  /**
+   * Get the ids of the applications of an operation.
+   *
+   * @param operationId the operation id.
+   * @return the application ids, in insertion order.
+   */
+  @Nonnull
+  public synchronized List<UUID> getApplicationIds(@Nonnull UUID operationId) {
+    return List.copyOf(applications.getOrDefault(operationId, Set.of()));
+  }
+
+  /**
+   * Get the ids of the tensors an operation reads from.
+   *
+   * @param operationId the operation id.
+   * @return the distinct tensor ids, in selection order.
+   */
+  @Nonnull
+  public synchronized List<UUID> getInputIds(@Nonnull UUID operationId) {
+    var refs = operationRefs.get(operationId);
+    return refs == null ? List.of() : refs.getInputs();
+  }
+
+  /**
+   * Get the ids of the tensors an operation writes to.
+   *
+   * @param operationId the operation id.
+   * @return the distinct tensor ids, in selection order.
+   */
+  @Nonnull
+  public synchronized List<UUID> getOutputIds(@Nonnull UUID operationId) {
+    var refs = operationRefs.get(operationId);
+    return refs == null ? List.of() : refs.getOutputs();
+  }
+
+  /**
+   * Find the operations and applications whose validity may depend on a set of changes.
+   *
+   * <p>These are the changed operations and applications; the operations which read or write a
+   * changed tensor; the operations referenced, before or after the change, by a changed
+   * application; and the applications of all of these operations.
+   *
+   * @param graph the graph.
+   * @param changes the changes.
+   * @return the affected nodes.
+   */
+  @Nonnull
+  public synchronized Affected affectedBy(
+    @Nonnull LoomGraph graph,
+    @Nonnull ChangeJournal.Changes changes
+  ) {
+    var operationIds = new LinkedHashSet<UUID>();
+    var applicationIds = new LinkedHashSet<UUID>();
+    for (var node : changes.currentNodes(graph)) {
+      collectAffected(node, operationIds, applicationIds);
+    }
+    for (var ids : List.of(changes.getRemoved(), changes.getModified())) {
+      for (var id : ids) {
+        var node = changes.getPrevious(id);
+        if (node != null) {
+          collectAffected(node, operationIds, applicationIds);
+        }
+      }
+    }
+    for (var operationId : operationIds) {
+      applicationIds.addAll(applications.getOrDefault(operationId, Set.of()));
+    }
+    return new Affected(
+      Collections.unmodifiableSet(operationIds),
+      Collections.unmodifiableSet(applicationIds)
+    );
+  }
+
+  private void collectAffected(
+    @Nonnull LoomNode node,
+    @Nonnull Set<UUID> operationIds,
+    @Nonnull Set<UUID> applicationIds
+  ) {
+    var id = node.getId();
+    try {
+      switch (node.getType()) {
+        case OperationNode.TYPE -> operationIds.add(id);
+        case ApplicationNode.TYPE -> {
+          applicationIds.add(id);
+          operationIds.add(node.viewBodyAs(ApplicationNode.Body.class).getOperationId());
+        }
+        case TensorNode.TYPE -> {
+          operationIds.addAll(producers.getOrDefault(id, Set.of()));
+          operationIds.addAll(consumers.getOrDefault(id, Set.of()));
+        }
+        default -> {}
+      }
+    } catch (ViewConversionError e) {
+      // Malformed bodies are reported by schema validation.
+    }
+  }
+
+  @Nonnull
+  private static List<UUID> tensorIds(@Nonnull Map<String, List<TensorSelection>> selections) {
+    return selections
+      .values()
+      .stream()
+      .flatMap(List::stream)
+      .map(TensorSelection::getTensorId)
+      .distinct()
+      .toList();
+  }
+
+  private static void link(@Nonnull Map<UUID, Set<UUID>> index, UUID key, UUID value) {
+    index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(value);
+  }
+
+  private static void unlink(@Nonnull Map<UUID, Set<UUID>> index, UUID key, UUID value) {
+    var values = index.get(key);
+    if (values != null) {
+      values.remove(value);
+      if (values.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+}
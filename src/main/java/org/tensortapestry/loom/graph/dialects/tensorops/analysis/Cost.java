@@ -0,0 +1,52 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import javax.annotation.Nonnull;
+import lombok.Value;
+
+/**
+ * The estimated work of a kernel invocation.
+ */
+@Value
+public class Cost {
+
+  public static final Cost ZERO = new Cost(0, 0, 0);
+
+  /**
+   * Floating point (or integer) operations.
+   */
+  double flops;
+
+  /**
+   * Bytes read from the inputs.
+   */
+  long bytesRead;
+
+  /**
+   * Bytes written to the outputs.
+   */
+  long bytesWritten;
+
+  /**
+   * Get the total bytes moved.
+   *
+   * @return the bytes read and written.
+   */
+  public long getBytes() {
+    return bytesRead + bytesWritten;
+  }
+
+  /**
+   * Add two costs.
+   *
+   * @param other the other cost.
+   * @return the sum.
+   */
+  @Nonnull
+  public Cost plus(@Nonnull Cost other) {
+    return new Cost(
+      flops + other.flops,
+      bytesRead + other.bytesRead,
+      bytesWritten + other.bytesWritten
+    );
+  }
+}
@@ -0,0 +1,146 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.Map;
+import javax.annotation.Nonnull;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * A pluggable per-kernel cost model.
+ *
+ * <p>Each kernel name maps to a {@link KernelCost} estimating the FLOPs and bytes of an
+ * invocation; kernels without an entry use {@link #defaultCost}. Costs are converted to time with
+ * a roofline: the greater of compute time and memory time.
+ */
+@Value
+@Builder(toBuilder = true)
+public class CostModel {
+
+  /**
+   * Estimates the cost of invocations of a kernel.
+   */
+  @FunctionalInterface
+  public interface KernelCost {
+    /**
+     * Estimate the cost of an invocation.
+     *
+     * @param invocation the invocation.
+     * @return the cost.
+     */
+    @Nonnull
+    Cost estimate(@Nonnull KernelInvocation invocation);
+  }
+
+  /**
+   * One operation per index point; all inputs read, all outputs written.
+   */
+  public static final KernelCost PER_INDEX_POINT = invocation ->
+    new Cost(invocation.getIndexSize(), invocation.getInputBytes(), invocation.getOutputBytes());
+
+  /**
+   * One operation per output cell, such as {@code op:relu}.
+   */
+  public static final KernelCost CELL_WISE = invocation ->
+    new Cost(invocation.getOutputCells(), invocation.getInputBytes(), invocation.getOutputBytes());
+
+  /**
+   * An n-ary cell-wise sum, such as {@code op:add}: {@code n - 1} operations per output cell.
+   */
+  public static final KernelCost CELL_WISE_ACCUMULATE = invocation ->
+    new Cost(
+      (double) invocation.getOutputCells() * Math.max(invocation.getInputSelectionCount() - 1, 1),
+      invocation.getInputBytes(),
+      invocation.getOutputBytes()
+    );
+
+  /**
+   * {@code op:linear}, {@code x[*batch, features] . A[features, out] + b[out]}: a multiply and an
+   * add per feature at each {@code [*batch, out]} index point, plus the bias add.
+   */
+  public static final KernelCost LINEAR = invocation -> {
+    var a = invocation.getSingularInput("A");
+    long features = a == null ? 1 : a.getRange().getShape().get(0);
+    long points = invocation.getIndexSize();
+    double flops = 2.0 * points * features;
+    if (invocation.getSingularInput("b") != null) {
+      flops += points;
+    }
+    return new Cost(flops, invocation.getInputBytes(), invocation.getOutputBytes());
+  };
+
+  /**
+   * Pure data movement, such as {@code op:import} and {@code op:export}.
+   */
+  public static final KernelCost DATA_MOVEMENT = invocation ->
+    new Cost(0, invocation.getInputBytes(), invocation.getOutputBytes());
+
+  /**
+   * The default model, with entries for the common meta-kernels.
+   */
+  public static final CostModel DEFAULT = CostModel
+    .builder()
+    .kernel("op:linear", LINEAR)
+    .kernel("op:add", CELL_WISE_ACCUMULATE)
+    .kernel("op:relu", CELL_WISE)
+    .kernel("op:import", DATA_MOVEMENT)
+    .kernel("op:export", DATA_MOVEMENT)
+    .build();
+
+  /**
+   * Cost functions, by kernel name.
+   */
+  @Singular
+  @Nonnull
+  Map<String, KernelCost> kernels;
+
+  /**
+   * The cost function for kernels without an entry.
+   */
+  @Builder.Default
+  @Nonnull
+  KernelCost defaultCost = PER_INDEX_POINT;
+
+  /**
+   * Compute throughput, in operations per second.
+   */
+  @Builder.Default
+  double flopsPerSecond = 1e12;
+
+  /**
+   * Memory throughput, in bytes per second.
+   */
+  @Builder.Default
+  double bytesPerSecond = 1e11;
+
+  /**
+   * Estimate the cost of an invocation.
+   *
+   * @param invocation the invocation.
+   * @return the cost.
+   */
+  @Nonnull
+  public Cost cost(@Nonnull KernelInvocation invocation) {
+    return kernels.getOrDefault(invocation.getKernel(), defaultCost).estimate(invocation);
+  }
+
+  /**
+   * Estimate the time of a cost.
+   *
+   * @param cost the cost.
+   * @return the time, in seconds.
+   */
+  public double seconds(@Nonnull Cost cost) {
+    return Math.max(cost.getFlops() / flopsPerSecond, cost.getBytes() / bytesPerSecond);
+  }
+
+  /**
+   * Estimate the time of an invocation.
+   *
+   * @param invocation the invocation.
+   * @return the time, in seconds.
+   */
+  public double seconds(@Nonnull KernelInvocation invocation) {
+    return seconds(cost(invocation));
+  }
+}
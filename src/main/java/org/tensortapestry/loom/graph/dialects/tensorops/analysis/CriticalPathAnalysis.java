@@ -0,0 +1,134 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.OperationDag;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+
+/**
+ * Work and span analysis of the operation DAG under a {@link CostModel}.
+ *
+ * <p>An operation with {@link org.tensortapestry.loom.graph.dialects.tensorops.ApplicationNode}
+ * shards is costed by its shards, which may run in parallel: its work is the sum of their times,
+ * and its span the greatest of them. An operation without shards is costed as a whole. This makes
+ * the analysis sensitive to sharding choices.
+ */
+@UtilityClass
+public class CriticalPathAnalysis {
+
+  /**
+   * The result of the analysis.
+   */
+  @Value
+  public static class Report {
+
+    /**
+     * The total cost of all invocations.
+     */
+    @Nonnull
+    Cost totalCost;
+
+    /**
+     * The total time of all invocations, in seconds; the time on one worker.
+     */
+    double work;
+
+    /**
+     * The time of the longest dependency path, in seconds; the time on unboundedly many workers.
+     */
+    double span;
+
+    /**
+     * The operations of a longest dependency path, in order.
+     */
+    @Nonnull
+    List<OperationNode> criticalPath;
+
+    /**
+     * Get the average parallelism: {@code work / span}.
+     *
+     * @return the parallelism; 0 if the span is 0.
+     */
+    public double getParallelism() {
+      return span == 0 ? 0 : work / span;
+    }
+  }
+
+  /**
+   * Analyze a graph under the {@link CostModel#DEFAULT default} cost model.
+   *
+   * @param graph the graph.
+   * @return the report.
+   */
+  @Nonnull
+  public Report analyze(@Nonnull LoomGraph graph) {
+    return analyze(OperationDag.of(graph), CostModel.DEFAULT);
+  }
+
+  /**
+   * Analyze the graph of a DAG.
+   *
+   * @param dag the operation DAG.
+   * @param model the cost model.
+   * @return the report.
+   */
+  @Nonnull
+  public Report analyze(@Nonnull OperationDag dag, @Nonnull CostModel model) {
+    int n = dag.size();
+    var finish = new double[n];
+    var via = new int[n];
+    var total = Cost.ZERO;
+    double work = 0;
+
+    var predecessors = dag.getPredecessors();
+    var offsets = predecessors.getOffsets();
+    var targets = predecessors.getTargets();
+    int last = -1;
+    for (int i = 0; i < n; ++i) {
+      var operation = dag.get(i);
+      double span = 0;
+      var applications = operation.getApplicationNodes().toList();
+      if (applications.isEmpty()) {
+        var cost = model.cost(KernelInvocation.of(operation));
+        total = total.plus(cost);
+        span = model.seconds(cost);
+        work += span;
+      } else {
+        for (var application : applications) {
+          var cost = model.cost(KernelInvocation.of(application));
+          total = total.plus(cost);
+          double seconds = model.seconds(cost);
+          work += seconds;
+          span = Math.max(span, seconds);
+        }
+      }
+
+      double start = 0;
+      via[i] = -1;
+      for (int e = offsets[i]; e < offsets[i + 1]; ++e) {
+        int p = targets[e];
+        if (via[i] < 0 || finish[p] > start) {
+          start = finish[p];
+          via[i] = p;
+        }
+      }
+      finish[i] = start + span;
+      if (last < 0 || finish[i] > finish[last]) {
+        last = i;
+      }
+    }
+
+    List<OperationNode> path = new ArrayList<>();
+    for (int i = last; i >= 0; i = via[i]) {
+      path.add(dag.get(i));
+    }
+    Collections.reverse(path);
+
+    return new Report(total, work, last < 0 ? 0 : finish[last], Collections.unmodifiableList(path));
+  }
+}
@@ -0,0 +1,399 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.*;
+import javax.annotation.Nonnull;
+import lombok.Builder;
+import lombok.Value;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.OperationDag;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.DTypes;
+import org.tensortapestry.loom.graph.dialects.tensorops.DevicePlacement;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpNodes;
+
+/**
+ * Communication-aware placement of {@link ApplicationNode} shards onto devices.
+ *
+ * <p>The shards form a weighted graph: each shard weighs its {@link CostModel} time, and each pair
+ * of shards which exchange data is joined by an edge weighing the bytes of their {@link
+ * TransferAnalysis transfers}. Placement is a balanced {@code k}-way partition of this graph,
+ * minimizing the bytes cut, subject to no device carrying more than {@code (1 + imbalance)} times
+ * the average time.
+ *
+ * <p>The initial partition is a streaming greedy pass, visiting shards in dependency order and
+ * placing each on the device it exchanges the most bytes with, discounted by how full that device
+ * is. It is then refined by Fiduccia-Mattheyses style passes, which move each shard to the device
+ * with the greatest positive gain in bytes kept local that has room for it.
+ *
+ * <p>Each shard clears and scans a per-device affinity array, so every pass, like the initial
+ * partition, is {@code O(n * k + e)} for {@code n} shards, {@code k} devices and {@code e} shard
+ * edges; placement stays cheap while the device count is small next to the shard count.
+ */
+@Value
+@Builder(toBuilder = true)
+public class DevicePlacer {
+
+  /**
+   * A placement.
+   */
+  @Value
+  public static class Placement {
+
+    /**
+     * The device of each application, in dependency order.
+     */
+    @Nonnull
+    Map<UUID, Integer> devices;
+
+    /**
+     * The total compute time of each device, in seconds.
+     */
+    @Nonnull
+    List<Double> deviceSeconds;
+
+    /**
+     * The total bytes moved between applications on different devices.
+     */
+    long cutBytes;
+
+    /**
+     * The total bytes moved between applications.
+     */
+    long transferBytes;
+
+    /**
+     * Get the device of an application.
+     *
+     * @param applicationId the application id.
+     * @return the device index.
+     * @throws IllegalArgumentException if the application was not placed.
+     */
+    public int getDevice(@Nonnull UUID applicationId) {
+      var device = devices.get(applicationId);
+      if (device == null) {
+        throw new IllegalArgumentException("Application not placed: " + applicationId);
+      }
+      return device;
+    }
+
+    /**
+     * Get the ratio of the most loaded device's time to the average.
+     *
+     * @return the imbalance ratio, {@code >= 1}; 1 if there is no work.
+     */
+    public double getLoadImbalance() {
+      double max = 0;
+      double total = 0;
+      for (var seconds : deviceSeconds) {
+        max = Math.max(max, seconds);
+        total += seconds;
+      }
+      return total == 0 ? 1 : max * deviceSeconds.size() / total;
+    }
+
+    /**
+     * Attach each device to its application, as a {@link TensorOpNodes#DEVICE_PLACEMENT_TYPE} tag.
+     *
+     * @param graph the placed graph.
+     */
+    public void applyTags(@Nonnull LoomGraph graph) {
+      for (var entry : devices.entrySet()) {
+        graph
+          .assertNode(entry.getKey())
+          .addTag(
+            TensorOpNodes.DEVICE_PLACEMENT_TYPE,
+            DevicePlacement.builder().device(entry.getValue()).build()
+          );
+      }
+    }
+  }
+
+  /**
+   * The number of devices.
+   */
+  int devices;
+
+  /**
+   * The cost model used to weigh shards.
+   */
+  @Nonnull
+  @Builder.Default
+  CostModel costModel = CostModel.DEFAULT;
+
+  /**
+   * The allowed relative excess of any device's time over the average.
+   */
+  @Builder.Default
+  double imbalance = 0.05;
+
+  /**
+   * The maximum number of refinement passes.
+   */
+  @Builder.Default
+  int refinementPasses = 8;
+
+  /**
+   * Place the applications of a graph.
+   *
+   * @param graph the graph.
+   * @return the placement.
+   * @throws IllegalArgumentException if {@code devices < 1}.
+   */
+  @Nonnull
+  public Placement place(@Nonnull LoomGraph graph) {
+    if (devices < 1) {
+      throw new IllegalArgumentException("devices must be >= 1: " + devices);
+    }
+    var shards = ShardGraph.of(graph, costModel);
+    int n = shards.size();
+
+    double total = 0;
+    double heaviest = 0;
+    for (double w : shards.weights) {
+      total += w;
+      heaviest = Math.max(heaviest, w);
+    }
+    double capacity = Math.max((1 + imbalance) * total / devices, heaviest);
+
+    var part = new int[n];
+    var load = new double[devices];
+    var affinity = new long[devices];
+    initialPartition(shards, capacity, part, load, affinity);
+    for (int pass = 0; pass < refinementPasses; ++pass) {
+      if (refine(shards, capacity, part, load, affinity) == 0) {
+        break;
+      }
+    }
+
+    Map<UUID, Integer> placed = new LinkedHashMap<>(2 * n);
+    for (int v = 0; v < n; ++v) {
+      placed.put(shards.ids.get(v), part[v]);
+    }
+    long cut = 0;
+    long transfer = 0;
+    for (int v = 0; v < n; ++v) {
+      for (int e = shards.offsets[v]; e < shards.offsets[v + 1]; ++e) {
+        if (v < shards.targets[e]) {
+          transfer += shards.bytes[e];
+          if (part[v] != part[shards.targets[e]]) {
+            cut += shards.bytes[e];
+          }
+        }
+      }
+    }
+    List<Double> seconds = new ArrayList<>(devices);
+    for (double l : load) {
+      seconds.add(l);
+    }
+    return new Placement(
+      Collections.unmodifiableMap(placed),
+      Collections.unmodifiableList(seconds),
+      cut,
+      transfer
+    );
+  }
+
+  /**
+   * Place the applications of a graph, and tag them with their devices.
+   *
+   * @param graph the graph.
+   * @return the placement.
+   */
+  @Nonnull
+  public Placement placeAndTag(@Nonnull LoomGraph graph) {
+    var placement = place(graph);
+    placement.applyTags(graph);
+    return placement;
+  }
+
+  /**
+   * Linear deterministic greedy (LDG) streaming partitioning: place each shard, in dependency
+   * order, on the device maximizing {@code affinity * (1 - load / capacity)} among those with room;
+   * breaking ties, and placing shards with no placed neighbours, by least load.
+   */
+  private void initialPartition(
+    @Nonnull ShardGraph shards,
+    double capacity,
+    @Nonnull int[] part,
+    @Nonnull double[] load,
+    @Nonnull long[] affinity
+  ) {
+    int n = shards.size();
+    Arrays.fill(part, -1);
+    for (int v = 0; v < n; ++v) {
+      Arrays.fill(affinity, 0);
+      for (int e = shards.offsets[v]; e < shards.offsets[v + 1]; ++e) {
+        int p = part[shards.targets[e]];
+        if (p >= 0) {
+          affinity[p] += shards.bytes[e];
+        }
+      }
+      double w = shards.weights[v];
+      int best = -1;
+      double bestScore = 0;
+      for (int d = 0; d < devices; ++d) {
+        if (load[d] + w > capacity && load[d] > 0) {
+          continue;
+        }
+        double score = affinity[d] * (1 - load[d] / capacity);
+        if (best < 0 || score > bestScore || (score == bestScore && load[d] < load[best])) {
+          best = d;
+          bestScore = score;
+        }
+      }
+      if (best < 0) {
+        best = leastLoaded(load);
+      }
+      part[v] = best;
+      load[best] += w;
+    }
+  }
+
+  /**
+   * One refinement pass: move each shard to the device with the greatest positive gain that has
+   * room for it; zero-gain moves are taken only when they reduce the peak of the two loads.
+   *
+   * @return the number of shards moved.
+   */
+  private int refine(
+    @Nonnull ShardGraph shards,
+    double capacity,
+    @Nonnull int[] part,
+    @Nonnull double[] load,
+    @Nonnull long[] affinity
+  ) {
+    int moves = 0;
+    for (int v = 0; v < shards.size(); ++v) {
+      int from = part[v];
+      Arrays.fill(affinity, 0);
+      for (int e = shards.offsets[v]; e < shards.offsets[v + 1]; ++e) {
+        affinity[part[shards.targets[e]]] += shards.bytes[e];
+      }
+      double w = shards.weights[v];
+      int best = from;
+      long bestGain = 0;
+      for (int d = 0; d < devices; ++d) {
+        if (d == from || load[d] + w > capacity) {
+          continue;
+        }
+        long gain = affinity[d] - affinity[from];
+        boolean better = gain > bestGain;
+        if (gain == bestGain && gain >= 0) {
+          double peak = best == from ? load[from] : Math.max(load[best] + w, load[from] - w);
+          better = Math.max(load[d] + w, load[from] - w) < peak;
+        }
+        if (better) {
+          best = d;
+          bestGain = gain;
+        }
+      }
+      if (best != from) {
+        part[v] = best;
+        load[from] -= w;
+        load[best] += w;
+        moves++;
+      }
+    }
+    return moves;
+  }
+
+  private static int leastLoaded(@Nonnull double[] load) {
+    int best = 0;
+    for (int d = 1; d < load.length; ++d) {
+      if (load[d] < load[best]) {
+        best = d;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * The weighted, undirected shard graph, in compressed sparse row form.
+   */
+  private static final class ShardGraph {
+
+    private final List<UUID> ids;
+    private final double[] weights;
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] bytes;
+
+    @Nonnull
+    private static ShardGraph of(@Nonnull LoomGraph graph, @Nonnull CostModel costModel) {
+      List<UUID> ids = new ArrayList<>();
+      List<Double> weights = new ArrayList<>();
+      for (var operation : OperationDag.of(graph).getOperations()) {
+        for (var app : operation.getApplicationNodes()) {
+          ids.add(app.getId());
+          weights.add(costModel.seconds(KernelInvocation.of(app)));
+        }
+      }
+      int n = ids.size();
+      Map<UUID, Integer> index = new HashMap<>(2 * n);
+      for (int v = 0; v < n; ++v) {
+        index.put(ids.get(v), v);
+      }
+
+      Map<UUID, Integer> widths = new HashMap<>();
+      Map<Long, Long> edges = new HashMap<>();
+      for (var transfer : TransferAnalysis.analyze(graph).getTransfers()) {
+        var a = index.get(transfer.getSourceId());
+        var b = index.get(transfer.getTargetId());
+        if (a == null || b == null || a.equals(b)) {
+          continue;
+        }
+        int width = widths.computeIfAbsent(
+          transfer.getTensorId(),
+          id -> DTypes.byteWidth(graph.assertNode(id, TensorNode.class).getDtype())
+        );
+        long key = (long) Math.min(a, b) * n + Math.max(a, b);
+        edges.merge(key, transfer.getCells() * width, Long::sum);
+      }
+
+      var offsets = new int[n + 1];
+      for (long key : edges.keySet()) {
+        offsets[(int) (key / n) + 1]++;
+        offsets[(int) (key % n) + 1]++;
+      }
+      for (int v = 0; v < n; ++v) {
+        offsets[v + 1] += offsets[v];
+      }
+      var cursor = Arrays.copyOf(offsets, n);
+      var targets = new int[2 * edges.size()];
+      var bytes = new long[2 * edges.size()];
+      for (var entry : edges.entrySet()) {
+        var a = (int) (entry.getKey() / n);
+        var b = (int) (entry.getKey() % n);
+        targets[cursor[a]] = b;
+        bytes[cursor[a]++] = entry.getValue();
+        targets[cursor[b]] = a;
+        bytes[cursor[b]++] = entry.getValue();
+      }
+
+      var w = new double[n];
+      for (int v = 0; v < n; ++v) {
+        w[v] = weights.get(v);
+      }
+      return new ShardGraph(ids, w, offsets, targets, bytes);
+    }
+
+    private ShardGraph(
+      @Nonnull List<UUID> ids,
+      @Nonnull double[] weights,
+      @Nonnull int[] offsets,
+      @Nonnull int[] targets,
+      @Nonnull long[] bytes
+    ) {
+      this.ids = ids;
+      this.weights = weights;
+      this.offsets = offsets;
+      this.targets = targets;
+      this.bytes = bytes;
+    }
+
+    private int size() {
+      return ids.size();
+    }
+  }
+}
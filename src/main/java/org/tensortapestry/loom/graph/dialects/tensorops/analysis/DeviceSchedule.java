@@ -0,0 +1,170 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import java.util.UUID;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+import org.tensortapestry.common.json.HasToJsonString;
+import org.tensortapestry.zspace.ZRange;
+
+/**
+ * A per-device linear schedule of application executions and transfers.
+ *
+ * <p>Each device runs its events in order. A transfer between devices appears twice: as a {@link
+ * Kind#SEND} on the producing device and a {@link Kind#RECV} on the consuming device, with the same
+ * interval. Times are in seconds from the start of the schedule.
+ */
+@Value
+@Jacksonized
+@Builder
+public class DeviceSchedule implements HasToJsonString {
+
+  /**
+   * The kind of a schedule event.
+   */
+  public enum Kind {
+    /**
+     * Execute an application.
+     */
+    COMPUTE,
+    /**
+     * Send cells of a tensor to another device.
+     */
+    SEND,
+    /**
+     * Receive cells of a tensor from another device.
+     */
+    RECV,
+  }
+
+  /**
+   * A schedule event.
+   */
+  @Value
+  @Jacksonized
+  @Builder(toBuilder = true)
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class Event implements HasToJsonString {
+
+    @Nonnull
+    Kind kind;
+
+    double start;
+
+    double end;
+
+    /**
+     * The executed application; or, for transfers, the application on this device: the producer
+     * of a send, the consumer of a receive.
+     */
+    @Nonnull
+    UUID applicationId;
+
+    /**
+     * For transfers, the application on the peer device.
+     */
+    @Nullable
+    UUID peerApplicationId;
+
+    /**
+     * For transfers, the peer device; otherwise -1.
+     */
+    @Builder.Default
+    int peer = -1;
+
+    /**
+     * For transfers, the tensor.
+     */
+    @Nullable
+    UUID tensorId;
+
+    /**
+     * For transfers, the cells moved.
+     */
+    @Nullable
+    ZRange range;
+
+    /**
+     * For transfers, the bytes moved.
+     */
+    long bytes;
+
+    /**
+     * Get the duration of the event.
+     *
+     * @return the duration, in seconds.
+     */
+    @JsonIgnore
+    public double getDuration() {
+      return end - start;
+    }
+  }
+
+  /**
+   * The schedule of one device.
+   */
+  @Value
+  @Jacksonized
+  @Builder
+  public static class DeviceTimeline implements HasToJsonString {
+
+    int device;
+
+    /**
+     * The events, in start order.
+     */
+    @Nonnull
+    @Singular
+    List<Event> events;
+
+    /**
+     * The total time spent computing, in seconds.
+     */
+    double computeSeconds;
+  }
+
+  /**
+   * The time from the start of the schedule to the end of its last event, in seconds.
+   */
+  double makespan;
+
+  /**
+   * The timeline of each device, by device index.
+   */
+  @Nonnull
+  @Singular
+  List<DeviceTimeline> devices;
+
+  /**
+   * Get the utilization of a device: the fraction of the makespan it spends computing.
+   *
+   * @param device the device index.
+   * @return the utilization, in {@code [0, 1]}; 0 if the makespan is 0.
+   */
+  public double getUtilization(int device) {
+    return makespan == 0 ? 0 : devices.get(device).getComputeSeconds() / makespan;
+  }
+
+  /**
+   * Get the mean utilization over all devices.
+   *
+   * @return the mean utilization, in {@code [0, 1]}.
+   */
+  @JsonIgnore
+  public double getMeanUtilization() {
+    if (devices.isEmpty()) {
+      return 0;
+    }
+    double total = 0;
+    for (int d = 0; d < devices.size(); ++d) {
+      total += getUtilization(d);
+    }
+    return total / devices.size();
+  }
+}
@@ -0,0 +1,279 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.*;
+import javax.annotation.Nonnull;
+import lombok.Builder;
+import lombok.Value;
+import org.tensortapestry.loom.graph.CsrAdjacency;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.OperationDag;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.DTypes;
+import org.tensortapestry.loom.graph.dialects.tensorops.DevicePlacement;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpNodes;
+
+/**
+ * List scheduling of placed {@link ApplicationNode} shards into a {@link DeviceSchedule}.
+ *
+ * <p>Shards depend on the shards whose outputs they read, as found by {@link TransferAnalysis}.
+ * Each is scheduled, in order of decreasing upward rank (its own time plus the longest chain of
+ * compute and transfer time below it), at the earliest time its device is free and all of its
+ * inputs have arrived. Devices compute one shard at a time; transfers run on a link per ordered
+ * device pair, one at a time per link, and overlap with compute.
+ *
+ * <p>A transfer of {@code b} bytes takes {@code linkLatencySeconds + b / linkBytesPerSecond}.
+ * Transfers between shards on the same device are free, and are not scheduled.
+ */
+@Value
+@Builder(toBuilder = true)
+public class DeviceScheduler {
+
+  /**
+   * The cost model used to time shards.
+   */
+  @Nonnull
+  @Builder.Default
+  CostModel costModel = CostModel.DEFAULT;
+
+  /**
+   * The bandwidth of each link, in bytes per second.
+   */
+  @Builder.Default
+  double linkBytesPerSecond = 1e10;
+
+  /**
+   * The latency of each transfer, in seconds.
+   */
+  @Builder.Default
+  double linkLatencySeconds = 1e-6;
+
+  /**
+   * Get the time of a transfer.
+   *
+   * @param bytes the bytes moved.
+   * @return the time, in seconds.
+   */
+  public double transferSeconds(long bytes) {
+    return linkLatencySeconds + bytes / linkBytesPerSecond;
+  }
+
+  /**
+   * Schedule the applications of a graph on the devices of their {@link
+   * TensorOpNodes#DEVICE_PLACEMENT_TYPE} tags.
+   *
+   * @param graph the graph.
+   * @return the schedule.
+   * @throws IllegalArgumentException if an application has no placement.
+   */
+  @Nonnull
+  public DeviceSchedule schedule(@Nonnull LoomGraph graph) {
+    Map<UUID, Integer> devices = new HashMap<>();
+    for (var app : graph.byType(ApplicationNode.class)) {
+      if (app.hasTag(TensorOpNodes.DEVICE_PLACEMENT_TYPE)) {
+        devices.put(
+          app.getId(),
+          app.viewTagAs(TensorOpNodes.DEVICE_PLACEMENT_TYPE, DevicePlacement.class).getDevice()
+        );
+      }
+    }
+    return schedule(graph, devices);
+  }
+
+  /**
+   * Schedule the applications of a graph.
+   *
+   * @param graph the graph.
+   * @param devices the device of each application; see {@link DevicePlacer.Placement#getDevices()}.
+   * @return the schedule, with one timeline per device up to the greatest device used.
+   * @throws IllegalArgumentException if an application has no placement.
+   */
+  @Nonnull
+  public DeviceSchedule schedule(@Nonnull LoomGraph graph, @Nonnull Map<UUID, Integer> devices) {
+    List<ApplicationNode> apps = new ArrayList<>();
+    for (var operation : OperationDag.of(graph).getOperations()) {
+      operation.getApplicationNodes().forEach(apps::add);
+    }
+    int n = apps.size();
+    Map<UUID, Integer> index = new HashMap<>(2 * n);
+    var device = new int[n];
+    var compute = new double[n];
+    int deviceCount = 0;
+    for (int v = 0; v < n; ++v) {
+      var app = apps.get(v);
+      var d = devices.get(app.getId());
+      if (d == null) {
+        throw new IllegalArgumentException("Application not placed: " + app.getId());
+      }
+      index.put(app.getId(), v);
+      device[v] = d;
+      deviceCount = Math.max(deviceCount, d + 1);
+      compute[v] = costModel.seconds(KernelInvocation.of(app));
+    }
+
+    List<TransferAnalysis.Transfer> transfers = new ArrayList<>();
+    List<Integer> sources = new ArrayList<>();
+    List<Integer> targets = new ArrayList<>();
+    List<Long> bytes = new ArrayList<>();
+    Map<UUID, Integer> widths = new HashMap<>();
+    var builder = CsrAdjacency.builder(n);
+    for (var transfer : TransferAnalysis.analyze(graph).getTransfers()) {
+      var a = index.get(transfer.getSourceId());
+      var b = index.get(transfer.getTargetId());
+      if (a == null || b == null) {
+        continue;
+      }
+      int width = widths.computeIfAbsent(
+        transfer.getTensorId(),
+        id -> DTypes.byteWidth(graph.assertNode(id, TensorNode.class).getDtype())
+      );
+      transfers.add(transfer);
+      sources.add(a);
+      targets.add(b);
+      bytes.add(transfer.getCells() * width);
+      builder.addEdge(a, b);
+    }
+    int m = transfers.size();
+    var order = builder.build().topologicalOrder();
+    if (order == null) {
+      throw new IllegalStateException("Application graph has a cycle");
+    }
+    var outEdges = groupEdges(n, sources);
+    var inEdges = groupEdges(n, targets);
+
+    var rank = new double[n];
+    for (int i = n - 1; i >= 0; --i) {
+      int v = order[i];
+      double below = 0;
+      for (int e : outEdges.get(v)) {
+        int w = targets.get(e);
+        double comm = device[v] == device[w] ? 0 : transferSeconds(bytes.get(e));
+        below = Math.max(below, comm + rank[w]);
+      }
+      rank[v] = compute[v] + below;
+    }
+
+    var waiting = new int[n];
+    var arrival = new double[m];
+    var deviceFree = new double[deviceCount];
+    Map<Long, Double> linkFree = new HashMap<>();
+    List<List<DeviceSchedule.Event>> events = new ArrayList<>(deviceCount);
+    for (int d = 0; d < deviceCount; ++d) {
+      events.add(new ArrayList<>());
+    }
+    var computeSeconds = new double[deviceCount];
+
+    PriorityQueue<Integer> ready = new PriorityQueue<>(
+      Math.max(n, 1),
+      Comparator.<Integer>comparingDouble(v -> -rank[v]).thenComparingInt(v -> v)
+    );
+    for (int v = 0; v < n; ++v) {
+      waiting[v] = inEdges.get(v).size();
+      if (waiting[v] == 0) {
+        ready.add(v);
+      }
+    }
+    double makespan = 0;
+    while (!ready.isEmpty()) {
+      int v = ready.poll();
+      int d = device[v];
+      double start = deviceFree[d];
+      for (int e : inEdges.get(v)) {
+        start = Math.max(start, arrival[e]);
+      }
+      double finish = start + compute[v];
+      deviceFree[d] = finish;
+      computeSeconds[d] += compute[v];
+      makespan = Math.max(makespan, finish);
+      events
+        .get(d)
+        .add(
+          DeviceSchedule.Event
+            .builder()
+            .kind(DeviceSchedule.Kind.COMPUTE)
+            .start(start)
+            .end(finish)
+            .applicationId(apps.get(v).getId())
+            .build()
+        );
+
+      List<Integer> out = new ArrayList<>(outEdges.get(v));
+      out.sort(Comparator.<Integer>comparingDouble(e -> -rank[targets.get(e)]));
+      for (int e : out) {
+        int w = targets.get(e);
+        int peer = device[w];
+        if (peer == d) {
+          arrival[e] = finish;
+        } else {
+          long link = (long) d * deviceCount + peer;
+          double sendStart = Math.max(finish, linkFree.getOrDefault(link, 0.0));
+          double sendEnd = sendStart + transferSeconds(bytes.get(e));
+          linkFree.put(link, sendEnd);
+          arrival[e] = sendEnd;
+          makespan = Math.max(makespan, sendEnd);
+
+          var transfer = transfers.get(e);
+          var send = DeviceSchedule.Event
+            .builder()
+            .kind(DeviceSchedule.Kind.SEND)
+            .start(sendStart)
+            .end(sendEnd)
+            .applicationId(transfer.getSourceId())
+            .peerApplicationId(transfer.getTargetId())
+            .peer(peer)
+            .tensorId(transfer.getTensorId())
+            .range(transfer.getRange())
+            .bytes(bytes.get(e))
+            .build();
+          events.get(d).add(send);
+          events
+            .get(peer)
+            .add(
+              send
+                .toBuilder()
+                .kind(DeviceSchedule.Kind.RECV)
+                .applicationId(transfer.getTargetId())
+                .peerApplicationId(transfer.getSourceId())
+                .peer(d)
+                .build()
+            );
+        }
+        if (--waiting[w] == 0) {
+          ready.add(w);
+        }
+      }
+    }
+
+    var schedule = DeviceSchedule.builder().makespan(makespan);
+    for (int d = 0; d < deviceCount; ++d) {
+      var timeline = events.get(d);
+      timeline.sort(
+        Comparator
+          .comparingDouble(DeviceSchedule.Event::getStart)
+          .thenComparingDouble(DeviceSchedule.Event::getEnd)
+          .thenComparing(DeviceSchedule.Event::getKind)
+      );
+      schedule.device(
+        DeviceSchedule.DeviceTimeline
+          .builder()
+          .device(d)
+          .events(timeline)
+          .computeSeconds(computeSeconds[d])
+          .build()
+      );
+    }
+    return schedule.build();
+  }
+
+  @Nonnull
+  private static List<List<Integer>> groupEdges(int n, @Nonnull List<Integer> endpoints) {
+    List<List<Integer>> groups = new ArrayList<>(n);
+    for (int v = 0; v < n; ++v) {
+      groups.add(new ArrayList<>());
+    }
+    for (int e = 0; e < endpoints.size(); ++e) {
+      groups.get(endpoints.get(e)).add(e);
+    }
+    return groups;
+  }
+}
@@ -0,0 +1,512 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.*;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Builder;
+import lombok.Value;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationNode;
+
+/**
+ * A deterministic discrete-event simulation of a {@link DeviceSchedule} on a {@link Topology}.
+ *
+ * <p>Each device runs its {@link DeviceSchedule.Kind#COMPUTE} events one at a time, in schedule
+ * order, each once every transfer into it has arrived. Each {@link DeviceSchedule.Kind#SEND} is a
+ * transfer, issued when its producer finishes, which is routed over the topology and stored and
+ * forwarded at each link: a link serializes one transfer at a time, in arrival order, for {@code
+ * bytes / bandwidth}, and delivers it to the next hop after a further latency. Receives mirror
+ * sends, and are not simulated separately.
+ *
+ * <p>Schedule times are ignored; only the order of computes on each device, and the transfers, are
+ * replayed. Events at equal times are processed in the order they were raised, so a simulation is
+ * reproducible. State is kept in primitive arrays, and the event queue is a binary heap over them,
+ * so a simulation runs millions of events per second.
+ */
+@Value
+@Builder(toBuilder = true)
+public class DeviceSimulator {
+
+  /**
+   * The result of a simulation.
+   */
+  @Value
+  public static class Report {
+
+    /**
+     * The time at which the last event finished, in seconds.
+     */
+    double makespan;
+
+    /**
+     * The number of events processed.
+     */
+    long eventCount;
+
+    /**
+     * The total bytes delivered by transfers.
+     */
+    long bytesMoved;
+
+    /**
+     * The time each device spent computing, in seconds.
+     */
+    @Nonnull
+    List<Double> deviceBusySeconds;
+
+    /**
+     * The time each link spent serializing transfers, in seconds.
+     */
+    @Nonnull
+    List<Double> linkBusySeconds;
+
+    /**
+     * Get the time a device spent idle before the makespan.
+     *
+     * @param device the device index.
+     * @return the idle time, in seconds.
+     */
+    public double getDeviceIdleSeconds(int device) {
+      return makespan - deviceBusySeconds.get(device);
+    }
+
+    /**
+     * Get the total idle time of all devices.
+     *
+     * @return the idle time, in seconds.
+     */
+    public double getTotalIdleSeconds() {
+      double idle = 0;
+      for (int d = 0; d < deviceBusySeconds.size(); ++d) {
+        idle += getDeviceIdleSeconds(d);
+      }
+      return idle;
+    }
+
+    /**
+     * Get the fraction of the makespan a link spent serializing transfers.
+     *
+     * @param link the link index.
+     * @return the utilization, in {@code [0, 1]}; 0 if the makespan is 0.
+     */
+    public double getLinkUtilization(int link) {
+      return makespan == 0 ? 0 : linkBusySeconds.get(link) / makespan;
+    }
+
+    /**
+     * Get the utilization of the busiest link.
+     *
+     * @return the utilization, in {@code [0, 1]}.
+     */
+    public double getMaxLinkUtilization() {
+      double max = 0;
+      for (int l = 0; l < linkBusySeconds.size(); ++l) {
+        max = Math.max(max, getLinkUtilization(l));
+      }
+      return max;
+    }
+  }
+
+  /**
+   * The interconnect.
+   */
+  @Nonnull
+  Topology topology;
+
+  /**
+   * The cost model used to time computes, when simulating against a graph.
+   */
+  @Nonnull
+  @Builder.Default
+  CostModel costModel = CostModel.DEFAULT;
+
+  /**
+   * Simulate a schedule, timing each compute by the {@link #costModel} on its application.
+   *
+   * @param graph the graph holding the scheduled applications.
+   * @param schedule the schedule.
+   * @return the report.
+   * @throws IllegalArgumentException if the schedule does not fit the topology, or deadlocks.
+   */
+  @Nonnull
+  public Report simulate(@Nonnull LoomGraph graph, @Nonnull DeviceSchedule schedule) {
+    return new Simulation(schedule, graph).run();
+  }
+
+  /**
+   * Simulate a schedule, timing each compute by its duration in the schedule.
+   *
+   * @param schedule the schedule.
+   * @return the report.
+   * @throws IllegalArgumentException if the schedule does not fit the topology, or deadlocks.
+   */
+  @Nonnull
+  public Report simulate(@Nonnull DeviceSchedule schedule) {
+    return new Simulation(schedule, null).run();
+  }
+
+  private static final int COMPUTE_DONE = 0;
+  private static final int LINK_FREE = 1;
+  private static final int HOP_DONE = 2;
+
+  private final class Simulation {
+
+    private final EventQueue queue = new EventQueue();
+    private long eventCount = 0;
+    private long bytesMoved = 0;
+
+    // Applications, indexed in schedule order.
+    private final int[] appDevice;
+    private final double[] appSeconds;
+    private final int[] pendingInputs;
+    private final int[] outOffsets;
+    private final int[] outTransfers;
+
+    // Devices.
+    private final int[][] deviceOrder;
+    private final int[] deviceCursor;
+    private final boolean[] deviceBusy;
+    private final double[] deviceBusySeconds;
+
+    // Transfers, one per send.
+    private final int[] transferTarget;
+    private final long[] transferBytes;
+    private final int[][] transferRoute;
+    private final int[] transferHop;
+
+    // Links.
+    private final boolean[] linkBusy;
+    private final IntQueue[] linkQueue;
+    private final double[] linkBusySeconds;
+    private final double[] linkSecondsPerByte;
+    private final double[] linkLatency;
+
+    private Simulation(@Nonnull DeviceSchedule schedule, @Nullable LoomGraph graph) {
+      int devices = schedule.getDevices().size();
+      if (devices > topology.getDeviceCount()) {
+        throw new IllegalArgumentException(
+          "Schedule has " + devices + " devices; topology has " + topology.getDeviceCount()
+        );
+      }
+
+      Map<UUID, Integer> appIndex = new HashMap<>();
+      List<Integer> devicesOfApps = new ArrayList<>();
+      List<Double> seconds = new ArrayList<>();
+      List<DeviceSchedule.Event> sends = new ArrayList<>();
+      deviceOrder = new int[devices][];
+      for (int d = 0; d < devices; ++d) {
+        var events = schedule.getDevices().get(d).getEvents();
+        var order = new int[events.size()];
+        int count = 0;
+        for (var event : events) {
+          if (event.getKind() == DeviceSchedule.Kind.SEND) {
+            sends.add(event);
+          }
+          if (event.getKind() != DeviceSchedule.Kind.COMPUTE) {
+            continue;
+          }
+          int a = appIndex.size();
+          if (appIndex.putIfAbsent(event.getApplicationId(), a) != null) {
+            throw new IllegalArgumentException(
+              "Application scheduled twice: " + event.getApplicationId()
+            );
+          }
+          devicesOfApps.add(d);
+          seconds.add(
+            graph == null
+              ? event.getDuration()
+              : costModel.seconds(
+                KernelInvocation.of(
+                  graph.assertNode(event.getApplicationId(), ApplicationNode.class)
+                )
+              )
+          );
+          order[count++] = a;
+        }
+        deviceOrder[d] = Arrays.copyOf(order, count);
+      }
+
+      int n = appIndex.size();
+      appDevice = new int[n];
+      appSeconds = new double[n];
+      for (int a = 0; a < n; ++a) {
+        appDevice[a] = devicesOfApps.get(a);
+        appSeconds[a] = seconds.get(a);
+      }
+      deviceCursor = new int[devices];
+      deviceBusy = new boolean[devices];
+      deviceBusySeconds = new double[devices];
+
+      int m = sends.size();
+      var transferSource = new int[m];
+      transferTarget = new int[m];
+      transferBytes = new long[m];
+      transferRoute = new int[m][];
+      transferHop = new int[m];
+      pendingInputs = new int[n];
+      outOffsets = new int[n + 1];
+      for (int t = 0; t < m; ++t) {
+        var send = sends.get(t);
+        transferSource[t] = lookup(appIndex, send.getApplicationId());
+        transferTarget[t] = lookup(appIndex, Objects.requireNonNull(send.getPeerApplicationId()));
+        transferBytes[t] = send.getBytes();
+        transferRoute[t] =
+          topology.route(appDevice[transferSource[t]], appDevice[transferTarget[t]]);
+        pendingInputs[transferTarget[t]]++;
+        outOffsets[transferSource[t] + 1]++;
+      }
+      for (int a = 0; a < n; ++a) {
+        outOffsets[a + 1] += outOffsets[a];
+      }
+      var cursor = Arrays.copyOf(outOffsets, n);
+      outTransfers = new int[m];
+      for (int t = 0; t < m; ++t) {
+        outTransfers[cursor[transferSource[t]]++] = t;
+      }
+
+      var links = topology.getLinks();
+      linkBusy = new boolean[links.size()];
+      linkQueue = new IntQueue[links.size()];
+      linkBusySeconds = new double[links.size()];
+      linkSecondsPerByte = new double[links.size()];
+      linkLatency = new double[links.size()];
+      for (int l = 0; l < links.size(); ++l) {
+        linkSecondsPerByte[l] = 1 / links.get(l).getBytesPerSecond();
+        linkLatency[l] = links.get(l).getLatencySeconds();
+      }
+    }
+
+    private int lookup(@Nonnull Map<UUID, Integer> appIndex, @Nonnull UUID id) {
+      var a = appIndex.get(id);
+      if (a == null) {
+        throw new IllegalArgumentException("Transfer of an unscheduled application: " + id);
+      }
+      return a;
+    }
+
+    @Nonnull
+    private Report run() {
+      for (int d = 0; d < deviceOrder.length; ++d) {
+        tryStart(d, 0);
+      }
+      double now = 0;
+      while (!queue.isEmpty()) {
+        now = queue.peekTime();
+        int kind = queue.peekKind();
+        int id = queue.peekId();
+        queue.pop();
+        eventCount++;
+        switch (kind) {
+          case COMPUTE_DONE -> computeDone(id, now);
+          case LINK_FREE -> linkFree(id, now);
+          default -> hopDone(id, now);
+        }
+      }
+      for (int d = 0; d < deviceOrder.length; ++d) {
+        if (deviceCursor[d] < deviceOrder[d].length) {
+          throw new IllegalArgumentException("Schedule deadlocks on device " + d);
+        }
+      }
+
+      List<Double> devices = new ArrayList<>(deviceBusySeconds.length);
+      for (double s : deviceBusySeconds) {
+        devices.add(s);
+      }
+      List<Double> links = new ArrayList<>(linkBusySeconds.length);
+      for (double s : linkBusySeconds) {
+        links.add(s);
+      }
+      return new Report(
+        now,
+        eventCount,
+        bytesMoved,
+        Collections.unmodifiableList(devices),
+        Collections.unmodifiableList(links)
+      );
+    }
+
+    private void tryStart(int device, double now) {
+      if (deviceBusy[device] || deviceCursor[device] == deviceOrder[device].length) {
+        return;
+      }
+      int a = deviceOrder[device][deviceCursor[device]];
+      if (pendingInputs[a] > 0) {
+        return;
+      }
+      deviceCursor[device]++;
+      deviceBusy[device] = true;
+      deviceBusySeconds[device] += appSeconds[a];
+      queue.push(now + appSeconds[a], COMPUTE_DONE, a);
+    }
+
+    private void computeDone(int a, double now) {
+      int device = appDevice[a];
+      deviceBusy[device] = false;
+      for (int i = outOffsets[a]; i < outOffsets[a + 1]; ++i) {
+        startHop(outTransfers[i], now);
+      }
+      tryStart(device, now);
+    }
+
+    private void startHop(int t, double now) {
+      var route = transferRoute[t];
+      if (transferHop[t] == route.length) {
+        deliver(t, now);
+        return;
+      }
+      int link = route[transferHop[t]];
+      if (linkBusy[link]) {
+        if (linkQueue[link] == null) {
+          linkQueue[link] = new IntQueue();
+        }
+        linkQueue[link].add(t);
+        return;
+      }
+      double serialize = transferBytes[t] * linkSecondsPerByte[link];
+      linkBusy[link] = true;
+      linkBusySeconds[link] += serialize;
+      queue.push(now + serialize, LINK_FREE, link);
+      queue.push(now + serialize + linkLatency[link], HOP_DONE, t);
+    }
+
+    private void linkFree(int link, double now) {
+      linkBusy[link] = false;
+      var waiting = linkQueue[link];
+      if (waiting != null && !waiting.isEmpty()) {
+        startHop(waiting.poll(), now);
+      }
+    }
+
+    private void hopDone(int t, double now) {
+      transferHop[t]++;
+      startHop(t, now);
+    }
+
+    private void deliver(int t, double now) {
+      bytesMoved += transferBytes[t];
+      int a = transferTarget[t];
+      if (--pendingInputs[a] == 0) {
+        tryStart(appDevice[a], now);
+      }
+    }
+  }
+
+  /**
+   * A binary min-heap of events, ordered by time and then by insertion.
+   */
+  private static final class EventQueue {
+
+    private double[] times = new double[64];
+    private long[] seqs = new long[64];
+    private int[] kinds = new int[64];
+    private int[] ids = new int[64];
+    private int size = 0;
+    private long nextSeq = 0;
+
+    private boolean isEmpty() {
+      return size == 0;
+    }
+
+    private double peekTime() {
+      return times[0];
+    }
+
+    private int peekKind() {
+      return kinds[0];
+    }
+
+    private int peekId() {
+      return ids[0];
+    }
+
+    private void push(double time, int kind, int id) {
+      if (size == times.length) {
+        times = Arrays.copyOf(times, 2 * size);
+        seqs = Arrays.copyOf(seqs, 2 * size);
+        kinds = Arrays.copyOf(kinds, 2 * size);
+        ids = Arrays.copyOf(ids, 2 * size);
+      }
+      int i = size++;
+      set(i, time, nextSeq++, kind, id);
+      while (i > 0) {
+        int parent = (i - 1) / 2;
+        if (!less(i, parent)) {
+          break;
+        }
+        swap(i, parent);
+        i = parent;
+      }
+    }
+
+    private void pop() {
+      size--;
+      set(0, times[size], seqs[size], kinds[size], ids[size]);
+      int i = 0;
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= size) {
+          break;
+        }
+        if (child + 1 < size && less(child + 1, child)) {
+          child++;
+        }
+        if (!less(child, i)) {
+          break;
+        }
+        swap(i, child);
+        i = child;
+      }
+    }
+
+    private boolean less(int a, int b) {
+      return times[a] < times[b] || (times[a] == times[b] && seqs[a] < seqs[b]);
+    }
+
+    private void set(int i, double time, long seq, int kind, int id) {
+      times[i] = time;
+      seqs[i] = seq;
+      kinds[i] = kind;
+      ids[i] = id;
+    }
+
+    private void swap(int a, int b) {
+      double time = times[a];
+      long seq = seqs[a];
+      int kind = kinds[a];
+      int id = ids[a];
+      set(a, times[b], seqs[b], kinds[b], ids[b]);
+      set(b, time, seq, kind, id);
+    }
+  }
+
+  /**
+   * A growable FIFO queue of ints.
+   */
+  private static final class IntQueue {
+
+    private int[] items = new int[8];
+    private int head = 0;
+    private int tail = 0;
+
+    private boolean isEmpty() {
+      return head == tail;
+    }
+
+    private void add(int item) {
+      if (tail == items.length) {
+        if (head > 0) {
+          System.arraycopy(items, head, items, 0, tail - head);
+          tail -= head;
+          head = 0;
+        } else {
+          items = Arrays.copyOf(items, 2 * items.length);
+        }
+      }
+      items[tail++] = item;
+    }
+
+    private int poll() {
+      return items[head++];
+    }
+  }
+}
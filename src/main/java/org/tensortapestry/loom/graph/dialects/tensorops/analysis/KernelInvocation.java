@@ -0,0 +1,189 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.LoomNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.DTypes;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpNodes;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorSelection;
+import org.tensortapestry.zspace.ZRange;
+
+/**
+ * A kernel applied to tensor selections; the unit of cost estimation.
+ *
+ * <p>Either a whole {@link OperationNode}, or one {@link ApplicationNode} shard of it.
+ */
+@Value
+public class KernelInvocation {
+
+  /**
+   * Describe an operation.
+   *
+   * @param operation the operation.
+   * @return the invocation.
+   */
+  @Nonnull
+  public static KernelInvocation of(@Nonnull OperationNode operation) {
+    var body = operation.getBody();
+    return new KernelInvocation(
+      operation.assertGraph(),
+      body.getKernel(),
+      body.getParams() == null ? Map.of() : body.getParams(),
+      ipfIndex(operation.unwrap()),
+      body.getInputs(),
+      body.getOutputs()
+    );
+  }
+
+  /**
+   * Describe an application shard of an operation.
+   *
+   * @param application the application.
+   * @return the invocation.
+   */
+  @Nonnull
+  public static KernelInvocation of(@Nonnull ApplicationNode application) {
+    var operation = application.getOperationNode().getBody();
+    var body = application.getBody();
+    return new KernelInvocation(
+      application.assertGraph(),
+      operation.getKernel(),
+      operation.getParams() == null ? Map.of() : operation.getParams(),
+      ipfIndex(application.unwrap()),
+      body.getInputs(),
+      body.getOutputs()
+    );
+  }
+
+  @Nullable private static ZRange ipfIndex(@Nonnull LoomNode node) {
+    return node.hasTag(TensorOpNodes.IPF_INDEX_ANNOTATION_TYPE)
+      ? node.viewTagAs(TensorOpNodes.IPF_INDEX_ANNOTATION_TYPE, ZRange.class)
+      : null;
+  }
+
+  @Nonnull
+  LoomGraph graph;
+
+  @Nonnull
+  String kernel;
+
+  @Nonnull
+  Map<String, Object> params;
+
+  /**
+   * The IPF index range, if known.
+   */
+  @Nullable ZRange index;
+
+  @Nonnull
+  Map<String, List<TensorSelection>> inputs;
+
+  @Nonnull
+  Map<String, List<TensorSelection>> outputs;
+
+  /**
+   * Get the size of the index space; the output cell count if there is no IPF index.
+   *
+   * @return the number of index points.
+   */
+  public long getIndexSize() {
+    return index != null ? index.getSize() : getOutputCells();
+  }
+
+  /**
+   * Get the total number of selected input cells.
+   *
+   * @return the cell count.
+   */
+  public long getInputCells() {
+    return cells(inputs);
+  }
+
+  /**
+   * Get the total number of selected output cells.
+   *
+   * @return the cell count.
+   */
+  public long getOutputCells() {
+    return cells(outputs);
+  }
+
+  /**
+   * Get the total size of the selected inputs.
+   *
+   * @return the size, in bytes.
+   */
+  public long getInputBytes() {
+    return bytes(inputs);
+  }
+
+  /**
+   * Get the total size of the selected outputs.
+   *
+   * @return the size, in bytes.
+   */
+  public long getOutputBytes() {
+    return bytes(outputs);
+  }
+
+  /**
+   * Get the number of input selections, across all input names.
+   *
+   * @return the selection count.
+   */
+  public int getInputSelectionCount() {
+    int count = 0;
+    for (var selections : inputs.values()) {
+      count += selections.size();
+    }
+    return count;
+  }
+
+  /**
+   * Get the single selection of an input.
+   *
+   * @param name the input name.
+   * @return the selection, or null if the input is absent.
+   * @throws IllegalArgumentException if the input has more than one selection.
+   */
+  @Nullable public TensorSelection getSingularInput(@Nonnull String name) {
+    var selections = inputs.get(name);
+    if (selections == null || selections.isEmpty()) {
+      return null;
+    }
+    if (selections.size() != 1) {
+      throw new IllegalArgumentException(
+        "Expected a single selection for input %s, found %d".formatted(name, selections.size())
+      );
+    }
+    return selections.getFirst();
+  }
+
+  private static long cells(@Nonnull Map<String, List<TensorSelection>> selectionMap) {
+    long cells = 0;
+    for (var selections : selectionMap.values()) {
+      for (var selection : selections) {
+        cells += selection.getRange().getSize();
+      }
+    }
+    return cells;
+  }
+
+  private long bytes(@Nonnull Map<String, List<TensorSelection>> selectionMap) {
+    long bytes = 0;
+    for (var selections : selectionMap.values()) {
+      for (var selection : selections) {
+        var tensor = graph.assertNode(selection.getTensorId(), TensorNode.class);
+        bytes += (long) selection.getRange().getSize() * DTypes.byteWidth(tensor.getDtype());
+      }
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,308 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.*;
+import java.util.function.ToLongFunction;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.OperationDag;
+import org.tensortapestry.loom.graph.dialects.tensorops.BufferAssignment;
+import org.tensortapestry.loom.graph.dialects.tensorops.DTypes;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpNodes;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpsIndex;
+
+/**
+ * Tensor liveness analysis, and buffer-reuse memory planning.
+ *
+ * <p>Time is measured in steps: indexes into the topological order of an {@link OperationDag}. A
+ * tensor is live from the first step which writes it (or step 0, for graph inputs) to the last
+ * step which reads it (or the last step, for graph outputs); the inputs and outputs of a step are
+ * all live at that step.
+ *
+ * <p>Tensors whose live intervals do not overlap may share a buffer. The planner assigns buffers by
+ * sweeping the intervals in start order, reusing the best-fitting free buffer, in {@code O(n log
+ * n)} time.
+ */
+@UtilityClass
+public class MemoryPlanner {
+
+  /**
+   * The live interval of a tensor.
+   */
+  @Value
+  public static class LiveInterval {
+
+    @Nonnull
+    UUID tensorId;
+
+    /**
+     * The size of the tensor, in bytes.
+     */
+    long bytes;
+
+    /**
+     * The first live step.
+     */
+    int start;
+
+    /**
+     * The last live step, inclusive.
+     */
+    int end;
+  }
+
+  /**
+   * A memory plan.
+   */
+  @Value
+  public static class MemoryPlan {
+
+    /**
+     * The assignment of each tensor, in order of interval start.
+     */
+    @Nonnull
+    Map<UUID, BufferAssignment> assignments;
+
+    /**
+     * The size of each buffer, in bytes.
+     */
+    @Nonnull
+    List<Long> bufferSizes;
+
+    /**
+     * The total size of all buffers, in bytes; the arena size of the plan.
+     */
+    long arenaBytes;
+
+    /**
+     * The greatest total size of the tensors live at any one step, in bytes; a lower bound on the
+     * arena size of any plan.
+     */
+    long peakLiveBytes;
+
+    /**
+     * Attach each assignment to its tensor, as a {@link TensorOpNodes#BUFFER_ASSIGNMENT_TYPE} tag.
+     *
+     * @param graph the planned graph.
+     */
+    public void applyTags(@Nonnull LoomGraph graph) {
+      for (var entry : assignments.entrySet()) {
+        graph
+          .assertNode(entry.getKey())
+          .addTag(TensorOpNodes.BUFFER_ASSIGNMENT_TYPE, entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Compute the live interval of every tensor in the graph of a DAG.
+   *
+   * @param dag the operation DAG.
+   * @param sizeFn the size of a tensor, in bytes.
+   * @return the intervals, in graph order.
+   */
+  @Nonnull
+  public List<LiveInterval> liveIntervals(
+    @Nonnull OperationDag dag,
+    @Nonnull ToLongFunction<TensorNode> sizeFn
+  ) {
+    var graph = dag.getGraph();
+    var index = TensorOpsIndex.of(graph);
+    int lastStep = Math.max(dag.size() - 1, 0);
+
+    List<LiveInterval> intervals = new ArrayList<>();
+    for (var tensor : graph.byType(TensorNode.class)) {
+      var id = tensor.getId();
+      int start = lastStep;
+      var producers = index.getProducerIds(id);
+      if (producers.isEmpty()) {
+        start = 0;
+      }
+      for (var producerId : producers) {
+        start = Math.min(start, dag.indexOf(producerId));
+      }
+      int end = start;
+      var consumers = index.getConsumerIds(id);
+      if (consumers.isEmpty()) {
+        end = lastStep;
+      }
+      for (var consumerId : consumers) {
+        end = Math.max(end, dag.indexOf(consumerId));
+      }
+      intervals.add(new LiveInterval(id, sizeFn.applyAsLong(tensor), start, end));
+    }
+    return intervals;
+  }
+
+  /**
+   * Plan the memory of a graph, sizing tensors by {@link DTypes#byteSize(TensorNode)}.
+   *
+   * @param graph the graph.
+   * @return the plan.
+   */
+  @Nonnull
+  public MemoryPlan plan(@Nonnull LoomGraph graph) {
+    return plan(OperationDag.of(graph), DTypes::byteSize);
+  }
+
+  /**
+   * Plan the memory of a graph, and tag its tensors with their assignments.
+   *
+   * @param graph the graph.
+   * @return the plan.
+   */
+  @Nonnull
+  public MemoryPlan planAndTag(@Nonnull LoomGraph graph) {
+    var plan = plan(graph);
+    plan.applyTags(graph);
+    return plan;
+  }
+
+  /**
+   * Plan the memory of the graph of a DAG.
+   *
+   * @param dag the operation DAG.
+   * @param sizeFn the size of a tensor, in bytes.
+   * @return the plan.
+   */
+  @Nonnull
+  public MemoryPlan plan(@Nonnull OperationDag dag, @Nonnull ToLongFunction<TensorNode> sizeFn) {
+    return plan(liveIntervals(dag, sizeFn));
+  }
+
+  /**
+   * Assign buffers to live intervals.
+   *
+   * <p>Intervals are visited in order of start, larger first; buffers whose intervals have ended
+   * are released to a free set ordered by capacity. Each interval takes the smallest free buffer
+   * which fits it; failing that, the largest free buffer, grown to fit; failing that, a new buffer.
+   *
+   * @param intervals the live intervals.
+   * @return the plan.
+   */
+  @Nonnull
+  public MemoryPlan plan(@Nonnull List<LiveInterval> intervals) {
+    int n = intervals.size();
+    var order = new Integer[n];
+    for (int i = 0; i < n; ++i) {
+      order[i] = i;
+    }
+    Arrays.sort(
+      order,
+      Comparator
+        .<Integer>comparingInt(i -> intervals.get(i).getStart())
+        .thenComparing(i -> intervals.get(i).getBytes(), Comparator.reverseOrder())
+    );
+
+    var buffers = new BufferSet(n);
+    var assigned = new int[n];
+    PriorityQueue<Integer> busy = new PriorityQueue<>(
+      Math.max(n, 1),
+      Comparator.comparingInt(i -> intervals.get(i).getEnd())
+    );
+    for (int i : order) {
+      var interval = intervals.get(i);
+      while (!busy.isEmpty() && intervals.get(busy.peek()).getEnd() < interval.getStart()) {
+        buffers.release(assigned[busy.poll()]);
+      }
+      assigned[i] = buffers.acquire(interval.getBytes());
+      busy.add(i);
+    }
+
+    var offsets = new long[buffers.count + 1];
+    List<Long> bufferSizes = new ArrayList<>(buffers.count);
+    for (int b = 0; b < buffers.count; ++b) {
+      offsets[b + 1] = offsets[b] + buffers.capacity[b];
+      bufferSizes.add(buffers.capacity[b]);
+    }
+
+    Map<UUID, BufferAssignment> assignments = new LinkedHashMap<>();
+    for (int i : order) {
+      var interval = intervals.get(i);
+      assignments.put(
+        interval.getTensorId(),
+        BufferAssignment
+          .builder()
+          .buffer(assigned[i])
+          .offset(offsets[assigned[i]])
+          .bytes(interval.getBytes())
+          .start(interval.getStart())
+          .end(interval.getEnd())
+          .build()
+      );
+    }
+
+    return new MemoryPlan(
+      Collections.unmodifiableMap(assignments),
+      Collections.unmodifiableList(bufferSizes),
+      offsets[buffers.count],
+      peakLiveBytes(intervals)
+    );
+  }
+
+  /**
+   * Compute the greatest total size of the intervals live at any one step, by a difference array.
+   *
+   * @param intervals the live intervals.
+   * @return the peak, in bytes.
+   */
+  public long peakLiveBytes(@Nonnull List<LiveInterval> intervals) {
+    int steps = 0;
+    for (var interval : intervals) {
+      steps = Math.max(steps, interval.getEnd() + 1);
+    }
+    var delta = new long[steps + 1];
+    for (var interval : intervals) {
+      delta[interval.getStart()] += interval.getBytes();
+      delta[interval.getEnd() + 1] -= interval.getBytes();
+    }
+    long live = 0;
+    long peak = 0;
+    for (int s = 0; s < steps; ++s) {
+      live += delta[s];
+      peak = Math.max(peak, live);
+    }
+    return peak;
+  }
+
+  /**
+   * Buffers, with the free ones ordered by capacity, then index.
+   */
+  private static final class BufferSet {
+
+    private long[] capacity;
+    private int count = 0;
+    private final TreeMap<Long, TreeSet<Integer>> free = new TreeMap<>();
+
+    private BufferSet(int expected) {
+      capacity = new long[Math.max(expected, 1)];
+    }
+
+    private int acquire(long bytes) {
+      var entry = free.ceilingEntry(bytes);
+      if (entry == null) {
+        entry = free.lastEntry();
+      }
+      if (entry == null) {
+        if (count == capacity.length) {
+          capacity = Arrays.copyOf(capacity, 2 * capacity.length);
+        }
+        capacity[count] = bytes;
+        return count++;
+      }
+      var candidates = entry.getValue();
+      int buffer = candidates.pollFirst();
+      if (candidates.isEmpty()) {
+        free.remove(entry.getKey());
+      }
+      capacity[buffer] = Math.max(capacity[buffer], bytes);
+      return buffer;
+    }
+
+    private void release(int buffer) {
+      free.computeIfAbsent(capacity[buffer], k -> new TreeSet<>()).add(buffer);
+    }
+  }
+}
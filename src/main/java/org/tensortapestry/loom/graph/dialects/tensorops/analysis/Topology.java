@@ -0,0 +1,220 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * A device interconnect: directed links, and the route between each pair of devices.
+ *
+ * <p>Routes are computed on demand from the shape of the topology, so topologies of thousands of
+ * devices need no per-pair tables.
+ */
+public final class Topology {
+
+  /**
+   * A directed link.
+   */
+  @Value
+  public static class Link {
+
+    @Nonnull
+    String name;
+
+    /**
+     * The bandwidth, in bytes per second.
+     */
+    double bytesPerSecond;
+
+    /**
+     * The latency of each transfer, in seconds.
+     */
+    double latencySeconds;
+  }
+
+  @FunctionalInterface
+  private interface Router {
+    @Nonnull
+    int[] route(int source, int target);
+  }
+
+  /**
+   * A direct link between every ordered pair of devices.
+   *
+   * @param devices the number of devices.
+   * @param bytesPerSecond the bandwidth of each link.
+   * @param latencySeconds the latency of each link.
+   * @return the topology.
+   */
+  @Nonnull
+  public static Topology fullyConnected(int devices, double bytesPerSecond, double latencySeconds) {
+    checkCount("devices", devices);
+    List<Link> links = new ArrayList<>(devices * (devices - 1));
+    for (int s = 0; s < devices; ++s) {
+      for (int t = 0; t < devices; ++t) {
+        if (s != t) {
+          links.add(new Link(s + "->" + t, bytesPerSecond, latencySeconds));
+        }
+      }
+    }
+    return new Topology(
+      devices,
+      links,
+      (s, t) -> new int[] { s * (devices - 1) + (t < s ? t : t - 1) }
+    );
+  }
+
+  /**
+   * A bidirectional ring; transfers take the shorter direction, clockwise on ties.
+   *
+   * <p>Link {@code i} runs from device {@code i} to {@code i + 1}, and link {@code devices + i}
+   * from device {@code i} to {@code i - 1}, modulo {@code devices}.
+   *
+   * @param devices the number of devices.
+   * @param bytesPerSecond the bandwidth of each link.
+   * @param latencySeconds the latency of each link.
+   * @return the topology.
+   */
+  @Nonnull
+  public static Topology ring(int devices, double bytesPerSecond, double latencySeconds) {
+    checkCount("devices", devices);
+    List<Link> links = new ArrayList<>(2 * devices);
+    for (int i = 0; i < devices; ++i) {
+      links.add(new Link(i + "->" + (i + 1) % devices, bytesPerSecond, latencySeconds));
+    }
+    for (int i = 0; i < devices; ++i) {
+      links.add(
+        new Link(i + "->" + (i + devices - 1) % devices, bytesPerSecond, latencySeconds)
+      );
+    }
+    return new Topology(
+      devices,
+      links,
+      (s, t) -> {
+        int clockwise = Math.floorMod(t - s, devices);
+        int counter = devices - clockwise;
+        boolean forward = clockwise <= counter;
+        var route = new int[forward ? clockwise : counter];
+        for (int h = 0; h < route.length; ++h) {
+          route[h] =
+            forward ? Math.floorMod(s + h, devices) : devices + Math.floorMod(s - h, devices);
+        }
+        return route;
+      }
+    );
+  }
+
+  /**
+   * A cluster of nodes, each holding fully connected GPUs, and joined by a switch.
+   *
+   * <p>Device {@code node * gpusPerNode + gpu} is GPU {@code gpu} of node {@code node}. Transfers
+   * within a node take the direct intra-node link; transfers between nodes take the uplink of the
+   * source node to the switch, then the downlink of the target node, which all GPUs of a node
+   * share.
+   *
+   * @param nodes the number of nodes.
+   * @param gpusPerNode the number of GPUs per node.
+   * @param intraBytesPerSecond the bandwidth of each intra-node link.
+   * @param intraLatencySeconds the latency of each intra-node link.
+   * @param interBytesPerSecond the bandwidth of each node uplink and downlink.
+   * @param interLatencySeconds the latency of each node uplink and downlink.
+   * @return the topology.
+   */
+  @Nonnull
+  public static Topology hierarchical(
+    int nodes,
+    int gpusPerNode,
+    double intraBytesPerSecond,
+    double intraLatencySeconds,
+    double interBytesPerSecond,
+    double interLatencySeconds
+  ) {
+    checkCount("nodes", nodes);
+    checkCount("gpusPerNode", gpusPerNode);
+    int g = gpusPerNode;
+    int intraPerNode = g * (g - 1);
+    List<Link> links = new ArrayList<>(nodes * intraPerNode + 2 * nodes);
+    for (int node = 0; node < nodes; ++node) {
+      for (int s = 0; s < g; ++s) {
+        for (int t = 0; t < g; ++t) {
+          if (s != t) {
+            links.add(
+              new Link(
+                "node" + node + ":" + s + "->" + t,
+                intraBytesPerSecond,
+                intraLatencySeconds
+              )
+            );
+          }
+        }
+      }
+    }
+    int uplinks = nodes * intraPerNode;
+    int downlinks = uplinks + nodes;
+    for (int node = 0; node < nodes; ++node) {
+      links.add(new Link("node" + node + ":up", interBytesPerSecond, interLatencySeconds));
+    }
+    for (int node = 0; node < nodes; ++node) {
+      links.add(new Link("node" + node + ":down", interBytesPerSecond, interLatencySeconds));
+    }
+    return new Topology(
+      nodes * g,
+      links,
+      (s, t) -> {
+        int sourceNode = s / g;
+        int targetNode = t / g;
+        if (sourceNode != targetNode) {
+          return new int[] { uplinks + sourceNode, downlinks + targetNode };
+        }
+        int ls = s % g;
+        int lt = t % g;
+        return new int[] { sourceNode * intraPerNode + ls * (g - 1) + (lt < ls ? lt : lt - 1) };
+      }
+    );
+  }
+
+  private static void checkCount(@Nonnull String name, int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException(name + " must be >= 1: " + count);
+    }
+  }
+
+  /**
+   * The number of devices.
+   */
+  @Getter
+  private final int deviceCount;
+
+  /**
+   * The links, by link index.
+   */
+  @Getter
+  @Nonnull
+  private final List<Link> links;
+
+  private final Router router;
+
+  private Topology(int deviceCount, @Nonnull List<Link> links, @Nonnull Router router) {
+    this.deviceCount = deviceCount;
+    this.links = Collections.unmodifiableList(links);
+    this.router = router;
+  }
+
+  /**
+   * Get the route from one device to another.
+   *
+   * @param source the source device.
+   * @param target the target device.
+   * @return the indexes of the links traversed, in order; empty if {@code source == target}.
+   */
+  @Nonnull
+  public int[] route(int source, int target) {
+    Objects.checkIndex(source, deviceCount);
+    Objects.checkIndex(target, deviceCount);
+    return source == target ? new int[0] : router.route(source, target);
+  }
+}
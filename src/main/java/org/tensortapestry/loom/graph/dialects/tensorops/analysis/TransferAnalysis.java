@@ -0,0 +1,278 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.*;
+import javax.annotation.Nonnull;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorSelection;
+import org.tensortapestry.zspace.ZRange;
+
+/**
+ * Inter-shard data movement, from the intersections of {@link ApplicationNode} selections.
+ *
+ * <p>Every cell which one application writes and another reads must move from the producer to the
+ * consumer. For each tensor, the analysis intersects the output selections of its producers with
+ * the input selections of its consumers.
+ *
+ * <p>Rather than testing every pair, the selections of a tensor are swept in order of their start
+ * along one dimension, keeping the selections which are still open along it; only pairs which
+ * overlap along the sweep dimension are intersected. The sweep dimension is the one along which
+ * the writes are most finely split, so for a sharded tensor the work is close to the number of
+ * overlapping pairs, rather than the product of the writer and reader counts.
+ */
+@UtilityClass
+public class TransferAnalysis {
+
+  /**
+   * The cells of one tensor which move from a producer application to a consumer application.
+   */
+  @Value
+  public static class Transfer {
+
+    @Nonnull
+    UUID tensorId;
+
+    /**
+     * The id of the application which writes the cells.
+     */
+    @Nonnull
+    UUID sourceId;
+
+    /**
+     * The id of the application which reads the cells.
+     */
+    @Nonnull
+    UUID targetId;
+
+    /**
+     * The cells which move; the intersection of the write and read selections.
+     */
+    @Nonnull
+    ZRange range;
+
+    /**
+     * Get the number of cells which move.
+     *
+     * @return the cell count.
+     */
+    public long getCells() {
+      return range.getSize();
+    }
+  }
+
+  /**
+   * The transfers of a graph, with totals.
+   */
+  @Value
+  public static class TransferMatrix {
+
+    /**
+     * Every transfer, one per intersecting (write, read) selection pair, grouped by tensor.
+     */
+    @Nonnull
+    List<Transfer> transfers;
+
+    /**
+     * The total cells moved for each tensor with any transfers.
+     */
+    @Nonnull
+    Map<UUID, Long> tensorCells;
+
+    /**
+     * The total cells moved from each source application to each target application.
+     */
+    @Nonnull
+    Map<UUID, Map<UUID, Long>> pairCells;
+
+    /**
+     * Get the total cells moved.
+     *
+     * @return the cell count.
+     */
+    public long getTotalCells() {
+      long total = 0;
+      for (var cells : tensorCells.values()) {
+        total += cells;
+      }
+      return total;
+    }
+
+    /**
+     * Get the total cells moved for a tensor.
+     *
+     * @param tensorId the tensor id.
+     * @return the cell count; 0 if there are no transfers of the tensor.
+     */
+    public long getTensorCells(@Nonnull UUID tensorId) {
+      return tensorCells.getOrDefault(tensorId, 0L);
+    }
+
+    /**
+     * Get the total cells moved from one application to another.
+     *
+     * @param sourceId the id of the producer application.
+     * @param targetId the id of the consumer application.
+     * @return the cell count; 0 if nothing moves between them.
+     */
+    public long getCells(@Nonnull UUID sourceId, @Nonnull UUID targetId) {
+      var targets = pairCells.get(sourceId);
+      return targets == null ? 0 : targets.getOrDefault(targetId, 0L);
+    }
+  }
+
+  /**
+   * A selection of a tensor by an application.
+   */
+  private static final class Access {
+
+    private final UUID applicationId;
+    private final ZRange range;
+    private final int[] start;
+    private final int[] end;
+    private final boolean write;
+
+    private Access(@Nonnull UUID applicationId, @Nonnull TensorSelection selection, boolean write) {
+      this.applicationId = applicationId;
+      this.range = selection.getRange();
+      this.start = range.getStart().toArray();
+      this.end = range.getEnd().toArray();
+      this.write = write;
+    }
+  }
+
+  /**
+   * Compute the transfer matrix of a graph.
+   *
+   * @param graph the graph.
+   * @return the transfer matrix.
+   */
+  @Nonnull
+  public TransferMatrix analyze(@Nonnull LoomGraph graph) {
+    Map<UUID, List<Access>> accesses = new LinkedHashMap<>();
+    for (var app : graph.byType(ApplicationNode.class)) {
+      var body = app.getBody();
+      for (var selections : body.getOutputs().values()) {
+        for (var selection : selections) {
+          if (!selection.getRange().isEmpty()) {
+            accesses
+              .computeIfAbsent(selection.getTensorId(), k -> new ArrayList<>())
+              .add(new Access(app.getId(), selection, true));
+          }
+        }
+      }
+      for (var selections : body.getInputs().values()) {
+        for (var selection : selections) {
+          if (!selection.getRange().isEmpty()) {
+            accesses
+              .computeIfAbsent(selection.getTensorId(), k -> new ArrayList<>())
+              .add(new Access(app.getId(), selection, false));
+          }
+        }
+      }
+    }
+
+    List<Transfer> transfers = new ArrayList<>();
+    Map<UUID, Long> tensorCells = new LinkedHashMap<>();
+    Map<UUID, Map<UUID, Long>> pairCells = new LinkedHashMap<>();
+    for (var entry : accesses.entrySet()) {
+      var tensorId = entry.getKey();
+      int first = transfers.size();
+      sweep(tensorId, entry.getValue(), transfers);
+      for (int i = first; i < transfers.size(); ++i) {
+        var transfer = transfers.get(i);
+        tensorCells.merge(tensorId, transfer.getCells(), Long::sum);
+        pairCells
+          .computeIfAbsent(transfer.getSourceId(), k -> new LinkedHashMap<>())
+          .merge(transfer.getTargetId(), transfer.getCells(), Long::sum);
+      }
+    }
+    pairCells.replaceAll((k, v) -> Collections.unmodifiableMap(v));
+
+    return new TransferMatrix(
+      Collections.unmodifiableList(transfers),
+      Collections.unmodifiableMap(tensorCells),
+      Collections.unmodifiableMap(pairCells)
+    );
+  }
+
+  /**
+   * Intersect the writes and reads of one tensor, by a sweep along one dimension.
+   */
+  private void sweep(
+    @Nonnull UUID tensorId,
+    @Nonnull List<Access> accesses,
+    @Nonnull List<Transfer> transfers
+  ) {
+    int dim = sweepDimension(accesses);
+    var events = new ArrayList<>(accesses);
+    if (dim >= 0) {
+      events.sort(Comparator.comparingInt(a -> a.start[dim]));
+    }
+
+    List<Access> openWrites = new ArrayList<>();
+    List<Access> openReads = new ArrayList<>();
+    for (var event : events) {
+      var others = event.write ? openReads : openWrites;
+      for (int i = 0; i < others.size(); ++i) {
+        var other = others.get(i);
+        if (dim >= 0 && other.end[dim] <= event.start[dim]) {
+          // Closed along the sweep dimension; no later event can overlap it.
+          var last = others.remove(others.size() - 1);
+          if (i < others.size()) {
+            others.set(i--, last);
+          }
+          continue;
+        }
+        var write = event.write ? event : other;
+        var read = event.write ? other : event;
+        if (write.applicationId.equals(read.applicationId) || !overlaps(write, read)) {
+          continue;
+        }
+        transfers.add(
+          new Transfer(
+            tensorId,
+            write.applicationId,
+            read.applicationId,
+            Objects.requireNonNull(write.range.intersection(read.range))
+          )
+        );
+      }
+      (event.write ? openWrites : openReads).add(event);
+    }
+  }
+
+  /**
+   * Choose the dimension with the most distinct write starts.
+   *
+   * @return the dimension; or -1 for scalar tensors.
+   */
+  private int sweepDimension(@Nonnull List<Access> accesses) {
+    int ndim = accesses.get(0).start.length;
+    int best = -1;
+    int bestCount = 0;
+    for (int d = 0; d < ndim; ++d) {
+      Set<Integer> starts = new HashSet<>();
+      for (var access : accesses) {
+        if (access.write) {
+          starts.add(access.start[d]);
+        }
+      }
+      if (best < 0 || starts.size() > bestCount) {
+        best = d;
+        bestCount = starts.size();
+      }
+    }
+    return best;
+  }
+
+  private boolean overlaps(@Nonnull Access a, @Nonnull Access b) {
+    for (int d = 0; d < a.start.length; ++d) {
+      if (Math.max(a.start[d], b.start[d]) >= Math.min(a.end[d], b.end[d])) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
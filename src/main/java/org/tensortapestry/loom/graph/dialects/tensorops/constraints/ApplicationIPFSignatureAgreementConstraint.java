@@ -7,6 +7,7 @@ import javax.annotation.Nonnull;
 import org.tensortapestry.common.json.JsonPathUtils;
 import org.tensortapestry.common.validation.ValidationIssue;
 import org.tensortapestry.common.validation.ValidationIssueCollector;
+import org.tensortapestry.loom.graph.ChangeJournal;
 import org.tensortapestry.loom.graph.LoomConstants;
 import org.tensortapestry.loom.graph.LoomEnvironment;
 import org.tensortapestry.loom.graph.LoomGraph;
@@ -42,6 +43,21 @@ public class ApplicationIPFSignatureAgreementConstraint implements LoomEnvironme
     }
   }
 
+  @Override
+  public void validateIncremental(
+    @Nonnull @SuppressWarnings("unused") LoomEnvironment env,
+    @Nonnull LoomGraph graph,
+    @Nonnull ChangeJournal.Changes changes,
+    @Nonnull ValidationIssueCollector issueCollector
+  ) {
+    var affected = TensorOpsIndex.of(graph).affectedBy(graph, changes);
+    for (var operation : affected.operations(graph)) {
+      if (operation.hasTag(TensorOpNodes.IPF_SIGNATURE_ANNOTATION_TYPE)) {
+        checkOperation(operation, issueCollector);
+      }
+    }
+  }
+
   private void checkOperation(OperationNode operation, ValidationIssueCollector issueCollector) {
     operation.assertType(OperationNode.TYPE);
 
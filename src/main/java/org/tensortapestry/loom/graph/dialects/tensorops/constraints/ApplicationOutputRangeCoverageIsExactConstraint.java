@@ -11,12 +11,14 @@ import org.tensortapestry.common.lazy.LazyString;
 import org.tensortapestry.common.lazy.Thunk;
 import org.tensortapestry.common.validation.ValidationIssue;
 import org.tensortapestry.common.validation.ValidationIssueCollector;
+import org.tensortapestry.loom.graph.ChangeJournal;
 import org.tensortapestry.loom.graph.LoomConstants;
 import org.tensortapestry.loom.graph.LoomEnvironment;
 import org.tensortapestry.loom.graph.LoomGraph;
 import org.tensortapestry.loom.graph.ValidationUtils;
 import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationNode;
 import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpsIndex;
 import org.tensortapestry.zspace.ZRange;
 
 /**
@@ -38,16 +40,7 @@ public class ApplicationOutputRangeCoverageIsExactConstraint implements LoomEnvi
     @Nonnull ValidationIssueCollector issueCollector
   ) {
     for (var application : graph.byType(ApplicationNode.class)) {
-      ValidationUtils.validateNodeReference(
-        graph,
-        application.getOperationId(),
-        OperationNode.TYPE,
-        new LazyString(() ->
-          JsonPathUtils.concatJsonPath(application.getJsonPath(), "body", "operationId")
-        ),
-        issueCollector,
-        Thunk.of(() -> List.of(application.asValidationContext("Application Node")))
-      );
+      validateOperationReference(graph, application, issueCollector);
     }
 
     for (var operation : graph.byType(OperationNode.class)) {
@@ -55,6 +48,40 @@ public class ApplicationOutputRangeCoverageIsExactConstraint implements LoomEnvi
     }
   }
 
+  @Override
+  public void validateIncremental(
+    @Nonnull @SuppressWarnings("unused") LoomEnvironment env,
+    @Nonnull LoomGraph graph,
+    @Nonnull ChangeJournal.Changes changes,
+    @Nonnull ValidationIssueCollector issueCollector
+  ) {
+    var affected = TensorOpsIndex.of(graph).affectedBy(graph, changes);
+    for (var application : affected.applications(graph)) {
+      validateOperationReference(graph, application, issueCollector);
+    }
+
+    for (var operation : affected.operations(graph)) {
+      validateOperationNode(operation, issueCollector);
+    }
+  }
+
+  private static void validateOperationReference(
+    LoomGraph graph,
+    ApplicationNode application,
+    ValidationIssueCollector issueCollector
+  ) {
+    ValidationUtils.validateNodeReference(
+      graph,
+      application.getOperationId(),
+      OperationNode.TYPE,
+      new LazyString(() ->
+        JsonPathUtils.concatJsonPath(application.getJsonPath(), "body", "operationId")
+      ),
+      issueCollector,
+      Thunk.of(() -> List.of(application.asValidationContext("Application Node")))
+    );
+  }
+
   private static boolean validateOperationNode(
     OperationNode operation,
     ValidationIssueCollector issueCollector
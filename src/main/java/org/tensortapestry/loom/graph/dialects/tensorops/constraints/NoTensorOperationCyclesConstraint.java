@@ -2,6 +2,8 @@ package org.tensortapestry.loom.graph.dialects.tensorops.constraints;
 
 import java.util.HashMap;
 import javax.annotation.Nonnull;
+import lombok.Builder;
+import lombok.Value;
 import org.tensortapestry.common.validation.ValidationIssue;
 import org.tensortapestry.common.validation.ValidationIssueCollector;
 import org.tensortapestry.loom.graph.*;
@@ -10,9 +12,28 @@ import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
 
 /**
  * This constraint checks for cycles in the graph that involve both Tensor and Operation nodes.
+ *
+ * <p>By default the check is linear in the size of the graph, and reports one representative cycle
+ * per strongly connected component, up to {@link #maxReportedCycles}; see {@link
+ * TraversalUtils#findOperationCycles(LoomGraph, int)}. Setting {@link #enumerateSimpleCycles}
+ * instead reports every simple cycle, which may take exponential time.
  */
+@Value
+@Builder(toBuilder = true)
 public class NoTensorOperationCyclesConstraint implements LoomEnvironment.Constraint {
 
+  /**
+   * The maximum number of cycles to report.
+   */
+  @Builder.Default
+  int maxReportedCycles = 8;
+
+  /**
+   * Report every simple cycle, rather than one per cyclic component; a diagnostic.
+   */
+  @Builder.Default
+  boolean enumerateSimpleCycles = false;
+
   @Override
   public void checkRequirements(LoomEnvironment env) {
     env.assertSupportsNodeType(TensorNode.TYPE);
@@ -20,37 +41,55 @@ public class NoTensorOperationCyclesConstraint implements LoomEnvironment.Constr
     env.assertConstraint(TensorOperationAgreementConstraint.class);
   }
 
+  /**
+   * Cycles are formed by the references of operations to tensors; only added or modified
+   * operations can introduce one, in which case the whole graph is re-checked.
+   */
+  @Override
+  public void validateIncremental(
+    @Nonnull LoomEnvironment env,
+    @Nonnull LoomGraph graph,
+    @Nonnull ChangeJournal.Changes changes,
+    @Nonnull ValidationIssueCollector issueCollector
+  ) {
+    for (var node : changes.currentNodes(graph)) {
+      if (node.getType().equals(OperationNode.TYPE)) {
+        validateConstraint(env, graph, issueCollector);
+        return;
+      }
+    }
+  }
+
   @Override
   public void validateConstraint(
     @Nonnull @SuppressWarnings("unused") LoomEnvironment env,
     @Nonnull LoomGraph graph,
     @Nonnull ValidationIssueCollector issueCollector
   ) {
-    boolean valid = true;
-
-    if (valid) {
-      for (var cycle : TraversalUtils.findOperationSimpleCycles(graph)) {
-        var cycleDesc = cycle
-          .stream()
-          .map(item -> {
-            var desc = new HashMap<>();
-            desc.put("id", item.getId());
-            desc.put("type", item.getType());
-            if (item.getLabel() != null) {
-              desc.put("label", item.getLabel());
-            }
-            return desc;
-          })
-          .toList();
-
-        issueCollector.addIssue(
-          ValidationIssue
-            .builder()
-            .type(LoomConstants.Errors.REFERENCE_CYCLE_ERROR)
-            .summary("Reference Cycle detected")
-            .context(b -> b.name("Cycle").data(cycleDesc))
-        );
-      }
+    var cycles = enumerateSimpleCycles
+      ? TraversalUtils.findOperationSimpleCycles(graph)
+      : TraversalUtils.findOperationCycles(graph, maxReportedCycles);
+    for (var cycle : cycles) {
+      var cycleDesc = cycle
+        .stream()
+        .map(item -> {
+          var desc = new HashMap<>();
+          desc.put("id", item.getId());
+          desc.put("type", item.getType());
+          if (item.getLabel() != null) {
+            desc.put("label", item.getLabel());
+          }
+          return desc;
+        })
+        .toList();
+
+      issueCollector.addIssue(
+        ValidationIssue
+          .builder()
+          .type(LoomConstants.Errors.REFERENCE_CYCLE_ERROR)
+          .summary("Reference Cycle detected")
+          .context(b -> b.name("Cycle").data(cycleDesc))
+      );
     }
   }
 }
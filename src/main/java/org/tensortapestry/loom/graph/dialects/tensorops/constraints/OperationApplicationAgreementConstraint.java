@@ -39,16 +39,7 @@ public class OperationApplicationAgreementConstraint implements LoomEnvironment.
     @Nonnull ValidationIssueCollector issueCollector
   ) {
     for (var application : graph.byType(ApplicationNode.class)) {
-      ValidationUtils.validateNodeReference(
-        graph,
-        application.getOperationId(),
-        OperationNode.TYPE,
-        new LazyString(() ->
-          JsonPathUtils.concatJsonPath(application.getJsonPath(), "body", "operationId")
-        ),
-        issueCollector,
-        Thunk.of(() -> List.of(application.asValidationContext("Application Node")))
-      );
+      validateOperationReference(graph, application, issueCollector);
     }
 
     for (var operation : graph.byType(OperationNode.class)) {
@@ -56,6 +47,40 @@ public class OperationApplicationAgreementConstraint implements LoomEnvironment.
     }
   }
 
+  @Override
+  public void validateIncremental(
+    @Nonnull @SuppressWarnings("unused") LoomEnvironment env,
+    @Nonnull LoomGraph graph,
+    @Nonnull ChangeJournal.Changes changes,
+    @Nonnull ValidationIssueCollector issueCollector
+  ) {
+    var affected = TensorOpsIndex.of(graph).affectedBy(graph, changes);
+    for (var application : affected.applications(graph)) {
+      validateOperationReference(graph, application, issueCollector);
+    }
+
+    for (var operation : affected.operations(graph)) {
+      validateOperationNode(operation, issueCollector);
+    }
+  }
+
+  private static void validateOperationReference(
+    LoomGraph graph,
+    ApplicationNode application,
+    ValidationIssueCollector issueCollector
+  ) {
+    ValidationUtils.validateNodeReference(
+      graph,
+      application.getOperationId(),
+      OperationNode.TYPE,
+      new LazyString(() ->
+        JsonPathUtils.concatJsonPath(application.getJsonPath(), "body", "operationId")
+      ),
+      issueCollector,
+      Thunk.of(() -> List.of(application.asValidationContext("Application Node")))
+    );
+  }
+
   private static void validateOperationNode(
     OperationNode operation,
     ValidationIssueCollector issueCollector
@@ -7,9 +7,11 @@ import javax.annotation.Nonnull;
 import org.tensortapestry.common.json.JsonPathUtils;
 import org.tensortapestry.common.validation.ValidationIssue;
 import org.tensortapestry.common.validation.ValidationIssueCollector;
+import org.tensortapestry.loom.graph.ChangeJournal;
 import org.tensortapestry.loom.graph.LoomConstants;
 import org.tensortapestry.loom.graph.LoomEnvironment;
 import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.LoomNode;
 import org.tensortapestry.loom.graph.dialects.tensorops.*;
 import org.tensortapestry.zspace.ZRange;
 import org.tensortapestry.zspace.ZRangeProjectionMap;
@@ -18,7 +20,7 @@ import org.tensortapestry.zspace.ZRangeProjectionMap;
  * This constraint checks that selection maps of an Operation node with an IPFSignature are
  * consistent with node's IPFIndex.
  */
-public class OperationIPFSignatureAgreementConstraint implements LoomEnvironment.Constraint {
+public class OperationIPFSignatureAgreementConstraint implements LoomEnvironment.NodeConstraint {
 
   @Override
   public void checkRequirements(LoomEnvironment env) {
@@ -29,15 +31,33 @@ public class OperationIPFSignatureAgreementConstraint implements LoomEnvironment
   }
 
   @Override
-  public void validateConstraint(
+  @Nonnull
+  public List<LoomNode> selectNodes(@Nonnull LoomGraph graph) {
+    return graph.byType(OperationNode.TYPE).toList();
+  }
+
+  @Override
+  @Nonnull
+  public List<LoomNode> selectNodes(
+    @Nonnull LoomGraph graph,
+    @Nonnull ChangeJournal.Changes changes
+  ) {
+    var affected = TensorOpsIndex.of(graph).affectedBy(graph, changes);
+    return affected.operations(graph).stream().map(OperationNode::unwrap).toList();
+  }
+
+  @Override
+  public void validateNode(
     @Nonnull @SuppressWarnings("unused") LoomEnvironment env,
     @Nonnull LoomGraph graph,
+    @Nonnull LoomNode node,
     @Nonnull ValidationIssueCollector issueCollector
   ) {
-    for (var operation : graph.byType(OperationNode.class)) {
-      if (operation.hasTag(TensorOpNodes.IPF_SIGNATURE_ANNOTATION_TYPE)) {
-        checkOperation(operation, issueCollector);
-      }
+    if (
+      node.getType().equals(OperationNode.TYPE) &&
+      node.hasTag(TensorOpNodes.IPF_SIGNATURE_ANNOTATION_TYPE)
+    ) {
+      checkOperation(OperationNode.wrap(node), issueCollector);
     }
   }
 
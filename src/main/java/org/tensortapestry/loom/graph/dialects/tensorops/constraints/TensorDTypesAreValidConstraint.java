@@ -1,5 +1,6 @@
 package org.tensortapestry.loom.graph.dialects.tensorops.constraints;
 
+import java.util.List;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import lombok.Builder;
@@ -18,7 +19,7 @@ import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
  */
 @Getter
 @Builder
-public class TensorDTypesAreValidConstraint implements LoomEnvironment.Constraint {
+public class TensorDTypesAreValidConstraint implements LoomEnvironment.NodeConstraint {
 
   @Singular
   private final Set<String> validDTypes;
@@ -29,15 +30,20 @@ public class TensorDTypesAreValidConstraint implements LoomEnvironment.Constrain
   }
 
   @Override
-  public void validateConstraint(
+  @Nonnull
+  public List<LoomNode> selectNodes(@Nonnull LoomGraph graph) {
+    return graph.byType(TensorNode.TYPE).toList();
+  }
+
+  @Override
+  public void validateNode(
     @Nonnull LoomEnvironment env,
     @Nonnull LoomGraph graph,
+    @Nonnull LoomNode node,
     @Nonnull ValidationIssueCollector issueCollector
   ) {
-    for (var node : graph) {
-      if (node.getType().equals(TensorNode.TYPE)) {
-        checkTensor(node, issueCollector);
-      }
+    if (node.getType().equals(TensorNode.TYPE)) {
+      checkTensor(node, issueCollector);
     }
   }
 
@@ -12,9 +12,10 @@ import org.tensortapestry.common.validation.ValidationIssueCollector;
 import org.tensortapestry.loom.graph.*;
 import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
 import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpsIndex;
 import org.tensortapestry.loom.graph.dialects.tensorops.TensorSelection;
 
-public class TensorOperationAgreementConstraint implements LoomEnvironment.Constraint {
+public class TensorOperationAgreementConstraint implements LoomEnvironment.NodeConstraint {
 
   @Override
   public void checkRequirements(LoomEnvironment env) {
@@ -23,13 +24,30 @@ public class TensorOperationAgreementConstraint implements LoomEnvironment.Const
   }
 
   @Override
-  public void validateConstraint(
+  @Nonnull
+  public List<LoomNode> selectNodes(@Nonnull LoomGraph graph) {
+    return graph.byType(OperationNode.TYPE).toList();
+  }
+
+  @Override
+  @Nonnull
+  public List<LoomNode> selectNodes(
+    @Nonnull LoomGraph graph,
+    @Nonnull ChangeJournal.Changes changes
+  ) {
+    var affected = TensorOpsIndex.of(graph).affectedBy(graph, changes);
+    return affected.operations(graph).stream().map(OperationNode::unwrap).toList();
+  }
+
+  @Override
+  public void validateNode(
     @Nonnull @SuppressWarnings("unused") LoomEnvironment env,
     @Nonnull LoomGraph graph,
+    @Nonnull LoomNode node,
     @Nonnull ValidationIssueCollector issueCollector
   ) {
-    for (var operation : graph.byType(OperationNode.class)) {
-      validateOperationNode(graph, operation, issueCollector);
+    if (node.getType().equals(OperationNode.TYPE)) {
+      validateOperationNode(graph, OperationNode.wrap(node), issueCollector);
     }
   }
 
@@ -0,0 +1,194 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.execution;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import lombok.Getter;
+import org.tensortapestry.zspace.ZRange;
+
+/**
+ * A dense, row-major buffer of the cells of a {@link ZRange}.
+ *
+ * <p>Cells are addressed by their absolute coordinates in the range, so a buffer of a tensor is
+ * indexed with the same coordinates as its selections. Values are held as doubles, whatever the
+ * dtype; this is exact for the integer dtypes within {@code +/- 2^53}.
+ *
+ * <p>Buffers are not synchronized; concurrent writers must write disjoint cells.
+ */
+public final class DenseBuffer {
+
+  /**
+   * Create a buffer of zeros.
+   *
+   * @param range the range.
+   * @return the buffer.
+   */
+  @Nonnull
+  public static DenseBuffer zeros(@Nonnull ZRange range) {
+    return new DenseBuffer(range, new double[range.getSize()]);
+  }
+
+  /**
+   * Create a buffer holding a copy of the given values.
+   *
+   * @param range the range.
+   * @param values the values, in row-major order.
+   * @return the buffer.
+   * @throws IllegalArgumentException if the number of values is not the size of the range.
+   */
+  @Nonnull
+  public static DenseBuffer of(@Nonnull ZRange range, @Nonnull double... values) {
+    if (values.length != range.getSize()) {
+      throw new IllegalArgumentException(
+        "Expected %d values for %s, found %d".formatted(range.getSize(), range, values.length)
+      );
+    }
+    return new DenseBuffer(range, values.clone());
+  }
+
+  @Getter
+  @Nonnull
+  private final ZRange range;
+
+  private final int[] start;
+  private final int[] strides;
+  private final double[] data;
+
+  private DenseBuffer(@Nonnull ZRange range, @Nonnull double[] data) {
+    this.range = range;
+    this.start = range.getStart().toArray();
+    var shape = range.getShape().toArray();
+    this.strides = new int[shape.length];
+    int stride = 1;
+    for (int d = shape.length - 1; d >= 0; --d) {
+      strides[d] = stride;
+      stride *= shape[d];
+    }
+    this.data = data;
+  }
+
+  /**
+   * Get the index into the data of a cell.
+   *
+   * @param coords the absolute coordinates of the cell.
+   * @return the index.
+   */
+  public int offset(@Nonnull int... coords) {
+    int offset = 0;
+    for (int d = 0; d < strides.length; ++d) {
+      offset += (coords[d] - start[d]) * strides[d];
+    }
+    return offset;
+  }
+
+  /**
+   * Get the index into the data of a cell, relative to a base point.
+   *
+   * @param base the absolute coordinates of the base point.
+   * @param relative the coordinates of the cell, relative to the base.
+   * @return the index.
+   */
+  public int offset(@Nonnull int[] base, @Nonnull int[] relative) {
+    int offset = 0;
+    for (int d = 0; d < strides.length; ++d) {
+      offset += (base[d] + relative[d] - start[d]) * strides[d];
+    }
+    return offset;
+  }
+
+  /**
+   * Get the value at a data index.
+   *
+   * @param offset the data index; see {@link #offset(int...)}.
+   * @return the value.
+   */
+  public double getAt(int offset) {
+    return data[offset];
+  }
+
+  /**
+   * Set the value at a data index.
+   *
+   * @param offset the data index; see {@link #offset(int...)}.
+   * @param value the value.
+   */
+  public void setAt(int offset, double value) {
+    data[offset] = value;
+  }
+
+  /**
+   * Get the value of a cell.
+   *
+   * @param coords the absolute coordinates of the cell.
+   * @return the value.
+   */
+  public double get(@Nonnull int... coords) {
+    return data[offset(coords)];
+  }
+
+  /**
+   * Copy the cells of a range from another buffer.
+   *
+   * @param source the source buffer.
+   * @param cells the cells to copy; must lie in both buffers.
+   */
+  public void copyFrom(@Nonnull DenseBuffer source, @Nonnull ZRange cells) {
+    var base = cells.getStart().toArray();
+    forEachCell(
+      cells,
+      relative -> data[offset(base, relative)] = source.data[source.offset(base, relative)]
+    );
+  }
+
+  /**
+   * Get a copy of the values.
+   *
+   * @return the values, in row-major order.
+   */
+  @Nonnull
+  public double[] toArray() {
+    return data.clone();
+  }
+
+  @Override
+  public String toString() {
+    return "DenseBuffer(" + range + ", " + Arrays.toString(data) + ")";
+  }
+
+  /**
+   * A visitor of cell coordinates.
+   */
+  @FunctionalInterface
+  public interface CellVisitor {
+    /**
+     * Visit a cell.
+     *
+     * @param relative the coordinates of the cell, relative to the start of the range; reused
+     *     between calls, and must not be modified.
+     */
+    void visit(@Nonnull int[] relative);
+  }
+
+  /**
+   * Visit every cell of a range, in row-major order.
+   *
+   * @param range the range.
+   * @param visitor the visitor.
+   */
+  public static void forEachCell(@Nonnull ZRange range, @Nonnull CellVisitor visitor) {
+    if (range.isEmpty()) {
+      return;
+    }
+    var shape = range.getShape().toArray();
+    var relative = new int[shape.length];
+    while (true) {
+      visitor.visit(relative);
+      int d = shape.length - 1;
+      while (d >= 0 && ++relative[d] == shape[d]) {
+        relative[d--] = 0;
+      }
+      if (d < 0) {
+        return;
+      }
+    }
+  }
+}
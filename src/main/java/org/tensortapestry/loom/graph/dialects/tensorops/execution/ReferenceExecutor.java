@@ -0,0 +1,282 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.execution;
+
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import org.tensortapestry.loom.graph.CsrAdjacency;
+import org.tensortapestry.loom.graph.DagWalker;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.OperationDag;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorSelection;
+import org.tensortapestry.loom.graph.dialects.tensorops.analysis.TransferAnalysis;
+
+/**
+ * A CPU reference interpreter for ApplicationExpression graphs.
+ *
+ * <p>Every tensor is held in a {@link DenseBuffer}. Each {@link ApplicationNode} shard runs the
+ * {@link ShardKernel} of its operation's kernel over its own selections; shards are dispatched in
+ * parallel, each as soon as every shard writing cells it reads has finished, by a {@link
+ * DagWalker} over the shard dependencies found by {@link TransferAnalysis}.
+ *
+ * <p>Because shards only touch their selections, executing a graph before and after a sharding
+ * rewrite must give the same values; this makes the executor an oracle for such rewrites.
+ */
+@Value
+@Builder(toBuilder = true)
+public class ReferenceExecutor {
+
+  /**
+   * Executes the shards of one kernel.
+   */
+  @FunctionalInterface
+  public interface ShardKernel {
+    /**
+     * Execute a shard, writing the cells of its output selections.
+     *
+     * @param shard the shard.
+     */
+    void execute(@Nonnull Shard shard);
+  }
+
+  /**
+   * A shard being executed, and the buffers it may access.
+   */
+  @Value
+  public static class Shard {
+
+    @Nonnull
+    ApplicationNode application;
+
+    /**
+     * The buffer of every tensor of the graph.
+     */
+    @Nonnull
+    Map<UUID, DenseBuffer> buffers;
+
+    /**
+     * The values supplied to the execution, by tensor id.
+     */
+    @Nonnull
+    Map<UUID, DenseBuffer> hostValues;
+
+    /**
+     * Get the selections of a named input.
+     *
+     * @param name the input name.
+     * @return the selections; empty if there is no such input.
+     */
+    @Nonnull
+    public List<TensorSelection> getInputs(@Nonnull String name) {
+      return application.getBody().getInputs().getOrDefault(name, List.of());
+    }
+
+    /**
+     * Get the selections of a named output.
+     *
+     * @param name the output name.
+     * @return the selections; empty if there is no such output.
+     */
+    @Nonnull
+    public List<TensorSelection> getOutputs(@Nonnull String name) {
+      return application.getBody().getOutputs().getOrDefault(name, List.of());
+    }
+
+    /**
+     * Get the single selection of a named input.
+     *
+     * @param name the input name.
+     * @return the selection.
+     * @throws IllegalArgumentException if the input does not have exactly one selection.
+     */
+    @Nonnull
+    public TensorSelection getInput(@Nonnull String name) {
+      return singular("input", name, getInputs(name));
+    }
+
+    /**
+     * Get the single selection of a named output.
+     *
+     * @param name the output name.
+     * @return the selection.
+     * @throws IllegalArgumentException if the output does not have exactly one selection.
+     */
+    @Nonnull
+    public TensorSelection getOutput(@Nonnull String name) {
+      return singular("output", name, getOutputs(name));
+    }
+
+    /**
+     * Get the single selection of a named input, if present.
+     *
+     * @param name the input name.
+     * @return the selection; or null if there is no such input.
+     * @throws IllegalArgumentException if the input has more than one selection.
+     */
+    @Nullable public TensorSelection getOptionalInput(@Nonnull String name) {
+      var selections = getInputs(name);
+      return selections.isEmpty() ? null : getInput(name);
+    }
+
+    /**
+     * Get the buffer of the tensor of a selection.
+     *
+     * @param selection the selection.
+     * @return the buffer.
+     */
+    @Nonnull
+    public DenseBuffer buffer(@Nonnull TensorSelection selection) {
+      return buffers.get(selection.getTensorId());
+    }
+
+    @Nonnull
+    private TensorSelection singular(
+      @Nonnull String kind,
+      @Nonnull String name,
+      @Nonnull List<TensorSelection> selections
+    ) {
+      if (selections.size() != 1) {
+        throw new IllegalArgumentException(
+          "Expected one %s selection for \"%s\", found %d".formatted(kind, name, selections.size())
+        );
+      }
+      return selections.get(0);
+    }
+  }
+
+  /**
+   * The executor with the {@link ReferenceKernels} for {@code op:import}, {@code op:export}, {@code
+   * op:add}, {@code op:linear} and {@code op:relu}.
+   */
+  public static final ReferenceExecutor DEFAULT = ReferenceExecutor
+    .builder()
+    .kernel("op:import", ReferenceKernels.IMPORT)
+    .kernel("op:export", ReferenceKernels.EXPORT)
+    .kernel("op:add", ReferenceKernels.ADD)
+    .kernel("op:linear", ReferenceKernels.LINEAR)
+    .kernel("op:relu", ReferenceKernels.RELU)
+    .build();
+
+  /**
+   * The kernel implementations, by kernel name.
+   */
+  @Nonnull
+  @Singular
+  Map<String, ShardKernel> kernels;
+
+  /**
+   * Execute a graph, running each shard on its own virtual thread.
+   *
+   * @param graph the graph.
+   * @param inputs the values of the graph inputs, by tensor id.
+   * @return the values of every tensor, by tensor id.
+   * @see #execute(LoomGraph, Map, Executor)
+   */
+  @Nonnull
+  public Map<UUID, DenseBuffer> execute(
+    @Nonnull LoomGraph graph,
+    @Nonnull Map<UUID, DenseBuffer> inputs
+  ) {
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      return execute(graph, inputs, executor);
+    }
+  }
+
+  /**
+   * Execute a graph.
+   *
+   * <p>Values must be supplied for every tensor which no shard writes, and for every tensor
+   * written by an {@code op:import}, which copies the supplied value of its result tensor; each
+   * value must have the range of its tensor. Supplied values are copied, not modified.
+   *
+   * @param graph the graph.
+   * @param inputs the values of the graph inputs, by tensor id.
+   * @param executor the executor to run shards on.
+   * @return the values of every tensor, by tensor id.
+   * @throws IllegalArgumentException if an input is missing or misshapen, or a kernel has no
+   *     implementation.
+   */
+  @Nonnull
+  public Map<UUID, DenseBuffer> execute(
+    @Nonnull LoomGraph graph,
+    @Nonnull Map<UUID, DenseBuffer> inputs,
+    @Nonnull Executor executor
+  ) {
+    List<ApplicationNode> apps = new ArrayList<>();
+    List<ShardKernel> appKernels = new ArrayList<>();
+    Set<UUID> written = new HashSet<>();
+    for (var operation : OperationDag.of(graph).getOperations()) {
+      var name = operation.getKernel();
+      var kernel = kernels.get(name);
+      if (kernel == null) {
+        throw new IllegalArgumentException("No reference kernel for: " + name);
+      }
+      for (var app : operation.getApplicationNodes()) {
+        apps.add(app);
+        appKernels.add(kernel);
+        for (var selections : app.getBody().getOutputs().values()) {
+          for (var selection : selections) {
+            written.add(selection.getTensorId());
+          }
+        }
+      }
+    }
+
+    Map<UUID, DenseBuffer> buffers = new LinkedHashMap<>();
+    for (var tensor : graph.byType(TensorNode.class)) {
+      var range = tensor.getTensorSelection().getRange();
+      var value = inputs.get(tensor.getId());
+      if (value != null && !value.getRange().equals(range)) {
+        throw new IllegalArgumentException(
+          "Input %s has range %s, expected %s".formatted(tensor.getId(), value.getRange(), range)
+        );
+      }
+      var buffer = DenseBuffer.zeros(range);
+      if (!written.contains(tensor.getId())) {
+        if (value == null) {
+          throw new IllegalArgumentException("No value for input tensor: " + tensor.getId());
+        }
+        buffer.copyFrom(value, range);
+      }
+      buffers.put(tensor.getId(), buffer);
+    }
+    var view = Collections.unmodifiableMap(buffers);
+
+    int n = apps.size();
+    Map<UUID, Integer> index = new HashMap<>(2 * n);
+    for (int v = 0; v < n; ++v) {
+      index.put(apps.get(v).getId(), v);
+    }
+    var dependencies = CsrAdjacency.builder(n);
+    for (var transfer : TransferAnalysis.analyze(graph).getTransfers()) {
+      var source = index.get(transfer.getSourceId());
+      var target = index.get(transfer.getTargetId());
+      if (source != null && target != null) {
+        dependencies.addEdge(source, target);
+      }
+    }
+
+    try {
+      DagWalker
+        .walk(
+          dependencies.build(),
+          executor,
+          v -> appKernels.get(v).execute(new Shard(apps.get(v), view, inputs))
+        )
+        .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    return view;
+  }
+}
@@ -0,0 +1,121 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.execution;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Reference {@link ReferenceExecutor.ShardKernel}s for the {@code CommonMetaKernels} operations.
+ *
+ * <p>Each kernel writes exactly the cells of its output selections, reading the cells of its
+ * input selections which line up with them.
+ */
+@UtilityClass
+public class ReferenceKernels {
+
+  /**
+   * {@code op:import}: copies the {@code "result"} selections from the supplied values.
+   */
+  public final ReferenceExecutor.ShardKernel IMPORT = shard -> {
+    for (var selection : shard.getOutputs("result")) {
+      var value = shard.getHostValues().get(selection.getTensorId());
+      if (value == null) {
+        throw new IllegalArgumentException(
+          "No value for imported tensor: " + selection.getTensorId()
+        );
+      }
+      shard.buffer(selection).copyFrom(value, selection.getRange());
+    }
+  };
+
+  /**
+   * {@code op:export}: the values are already in the tensor buffers; does nothing.
+   */
+  public final ReferenceExecutor.ShardKernel EXPORT = shard -> {};
+
+  /**
+   * {@code op:relu}: {@code result = max(0, tensor)}.
+   */
+  public final ReferenceExecutor.ShardKernel RELU = shard -> {
+    var input = shard.getInput("tensor");
+    var output = shard.getOutput("result");
+    var in = shard.buffer(input);
+    var out = shard.buffer(output);
+    var inStart = input.getRange().getStart().toArray();
+    var outStart = output.getRange().getStart().toArray();
+    DenseBuffer.forEachCell(
+      output.getRange(),
+      relative -> {
+        var value = in.getAt(in.offset(inStart, relative));
+        out.setAt(out.offset(outStart, relative), Math.max(0, value));
+      }
+    );
+  };
+
+  /**
+   * {@code op:add}: {@code result = sum(tensors)}.
+   */
+  public final ReferenceExecutor.ShardKernel ADD = shard -> {
+    var inputs = shard.getInputs("tensors");
+    var output = shard.getOutput("result");
+    var out = shard.buffer(output);
+    var outStart = output.getRange().getStart().toArray();
+    var ins = new DenseBuffer[inputs.size()];
+    var inStarts = new int[inputs.size()][];
+    for (int i = 0; i < ins.length; ++i) {
+      ins[i] = shard.buffer(inputs.get(i));
+      inStarts[i] = inputs.get(i).getRange().getStart().toArray();
+    }
+    DenseBuffer.forEachCell(
+      output.getRange(),
+      relative -> {
+        double sum = 0;
+        for (int i = 0; i < ins.length; ++i) {
+          sum += ins[i].getAt(ins[i].offset(inStarts[i], relative));
+        }
+        out.setAt(out.offset(outStart, relative), sum);
+      }
+    );
+  };
+
+  /**
+   * {@code op:linear}: {@code result[..., o] = sum_f x[..., f] * A[f, o] + b[o]}; the bias is
+   * optional.
+   */
+  public final ReferenceExecutor.ShardKernel LINEAR = shard -> {
+    var xSel = shard.getInput("x");
+    var aSel = shard.getInput("A");
+    var bSel = shard.getOptionalInput("b");
+    var output = shard.getOutput("result");
+
+    var x = shard.buffer(xSel);
+    var a = shard.buffer(aSel);
+    var b = bSel == null ? null : shard.buffer(bSel);
+    var out = shard.buffer(output);
+
+    var xStart = xSel.getRange().getStart().toArray();
+    var aStart = aSel.getRange().getStart().toArray();
+    int bStart = bSel == null ? 0 : bSel.getRange().getStart().get(0);
+    var outStart = output.getRange().getStart().toArray();
+    int features = aSel.getRange().getShape().get(0);
+    int last = outStart.length - 1;
+
+    var xCell = xStart.clone();
+    var aCell = new int[2];
+    DenseBuffer.forEachCell(
+      output.getRange(),
+      relative -> {
+        for (int d = 0; d < last; ++d) {
+          xCell[d] = xStart[d] + relative[d];
+        }
+        int o = relative[last];
+        aCell[1] = aStart[1] + o;
+        double sum = b == null ? 0 : b.get(bStart + o);
+        for (int f = 0; f < features; ++f) {
+          xCell[last] = xStart[last] + f;
+          aCell[0] = aStart[0] + f;
+          sum += x.get(xCell) * a.get(aCell);
+        }
+        out.setAt(out.offset(outStart, relative), sum);
+      }
+    );
+  };
+}
@@ -13,6 +13,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -29,11 +31,18 @@ import org.tensortapestry.loom.graph.LoomConstants;
  * Context manager for {@link JsonSchemaFactory}.
  *
  * <p>Supports manually binding schemas to URIs.
+ *
+ * <p>Compiled schemas are cached by URI; the cache is cleared, and the {@link
+ * #getSchemaGeneration() schema generation} advanced, when schemas or resource paths are bound.
  */
 public class JsonSchemaFactoryManager {
 
   private final Map<URI, String> schemas = new HashMap<>();
 
+  private final Map<URI, JsonSchema> compiledSchemas = new ConcurrentHashMap<>();
+
+  private final AtomicLong schemaGeneration = new AtomicLong();
+
   private static URI baseUrl(URI uri) {
     uri = uri.normalize();
     try {
@@ -108,6 +117,23 @@ public class JsonSchemaFactoryManager {
     config.setCustomMessageSupported(true);
   }
 
+  /**
+   * Get the schema generation.
+   *
+   * <p>The generation advances whenever the bound schemas change; results computed against an
+   * older generation may be stale.
+   *
+   * @return the current generation.
+   */
+  public long getSchemaGeneration() {
+    return schemaGeneration.get();
+  }
+
+  private void invalidateCompiledSchemas() {
+    compiledSchemas.clear();
+    schemaGeneration.incrementAndGet();
+  }
+
   public boolean hasSchema(URI uri) {
     return schemas.containsKey(uri.normalize());
   }
@@ -115,6 +141,7 @@ public class JsonSchemaFactoryManager {
   @CanIgnoreReturnValue
   public JsonSchemaFactoryManager bindResourcePath(String urlPrefix, String resourceDir) {
     resourceDirMap.put(urlPrefix, resourceDir);
+    invalidateCompiledSchemas();
     return this;
   }
 
@@ -137,6 +164,7 @@ public class JsonSchemaFactoryManager {
     }
     assertValidSchema(schema);
     schemas.put(normUri, schema);
+    invalidateCompiledSchemas();
     return this;
   }
 
@@ -146,13 +174,29 @@ public class JsonSchemaFactoryManager {
     return addSchema(URI.create(uri), schema);
   }
 
+  /**
+   * Load the compiled schema for a URI.
+   *
+   * <p>Schemas are compiled once per URI, and shared; they are safe to use concurrently.
+   *
+   * @param uri the schema URI.
+   * @return the compiled schema.
+   */
   @CheckReturnValue
   public JsonSchema loadSchema(@Nonnull URI uri) {
-    try {
-      return factory.getSchema(uri, config);
-    } catch (JsonSchemaException e) {
-      throw new RuntimeException("Error loading schema: " + uri, e);
-    }
+    return compiledSchemas.computeIfAbsent(
+      uri,
+      k -> {
+        try {
+          var schema = factory.getSchema(k, config);
+          // Build the validators now; they are otherwise built lazily, and the schema is shared.
+          schema.initializeValidators();
+          return schema;
+        } catch (JsonSchemaException e) {
+          throw new RuntimeException("Error loading schema: " + k, e);
+        }
+      }
+    );
   }
 
   @Nonnull
@@ -237,10 +281,18 @@ public class JsonSchemaFactoryManager {
       return builder.build();
     }
 
-    public void scan() {
-      for (var error : schema.validate(data)) {
+    /**
+     * Validate the data, and report issues to the collector.
+     *
+     * @return the number of issues reported.
+     */
+    @CanIgnoreReturnValue
+    public int scan() {
+      var errors = schema.validate(data);
+      for (var error : errors) {
         issueCollector.addIssue(adaptValidationMessage(error));
       }
+      return errors.size();
     }
   }
 }
@@ -96,7 +96,7 @@ public class CellWiseAccumulatorMetaKernel extends DataTypeCheckingMetaKernel {
     var proj = ZTensor.newZeros(targetSize, inputSize);
     int offset = inputSize - targetSize;
     for (int i = 0; i < targetSize; i++) {
-      proj.set(new int[] { i, i + offset }, targetShape.get(i) == 1 ? 0 : 1);
+      proj.set2(i, i + offset, targetShape.get(i) == 1 ? 0 : 1);
     }
     return ZAffineMap.fromMatrix(proj);
   }
@@ -79,11 +79,11 @@ public class LinearMetaKernel extends DataTypeCheckingMetaKernel {
       // x projection
       var proj = ZTensor.newZeros(xSelection.getNDim(), index.getNDim());
       for (int i = 0; i < batch.size(); i++) {
-        proj.set(new int[] { i, i }, 1);
+        proj.set2(i, i, 1);
       }
 
       var xShape = ZTensor.newOnes(xSelection.getNDim());
-      xShape.set(new int[] { -1 }, features);
+      xShape.set1(-1, features);
 
       ipfSigBuilder.input(
         "x",
@@ -99,7 +99,7 @@ public class LinearMetaKernel extends DataTypeCheckingMetaKernel {
     {
       // A projection
       var proj = ZTensor.newZeros(2, index.getNDim());
-      proj.set(new int[] { 1, -1 }, 1);
+      proj.set2(1, -1, 1);
 
       ipfSigBuilder.input(
         "A",
@@ -130,7 +130,7 @@ public class LinearMetaKernel extends DataTypeCheckingMetaKernel {
       {
         // b projection
         var proj = ZTensor.newZeros(1, index.getNDim());
-        proj.set(new int[] { 0, -1 }, 1);
+        proj.set2(0, -1, 1);
 
         ipfSigBuilder.input(
           "b",
@@ -2,6 +2,7 @@ package org.tensortapestry.zspace;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -13,6 +14,7 @@ import lombok.Value;
 import lombok.extern.jackson.Jacksonized;
 import org.tensortapestry.common.json.HasToJsonString;
 import org.tensortapestry.zspace.indexing.Selector;
+import org.tensortapestry.zspace.ops.IntegerMatrixOps;
 
 /**
  * A linear map from {@code Z^inDim} to {@code Z^outDim}.
@@ -219,4 +221,518 @@ public class ZAffineMap implements HasPermuteIO<ZAffineMap>, HasToJsonString {
   public ZAffineMap translate(@Nonnull ZTensorWrapper x) {
     return new ZAffineMap(projection, offset.add(x));
   }
+
+  /**
+   * Compute the bounding range of the image of a range.
+   *
+   * <p>Each output coordinate is bounded independently, taking the least and greatest contribution
+   * of each input dimension; so the bounds are exact for any sign of the projection entries.
+   *
+   * @param source the source range.
+   * @return the bounding range of {@code {apply(x) | x in source}}; empty if the source is empty.
+   */
+  @Nonnull
+  public ZRange apply(@Nonnull ZRange source) {
+    if (source.getNDim() != getInputNDim()) {
+      throw new IllegalArgumentException(
+        "source range %s does not match input ndim %d".formatted(source, getInputNDim())
+      );
+    }
+    var start = apply(source.getStart());
+    if (source.isEmpty()) {
+      return ZRange.builder().start(start).shape(ZPoint.newZeros(getOutputNDim())).build();
+    }
+
+    var a = projection.unwrap().indexer();
+    var s = source.getStart();
+    var e = source.getInclusiveEnd();
+    var lo = new int[getOutputNDim()];
+    var hi = new int[getOutputNDim()];
+    for (int i = 0; i < lo.length; ++i) {
+      long l = offset.get(i);
+      long h = l;
+      for (int j = 0; j < getInputNDim(); ++j) {
+        long u = Math.multiplyExact((long) a.get2(i, j), s.get(j));
+        long v = Math.multiplyExact((long) a.get2(i, j), e.get(j));
+        l = Math.addExact(l, Math.min(u, v));
+        h = Math.addExact(h, Math.max(u, v));
+      }
+      lo[i] = Math.toIntExact(l);
+      hi[i] = Math.toIntExact(Math.addExact(h, 1));
+    }
+    return ZRange.of(ZPoint.of(lo), ZPoint.of(hi));
+  }
+
+  /**
+   * Compute the exact preimage bounds of a target range.
+   *
+   * <p>Finds the least range containing every point {@code x} of {@code domain} such that {@code
+   * apply(x)} lies in {@code target}.
+   *
+   * @param domain the input range to search.
+   * @param target the output range.
+   * @return the bounding range of the preimage, or {@code null} if the preimage is empty.
+   */
+  @Nullable public ZRange preimage(@Nonnull ZRange domain, @Nonnull ZRange target) {
+    if (target.getNDim() != getOutputNDim()) {
+      throw new IllegalArgumentException(
+        "target range %s does not match output ndim %d".formatted(target, getOutputNDim())
+      );
+    }
+    if (target.isEmpty()) {
+      return null;
+    }
+    var lo = new long[getOutputNDim()];
+    var hi = new long[getOutputNDim()];
+    for (int i = 0; i < lo.length; ++i) {
+      lo[i] = (long) target.getStart().get(i) - offset.get(i);
+      hi[i] = (long) target.getEnd().get(i) - 1 - offset.get(i);
+    }
+    return boundedPreimage(domain, lo, hi);
+  }
+
+  /**
+   * Compute the least range containing every point {@code x} of {@code domain} such that {@code lo
+   * <= projection * x <= hi}.
+   *
+   * <p>When each output depends on at most one input (diagonal, permutation, and broadcast
+   * projections), the bounds are computed directly, one dimension at a time. Otherwise, the bounds
+   * are found exactly by a {@link PreimageSearch} over the integer lattice of the rows with a
+   * single target value.
+   *
+   * @param domain the input range to search.
+   * @param lo the inclusive lower bounds on {@code projection * x}.
+   * @param hi the inclusive upper bounds on {@code projection * x}.
+   * @return the bounding range, or {@code null} if there are no such points.
+   */
+  @Nullable ZRange boundedPreimage(@Nonnull ZRange domain, @Nonnull long[] lo, @Nonnull long[] hi) {
+    if (domain.getNDim() != getInputNDim()) {
+      throw new IllegalArgumentException(
+        "domain range %s does not match input ndim %d".formatted(domain, getInputNDim())
+      );
+    }
+    if (domain.isEmpty()) {
+      return null;
+    }
+
+    int m = getOutputNDim();
+    int n = getInputNDim();
+    var a = new long[m][n];
+    var idx = projection.unwrap().indexer();
+    boolean separable = true;
+    for (int i = 0; i < m; ++i) {
+      int nonzero = 0;
+      for (int j = 0; j < n; ++j) {
+        a[i][j] = idx.get2(i, j);
+        if (a[i][j] != 0) {
+          nonzero++;
+        }
+      }
+      separable &= nonzero <= 1;
+    }
+
+    var bl = new long[n];
+    var bh = new long[n];
+    for (int j = 0; j < n; ++j) {
+      bl[j] = domain.getStart().get(j);
+      bh[j] = domain.getEnd().get(j) - 1L;
+    }
+
+    if (separable) {
+      // A single propagation pass is exact.
+      if (!PreimageSearch.propagate(a, lo, hi, bl, bh, 1)) {
+        return null;
+      }
+    } else if (!PreimageSearch.bound(a, lo.clone(), hi.clone(), bl, bh)) {
+      return null;
+    }
+
+    var start = new int[n];
+    var end = new int[n];
+    for (int j = 0; j < n; ++j) {
+      start[j] = Math.toIntExact(bl[j]);
+      end[j] = Math.toIntExact(bh[j] + 1);
+    }
+    return ZRange.of(ZPoint.of(start), ZPoint.of(end));
+  }
+
+  /**
+   * Exact bounds of the integer points in {@code {x | lo <= a * x <= hi}} within a box.
+   *
+   * <p>The rows with a single target value are solved over the integers: every solution is {@code
+   * x = x0 + k * t}, for an integer {@code t}, where {@code x0} is a particular solution and the
+   * columns of {@code k} are a kernel basis, brought to column echelon form (see {@link
+   * IntegerMatrixOps}). If there is no solution, the preimage is empty. The box and the remaining
+   * rows then become range constraints on {@code t}.
+   *
+   * <p>Feasibility over {@code t} is decided by bisection, pruned by interval constraint
+   * propagation; and each bound of each {@code x_j} is found by binary search over a range
+   * constraint on {@code x_j}, starting from the value at a feasible point. Each row bound is kept
+   * on a multiple of the row's coefficient gcd, so rows which admit no lattice value are rejected
+   * without search.
+   */
+  static final class PreimageSearch {
+
+    /**
+     * The maximum number of propagation rounds; propagation is only used for pruning, so stopping
+     * early never changes the result.
+     */
+    static final int MAX_ROUNDS = 32;
+
+    /**
+     * The constraint rows over {@code t}; the last row is the objective, whose bounds are set per
+     * query.
+     */
+    private final long[][] rows;
+
+    private final long[] rowLo;
+    private final long[] rowHi;
+
+    /**
+     * The last feasible point found.
+     */
+    private long[] witness;
+
+    private PreimageSearch(@Nonnull long[][] rows, @Nonnull long[] rowLo, @Nonnull long[] rowHi) {
+      this.rows = rows;
+      this.rowLo = rowLo;
+      this.rowHi = rowHi;
+    }
+
+    /**
+     * Shrink the box {@code [bl, bh]} to the exact bounds of the points {@code x} in it with {@code
+     * lo <= a * x <= hi}.
+     *
+     * @param a the projection rows.
+     * @param lo the inclusive lower bounds on {@code a * x}; modified.
+     * @param hi the inclusive upper bounds on {@code a * x}; modified.
+     * @param bl the inclusive lower corner of the box; updated.
+     * @param bh the inclusive upper corner of the box; updated.
+     * @return false if there are no such points.
+     */
+    static boolean bound(
+      @Nonnull long[][] a,
+      @Nonnull long[] lo,
+      @Nonnull long[] hi,
+      @Nonnull long[] bl,
+      @Nonnull long[] bh
+    ) {
+      if (!alignToLattice(a, lo, hi)) {
+        return false;
+      }
+      int n = bl.length;
+
+      // x = x0 + k * t, over the solutions of the fixed rows.
+      var x0 = new long[n];
+      ZMatrix kernel;
+      int fixed = 0;
+      for (int i = 0; i < a.length; ++i) {
+        if (lo[i] == hi[i]) {
+          fixed++;
+        }
+      }
+      if (fixed == 0) {
+        kernel = ZMatrix.newIdentityMatrix(n);
+      } else {
+        var fixedRows = new int[fixed][];
+        var b = new int[fixed];
+        int r = 0;
+        for (int i = 0; i < a.length; ++i) {
+          if (lo[i] == hi[i]) {
+            var row = new int[n];
+            for (int j = 0; j < n; ++j) {
+              row[j] = Math.toIntExact(a[i][j]);
+            }
+            fixedRows[r] = row;
+            b[r++] = Math.toIntExact(lo[i]);
+          }
+        }
+        var fixedMatrix = ZTensor.newFromArray(fixedRows);
+        var solution = IntegerMatrixOps.solve(fixedMatrix, ZTensor.newVector(b));
+        if (solution == null) {
+          return false;
+        }
+        for (int j = 0; j < n; ++j) {
+          x0[j] = solution.get(j);
+        }
+        kernel = IntegerMatrixOps.kernel(fixedMatrix);
+      }
+
+      // u * k^T = h, so k * u^T = h^T spans the same lattice, and is in column echelon form:
+      // column i is zero above row pivots[i], and positive at it.
+      int dims = kernel.cols();
+      var k = new long[n][dims];
+      int[] pivots = new int[0];
+      if (dims > 0) {
+        var hermite = IntegerMatrixOps.hermiteNormalForm(kernel.unwrap().transpose(0, 1));
+        pivots = hermite.getPivots();
+        for (int j = 0; j < n; ++j) {
+          for (int i = 0; i < dims; ++i) {
+            k[j][i] = hermite.getH().get(i, j);
+          }
+        }
+      }
+
+      // The box on each pivot row of x bounds one more coordinate of t.
+      var tl = new long[dims];
+      var th = new long[dims];
+      for (int i = 0; i < dims; ++i) {
+        int p = pivots[i];
+        long restMin = x0[p];
+        long restMax = x0[p];
+        for (int c = 0; c < i; ++c) {
+          restMin = Math.addExact(restMin, termMin(k[p][c], tl[c], th[c]));
+          restMax = Math.addExact(restMax, termMax(k[p][c], tl[c], th[c]));
+        }
+        tl[i] = Math.ceilDiv(Math.subtractExact(bl[p], restMax), k[p][i]);
+        th[i] = Math.floorDiv(Math.subtractExact(bh[p], restMin), k[p][i]);
+        if (tl[i] > th[i]) {
+          return false;
+        }
+      }
+
+      // Constraints on t: the box on x, the rows with a range of target values, and the objective.
+      var rows = new ArrayList<long[]>();
+      var rowLo = new ArrayList<Long>();
+      var rowHi = new ArrayList<Long>();
+      for (int j = 0; j < n; ++j) {
+        rows.add(k[j]);
+        rowLo.add(Math.subtractExact(bl[j], x0[j]));
+        rowHi.add(Math.subtractExact(bh[j], x0[j]));
+      }
+      for (int i = 0; i < a.length; ++i) {
+        if (lo[i] == hi[i]) {
+          continue;
+        }
+        var row = new long[dims];
+        long base = 0;
+        for (int j = 0; j < n; ++j) {
+          base = Math.addExact(base, Math.multiplyExact(a[i][j], x0[j]));
+          for (int c = 0; c < dims; ++c) {
+            row[c] = Math.addExact(row[c], Math.multiplyExact(a[i][j], k[j][c]));
+          }
+        }
+        rows.add(row);
+        rowLo.add(Math.subtractExact(lo[i], base));
+        rowHi.add(Math.subtractExact(hi[i], base));
+      }
+      rows.add(new long[dims]);
+      rowLo.add(0L);
+      rowHi.add(0L);
+
+      var search = new PreimageSearch(
+        rows.toArray(long[][]::new),
+        rowLo.stream().mapToLong(Long::longValue).toArray(),
+        rowHi.stream().mapToLong(Long::longValue).toArray()
+      );
+      if (!alignToLattice(search.rows, search.rowLo, search.rowHi)) {
+        return false;
+      }
+      if (
+        !propagate(search.rows, search.rowLo, search.rowHi, tl, th, MAX_ROUNDS) ||
+        !search.feasible(tl, th)
+      ) {
+        return false;
+      }
+      for (int j = 0; j < n; ++j) {
+        // Row j is the box constraint on x_j, so the box bounds the search.
+        long min = search.minimize(k[j], search.rowLo[j], tl, th);
+        long max = -search.minimize(negate(k[j]), Math.negateExact(search.rowHi[j]), tl, th);
+        bl[j] = Math.addExact(x0[j], min);
+        bh[j] = Math.addExact(x0[j], max);
+      }
+      return true;
+    }
+
+    /**
+     * Find the least value of {@code objective * t} over the feasible points of the box.
+     *
+     * <p>The box must contain a feasible point.
+     *
+     * @param objective the objective row.
+     * @param floor a known lower bound on the objective.
+     */
+    private long minimize(
+      @Nonnull long[] objective,
+      long floor,
+      @Nonnull long[] tl,
+      @Nonnull long[] th
+    ) {
+      int last = rows.length - 1;
+      rows[last] = objective;
+      long lower = 0;
+      long upper = 0;
+      for (int c = 0; c < objective.length; ++c) {
+        lower = Math.addExact(lower, termMin(objective[c], tl[c], th[c]));
+        upper = Math.addExact(upper, termMax(objective[c], tl[c], th[c]));
+      }
+      lower = Math.max(lower, floor);
+      rowLo[last] = lower;
+      rowHi[last] = upper;
+      // Any feasible point gives an upper bound.
+      if (!feasible(tl, th)) {
+        throw new IllegalStateException("no feasible point");
+      }
+      upper = dot(objective, witness);
+      while (lower < upper) {
+        long mid = lower + (upper - lower) / 2;
+        rowHi[last] = mid;
+        if (feasible(tl, th)) {
+          upper = dot(objective, witness);
+        } else {
+          lower = mid + 1;
+        }
+      }
+      return lower;
+    }
+
+    /**
+     * Search for a feasible point in the box, by bisection of its widest coordinate; the point
+     * found is kept as the witness.
+     */
+    private boolean feasible(@Nonnull long[] bl, @Nonnull long[] bh) {
+      var l = bl.clone();
+      var h = bh.clone();
+      if (!propagate(rows, rowLo, rowHi, l, h, MAX_ROUNDS)) {
+        return false;
+      }
+      int branch = -1;
+      long width = 0;
+      for (int c = 0; c < l.length; ++c) {
+        if (h[c] - l[c] > width) {
+          width = h[c] - l[c];
+          branch = c;
+        }
+      }
+      if (branch < 0) {
+        // Every coordinate is fixed, and propagation has checked every row exactly.
+        witness = l;
+        return true;
+      }
+      long mid = l[branch] + (h[branch] - l[branch]) / 2;
+      long hiCut = h[branch];
+      h[branch] = mid;
+      if (feasible(l, h)) {
+        return true;
+      }
+      h[branch] = hiCut;
+      l[branch] = mid + 1;
+      return feasible(l, h);
+    }
+
+    /**
+     * Round each row bound of {@code [lo, hi]} inward to a multiple of the row's coefficient gcd.
+     *
+     * @return false if some row admits no value.
+     */
+    static boolean alignToLattice(@Nonnull long[][] a, @Nonnull long[] lo, @Nonnull long[] hi) {
+      for (int i = 0; i < a.length; ++i) {
+        long g = 0;
+        for (long c : a[i]) {
+          g = gcd(g, c);
+        }
+        if (g == 0) {
+          if (lo[i] > 0 || hi[i] < 0) {
+            return false;
+          }
+          continue;
+        }
+        lo[i] = Math.multiplyExact(Math.ceilDiv(lo[i], g), g);
+        hi[i] = Math.multiplyExact(Math.floorDiv(hi[i], g), g);
+        if (lo[i] > hi[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static long gcd(long x, long y) {
+      x = Math.abs(x);
+      y = Math.abs(y);
+      while (y != 0) {
+        long t = x % y;
+        x = y;
+        y = t;
+      }
+      return x;
+    }
+
+    private static long dot(@Nonnull long[] x, @Nonnull long[] y) {
+      long acc = 0;
+      for (int i = 0; i < x.length; ++i) {
+        acc = Math.addExact(acc, Math.multiplyExact(x[i], y[i]));
+      }
+      return acc;
+    }
+
+    @Nonnull
+    private static long[] negate(@Nonnull long[] x) {
+      var result = new long[x.length];
+      for (int i = 0; i < x.length; ++i) {
+        result[i] = Math.negateExact(x[i]);
+      }
+      return result;
+    }
+
+    /**
+     * Interval constraint propagation of {@code lo <= a * x <= hi} over the box {@code [bl, bh]}.
+     *
+     * @return false if the box is shown to contain no feasible points.
+     */
+    static boolean propagate(
+      @Nonnull long[][] a,
+      @Nonnull long[] lo,
+      @Nonnull long[] hi,
+      @Nonnull long[] bl,
+      @Nonnull long[] bh,
+      int rounds
+    ) {
+      for (int round = 0; round < rounds; ++round) {
+        boolean changed = false;
+        for (int i = 0; i < a.length; ++i) {
+          var row = a[i];
+          long minSum = 0;
+          long maxSum = 0;
+          for (int j = 0; j < row.length; ++j) {
+            minSum = Math.addExact(minSum, termMin(row[j], bl[j], bh[j]));
+            maxSum = Math.addExact(maxSum, termMax(row[j], bl[j], bh[j]));
+          }
+          if (minSum > hi[i] || maxSum < lo[i]) {
+            return false;
+          }
+          for (int j = 0; j < row.length; ++j) {
+            long c = row[j];
+            if (c == 0) {
+              continue;
+            }
+            // c * x_j must lie in [lo - (max of the other terms), hi - (min of the other terms)].
+            long tl = Math.subtractExact(lo[i], maxSum - termMax(c, bl[j], bh[j]));
+            long th = Math.subtractExact(hi[i], minSum - termMin(c, bl[j], bh[j]));
+            long xl = c > 0 ? Math.ceilDiv(tl, c) : Math.ceilDiv(th, c);
+            long xh = c > 0 ? Math.floorDiv(th, c) : Math.floorDiv(tl, c);
+            if (xl > bl[j] || xh < bh[j]) {
+              bl[j] = Math.max(bl[j], xl);
+              bh[j] = Math.min(bh[j], xh);
+              if (bl[j] > bh[j]) {
+                return false;
+              }
+              changed = true;
+            }
+          }
+        }
+        if (!changed) {
+          break;
+        }
+      }
+      return true;
+    }
+
+    private static long termMin(long c, long l, long h) {
+      return c >= 0 ? Math.multiplyExact(c, l) : Math.multiplyExact(c, h);
+    }
+
+    private static long termMax(long c, long l, long h) {
+      return c >= 0 ? Math.multiplyExact(c, h) : Math.multiplyExact(c, l);
+    }
+  }
 }
@@ -4,8 +4,10 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.google.errorprone.annotations.Immutable;
 import java.util.List;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import org.tensortapestry.common.runtime.ExcludeFromJacocoGeneratedReport;
+import org.tensortapestry.zspace.ops.IntegerMatrixOps;
 import org.tensortapestry.zspace.ops.MatrixOps;
 
 /**
@@ -223,7 +225,7 @@ public final class ZMatrix
    * @return the value.
    */
   public int get(int row, int col) {
-    return tensor.get(row, col);
+    return tensor.get2(row, col);
   }
 
   /**
@@ -279,4 +281,57 @@ public final class ZMatrix
   public ZTensor matmul(@Nonnull ZTensorWrapper x) {
     return MatrixOps.matmul(this, x);
   }
+
+  /**
+   * Compute the rank of this matrix.
+   *
+   * @return the rank.
+   */
+  public int rank() {
+    return IntegerMatrixOps.rank(this);
+  }
+
+  /**
+   * Compute an integer basis of the kernel of this matrix.
+   *
+   * @return a {@code [cols, cols - rank]} matrix, whose columns are the basis vectors.
+   * @see IntegerMatrixOps#kernel(ZTensorWrapper)
+   */
+  @Nonnull
+  public ZMatrix kernel() {
+    return IntegerMatrixOps.kernel(this);
+  }
+
+  /**
+   * Compute the Hermite normal form of this matrix.
+   *
+   * @return the Hermite normal form and transform.
+   * @see IntegerMatrixOps#hermiteNormalForm(ZTensorWrapper)
+   */
+  @Nonnull
+  public IntegerMatrixOps.HermiteForm hermiteNormalForm() {
+    return IntegerMatrixOps.hermiteNormalForm(this);
+  }
+
+  /**
+   * Compute the Smith normal form of this matrix.
+   *
+   * @return the Smith normal form and transforms.
+   * @see IntegerMatrixOps#smithNormalForm(ZTensorWrapper)
+   */
+  @Nonnull
+  public IntegerMatrixOps.SmithForm smithNormalForm() {
+    return IntegerMatrixOps.smithNormalForm(this);
+  }
+
+  /**
+   * Find an integer solution of {@code this * x = b}.
+   *
+   * @param b the {@code [rows]} target vector.
+   * @return a {@code [cols]} integer solution, or {@code null} if there is none.
+   * @see IntegerMatrixOps#solve(ZTensorWrapper, ZTensorWrapper)
+   */
+  @Nullable public ZTensor solve(@Nonnull ZTensorWrapper b) {
+    return IntegerMatrixOps.solve(this, b);
+  }
 }
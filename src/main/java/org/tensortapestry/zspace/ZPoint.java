@@ -177,7 +177,7 @@ public final class ZPoint extends ImmutableZTensorWrapper<ZPoint> implements Has
    * @return the coordinate.
    */
   public int get(int i) {
-    return tensor.get(i);
+    return tensor.get1(i);
   }
 
   /**
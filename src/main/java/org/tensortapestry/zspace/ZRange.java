@@ -531,7 +531,7 @@ public class ZRange implements Cloneable, HasSize, HasPermute<ZRange>, HasToJson
       return new ZRange[] { this };
     }
 
-    int numChunks = (dimSize / chunkSize) + (dimSize % chunkSize);
+    int numChunks = (dimSize + chunkSize - 1) / chunkSize;
 
     var chunks = new int[numChunks];
     for (int i = 0; i < numChunks - 1; ++i) {
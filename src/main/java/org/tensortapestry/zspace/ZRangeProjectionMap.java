@@ -252,16 +252,46 @@ public class ZRangeProjectionMap implements HasToJsonString {
    * Applies the projection function to the given range.
    *
    * @param source The range to project.
-   * @return the union of the projected ranges.
+   * @return the bounding range of the union of the projected ranges.
    */
   @Nonnull
   public ZRange apply(@Nonnull ZRange source) {
-    // TODO: Does the linear nature of the affine map mean that this is sufficient?
-    ZRange r1 = apply(source.getStart());
+    var image = affineMap.apply(source);
     if (source.isEmpty()) {
-      return ZRange.builder().start(r1.getStart()).shape(ZPoint.newZeros(r1.getNDim())).build();
+      return image;
     }
-    return ZRange.boundingRange(r1, apply(source.getInclusiveEnd()));
+    return ZRange.of(image.getStart(), image.getEnd().add(shape).sub(1));
+  }
+
+  /**
+   * Computes the exact preimage bounds of a target range.
+   *
+   * <p>Finds the least range containing every point {@code x} of {@code domain} such that {@code
+   * apply(x)} intersects {@code target}.
+   *
+   * @param domain the index range to search.
+   * @param target the target range.
+   * @return the bounding range of the preimage, or {@code null} if the preimage is empty.
+   */
+  @Nullable public ZRange preimage(@Nonnull ZRange domain, @Nonnull ZRange target) {
+    if (target.getNDim() != shape.getNDim()) {
+      throw new IllegalArgumentException(
+        "target range %s does not match output ndim %d".formatted(target, shape.getNDim())
+      );
+    }
+    if (target.isEmpty() || shape.unwrap().anyMatch(v -> v == 0)) {
+      return null;
+    }
+
+    // apply(x) = [A x + b, A x + b + shape) intersects [ts, te) iff ts - shape < A x + b < te.
+    var offset = affineMap.getOffset();
+    var lo = new long[shape.getNDim()];
+    var hi = new long[shape.getNDim()];
+    for (int i = 0; i < lo.length; ++i) {
+      lo[i] = (long) target.getStart().get(i) - shape.get(i) + 1 - offset.get(i);
+      hi[i] = (long) target.getEnd().get(i) - 1 - offset.get(i);
+    }
+    return affineMap.boundedPreimage(domain, lo, hi);
   }
 
   /**
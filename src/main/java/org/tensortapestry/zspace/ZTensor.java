@@ -28,6 +28,7 @@ import org.tensortapestry.zspace.indexing.*;
 import org.tensortapestry.zspace.ops.CellWiseOps;
 import org.tensortapestry.zspace.ops.ChunkOps;
 import org.tensortapestry.zspace.ops.ReduceOps;
+import org.tensortapestry.zspace.ops.ScanOps;
 
 /**
  * A multidimensional int array used for numerical operations.
@@ -93,6 +94,12 @@ public final class ZTensor
   implements
     ZTensorWrapper, HasToJsonString, Cloneable, HasDimension, HasSize, HasPermute<ZTensor> {
 
+  /**
+   * The cell (or coordinate) count at which bulk operations, such as
+   * {@link #gather(ZTensorWrapper)}, are dispatched to the common fork-join pool.
+   */
+  public static final int PARALLEL_THRESHOLD = 1 << 14;
+
   /**
    * Construct a new mutable scalar (0-dim) tensor.
    *
@@ -323,7 +330,7 @@ public final class ZTensor
     int k = diag.length;
     var tensor = newZeros(k, k);
     for (int i = 0; i < k; ++i) {
-      tensor._unchecked_set(new int[] { i, i }, diag[i]);
+      tensor.set2(i, i, diag[i]);
     }
     return tensor;
   }
@@ -843,6 +850,75 @@ public final class ZTensor
     return data[ravel(coords)];
   }
 
+  /**
+   * Get the cell-value of a 1-dim tensor.
+   *
+   * <p>Equivalent to {@code get(i)}, without allocating a coordinate array.
+   *
+   * @param i the coordinate; supports negative indexing.
+   * @return the cell value.
+   * @throws IndexOutOfBoundsException if the coordinate is out of bounds.
+   */
+  public int get1(int i) {
+    return data[offset1(i)];
+  }
+
+  /**
+   * Get the cell-value of a 2-dim tensor.
+   *
+   * <p>Equivalent to {@code get(i, j)}, without allocating a coordinate array.
+   *
+   * @param i the first coordinate; supports negative indexing.
+   * @param j the second coordinate; supports negative indexing.
+   * @return the cell value.
+   * @throws IndexOutOfBoundsException if the coordinates are out of bounds.
+   */
+  public int get2(int i, int j) {
+    return data[offset2(i, j)];
+  }
+
+  /**
+   * Get the cell-value of a 3-dim tensor.
+   *
+   * <p>Equivalent to {@code get(i, j, k)}, without allocating a coordinate array.
+   *
+   * @param i the first coordinate; supports negative indexing.
+   * @param j the second coordinate; supports negative indexing.
+   * @param k the third coordinate; supports negative indexing.
+   * @return the cell value.
+   * @throws IndexOutOfBoundsException if the coordinates are out of bounds.
+   */
+  public int get3(int i, int j, int k) {
+    return data[offset3(i, j, k)];
+  }
+
+  /**
+   * Get the cell-value of a 4-dim tensor.
+   *
+   * <p>Equivalent to {@code get(i, j, k, l)}, without allocating a coordinate array.
+   *
+   * @param i the first coordinate; supports negative indexing.
+   * @param j the second coordinate; supports negative indexing.
+   * @param k the third coordinate; supports negative indexing.
+   * @param l the fourth coordinate; supports negative indexing.
+   * @return the cell value.
+   * @throws IndexOutOfBoundsException if the coordinates are out of bounds.
+   */
+  public int get4(int i, int j, int k, int l) {
+    return data[offset4(i, j, k, l)];
+  }
+
+  /**
+   * Return an {@link Indexer} over the current layout of this tensor.
+   *
+   * @return the indexer.
+   * @throws IllegalArgumentException if this tensor has more than 4 dimensions.
+   */
+  @Nonnull
+  public Indexer indexer() {
+    return new Indexer(this);
+  }
+
   /**
    * Return a view of this tensor with the given dimensional selection.
    *
@@ -924,6 +1000,87 @@ public final class ZTensor
     return IndexingFns.ravel(shape, stride, coords, dataOffset);
   }
 
+  /**
+   * Resolve a (possibly negative) coordinate against a dimension.
+   *
+   * @param dim the dimension, assumed valid.
+   * @param coord the coordinate.
+   * @return the resolved coordinate, or -1 if out of bounds.
+   */
+  private int resolveCoord(int dim, int coord) {
+    int k = shape[dim];
+    if (coord < 0) {
+      coord += k;
+    }
+    return (coord >= 0 && coord < k) ? coord : -1;
+  }
+
+  /**
+   * Rank-1 {@link #ravel}.
+   *
+   * <p>On failure, defers to {@link #ravel} for the exception.
+   */
+  private int offset1(int i) {
+    if (shape.length == 1) {
+      int ri = resolveCoord(0, i);
+      if (ri >= 0) {
+        return dataOffset + ri * stride[0];
+      }
+    }
+    return ravel(i);
+  }
+
+  /**
+   * Rank-2 {@link #ravel}.
+   *
+   * <p>On failure, defers to {@link #ravel} for the exception.
+   */
+  private int offset2(int i, int j) {
+    if (shape.length == 2) {
+      int ri = resolveCoord(0, i);
+      int rj = resolveCoord(1, j);
+      if ((ri | rj) >= 0) {
+        return dataOffset + ri * stride[0] + rj * stride[1];
+      }
+    }
+    return ravel(i, j);
+  }
+
+  /**
+   * Rank-3 {@link #ravel}.
+   *
+   * <p>On failure, defers to {@link #ravel} for the exception.
+   */
+  private int offset3(int i, int j, int k) {
+    if (shape.length == 3) {
+      int ri = resolveCoord(0, i);
+      int rj = resolveCoord(1, j);
+      int rk = resolveCoord(2, k);
+      if ((ri | rj | rk) >= 0) {
+        return dataOffset + ri * stride[0] + rj * stride[1] + rk * stride[2];
+      }
+    }
+    return ravel(i, j, k);
+  }
+
+  /**
+   * Rank-4 {@link #ravel}.
+   *
+   * <p>On failure, defers to {@link #ravel} for the exception.
+   */
+  private int offset4(int i, int j, int k, int l) {
+    if (shape.length == 4) {
+      int ri = resolveCoord(0, i);
+      int rj = resolveCoord(1, j);
+      int rk = resolveCoord(2, k);
+      int rl = resolveCoord(3, l);
+      if ((ri | rj | rk | rl) >= 0) {
+        return dataOffset + ri * stride[0] + rj * stride[1] + rk * stride[2] + rl * stride[3];
+      }
+    }
+    return ravel(i, j, k, l);
+  }
+
   /**
    * Returns an {@code Iterable<int[]>} over the coordinates of this tensor.
    *
@@ -957,6 +1114,64 @@ public final class ZTensor
     _unchecked_set(coords, value);
   }
 
+  /**
+   * Set the cell-value of a 1-dim tensor.
+   *
+   * @param i the coordinate; supports negative indexing.
+   * @param value the value to set.
+   * @throws IndexOutOfBoundsException if the coordinate is out of bounds.
+   * @throws IllegalStateException if the tensor is read-only.
+   */
+  public void set1(int i, int value) {
+    assertMutable();
+    data[offset1(i)] = value;
+  }
+
+  /**
+   * Set the cell-value of a 2-dim tensor.
+   *
+   * @param i the first coordinate; supports negative indexing.
+   * @param j the second coordinate; supports negative indexing.
+   * @param value the value to set.
+   * @throws IndexOutOfBoundsException if the coordinates are out of bounds.
+   * @throws IllegalStateException if the tensor is read-only.
+   */
+  public void set2(int i, int j, int value) {
+    assertMutable();
+    data[offset2(i, j)] = value;
+  }
+
+  /**
+   * Set the cell-value of a 3-dim tensor.
+   *
+   * @param i the first coordinate; supports negative indexing.
+   * @param j the second coordinate; supports negative indexing.
+   * @param k the third coordinate; supports negative indexing.
+   * @param value the value to set.
+   * @throws IndexOutOfBoundsException if the coordinates are out of bounds.
+   * @throws IllegalStateException if the tensor is read-only.
+   */
+  public void set3(int i, int j, int k, int value) {
+    assertMutable();
+    data[offset3(i, j, k)] = value;
+  }
+
+  /**
+   * Set the cell-value of a 4-dim tensor.
+   *
+   * @param i the first coordinate; supports negative indexing.
+   * @param j the second coordinate; supports negative indexing.
+   * @param k the third coordinate; supports negative indexing.
+   * @param l the fourth coordinate; supports negative indexing.
+   * @param value the value to set.
+   * @throws IndexOutOfBoundsException if the coordinates are out of bounds.
+   * @throws IllegalStateException if the tensor is read-only.
+   */
+  public void set4(int i, int j, int k, int l, int value) {
+    assertMutable();
+    data[offset4(i, j, k, l)] = value;
+  }
+
   /**
    * Set the cell-value at the given coordinates.
    *
@@ -970,6 +1185,321 @@ public final class ZTensor
     data[ravel(coords)] = value;
   }
 
+  /**
+   * Gather the cell-values at a batch of coordinates.
+   *
+   * <p>The last dimension of {@code index} holds coordinates into this tensor, and must have size
+   * {@link #getNDim()}; the result has the shape of {@code index} with the last dimension removed.
+   * Coordinates support negative indexing, as with {@link #get(int...)}.
+   *
+   * <pre>
+   * t = [[0, 1, 2],
+   *      [3, 4, 5]]
+   * t.gather([[0, 1], [1, -1]]) == [1, 5]
+   * </pre>
+   *
+   * <p>Data offsets are computed in bulk from the strides; batches of at least
+   * {@link #PARALLEL_THRESHOLD} coordinates are resolved in parallel.
+   *
+   * @param index the coordinate tensor, of shape {@code [..., ndim]}.
+   * @return a new tensor of shape {@code index.shape[:-1]}.
+   * @throws IndexOutOfBoundsException if any coordinates are out of bounds.
+   */
+  @Nonnull
+  public ZTensor gather(@Nonnull ZTensorWrapper index) {
+    var zindex = index.unwrap();
+    var offsets = ravelIndexRows(zindex);
+    var values = new int[offsets.length];
+    parallelFor(offsets.length, i -> values[i] = data[offsets[i]]);
+    return new ZTensor(
+      true,
+      IndexingFns.removeIdx(zindex.shape, zindex.getNDim() - 1),
+      values,
+      0,
+      BufferOwnership.REUSED
+    );
+  }
+
+  /**
+   * Scatter values into the cells at a batch of coordinates.
+   *
+   * <p>The last dimension of {@code index} holds coordinates into this tensor, and must have size
+   * {@link #getNDim()}; {@code values} are broadcast to the shape of {@code index} with the last
+   * dimension removed. This is the inverse of {@link #gather(ZTensorWrapper)}.
+   *
+   * <p>If {@code index} contains duplicate coordinates, which of the matching values is written is
+   * unspecified.
+   *
+   * @param index the coordinate tensor, of shape {@code [..., ndim]}.
+   * @param values the values to write.
+   * @throws IndexOutOfBoundsException if any coordinates are out of bounds.
+   * @throws IllegalStateException if the tensor is read-only.
+   */
+  public void scatter_(@Nonnull ZTensorWrapper index, @Nonnull ZTensorWrapper values) {
+    assertMutable();
+    var zindex = index.unwrap();
+    var offsets = ravelIndexRows(zindex);
+    var zvalues = values
+      .unwrap()
+      .broadcastTo(IndexingFns.removeIdx(zindex.shape, zindex.getNDim() - 1))
+      .rowMajorData();
+    parallelFor(offsets.length, i -> data[offsets[i]] = zvalues[i]);
+  }
+
+  /**
+   * Scatter a value into the cells at a batch of coordinates.
+   *
+   * @param index the coordinate tensor, of shape {@code [..., ndim]}.
+   * @param value the value to write.
+   * @throws IndexOutOfBoundsException if any coordinates are out of bounds.
+   * @throws IllegalStateException if the tensor is read-only.
+   */
+  public void scatter_(@Nonnull ZTensorWrapper index, int value) {
+    scatter_(index, ZTensor.newScalar(value));
+  }
+
+  /**
+   * Select a list of indices along a dimension.
+   *
+   * <p>Returns a new tensor with the same shape as this tensor, except that dimension {@code dim}
+   * has size {@code indices.length}; and slice {@code k} along that dimension is a copy of slice
+   * {@code indices[k]} of this tensor. Indices may repeat, and support negative indexing.
+   *
+   * <pre>
+   * t = [[0, 1, 2],
+   *      [3, 4, 5]]
+   * t.indexSelect(1, 2, 0, 0) == [[2, 0, 0],
+   *                               [5, 3, 3]]
+   * </pre>
+   *
+   * @param dim the dimension to select along; supports negative indexing.
+   * @param indices the indices to select.
+   * @return a new tensor.
+   * @throws IndexOutOfBoundsException if any index is out of bounds.
+   */
+  @Nonnull
+  public ZTensor indexSelect(int dim, @Nonnull int... indices) {
+    var d = resolveDim(dim);
+    var resolved = new int[indices.length];
+    for (int k = 0; k < indices.length; ++k) {
+      resolved[k] = IndexingFns.resolveIndex("index", indices[k], shape[d]);
+    }
+
+    var newShape = shapeAsArray();
+    newShape[d] = indices.length;
+    var res = new ZTensor(newShape, BufferOwnership.REUSED);
+
+    int inner = 1;
+    for (int i = d + 1; i < shape.length; ++i) {
+      inner *= shape[i];
+    }
+    int blockStride = inner * indices.length;
+    int innerSize = inner;
+
+    // Each selected slice is walked once, and written to its blocks in the result.
+    parallelFor(
+      indices.length,
+      k -> {
+        var slice = selectDim(d, resolved[k]);
+        var pos = new int[] { k * innerSize };
+        var rem = new int[] { innerSize };
+        slice.forEachDataOffset(offset -> {
+          res.data[pos[0]++] = data[offset];
+          if (--rem[0] == 0) {
+            rem[0] = innerSize;
+            pos[0] += blockStride - innerSize;
+          }
+        });
+      },
+      res.size
+    );
+    return res;
+  }
+
+  /**
+   * Select a list of indices along a dimension.
+   *
+   * @param dim the dimension to select along; supports negative indexing.
+   * @param indices a 1-dim tensor of the indices to select.
+   * @return a new tensor.
+   * @throws IndexOutOfBoundsException if any index is out of bounds.
+   */
+  @Nonnull
+  public ZTensor indexSelect(int dim, @Nonnull ZTensorWrapper indices) {
+    return indexSelect(dim, indices.unwrap().toT1());
+  }
+
+  /**
+   * Compute the inclusive prefix scan of this tensor along a dimension.
+   *
+   * <p>Cell {@code k} along {@code dim} of the result is {@code op} folded over cells
+   * {@code [0, k]} along {@code dim} of this tensor. {@code op} must be associative; large scans
+   * are evaluated in parallel, in an unspecified grouping.
+   *
+   * @param dim the dimension to scan along; supports negative indexing.
+   * @param op the associative scan operation.
+   * @return a new tensor.
+   */
+  @Nonnull
+  public ZTensor scan(int dim, @Nonnull IntBinaryOperator op) {
+    return ScanOps.scan(this, dim, op);
+  }
+
+  /**
+   * Compute the cumulative sum of this tensor along a dimension.
+   *
+   * <pre>
+   * [[1, 2, 3], [4, 5, 6]].cumsum(1) == [[1, 3, 6], [4, 9, 15]]
+   * </pre>
+   *
+   * @param dim the dimension to scan along; supports negative indexing.
+   * @return a new tensor.
+   */
+  @Nonnull
+  public ZTensor cumsum(int dim) {
+    return ScanOps.cumsum(this, dim);
+  }
+
+  /**
+   * Compute the cumulative product of this tensor along a dimension.
+   *
+   * <pre>
+   * [[1, 2, 3], [4, 5, 6]].cumprod(1) == [[1, 2, 6], [4, 20, 120]]
+   * </pre>
+   *
+   * @param dim the dimension to scan along; supports negative indexing.
+   * @return a new tensor.
+   */
+  @Nonnull
+  public ZTensor cumprod(int dim) {
+    return ScanOps.cumprod(this, dim);
+  }
+
+  /**
+   * Compute the data offsets of a batch of coordinates.
+   *
+   * @param index the coordinate tensor, of shape {@code [..., ndim]}.
+   * @return the data offset of each coordinate row.
+   * @throws IndexOutOfBoundsException if any coordinates are out of bounds.
+   */
+  @Nonnull
+  private int[] ravelIndexRows(@Nonnull ZTensor index) {
+    var ndim = getNDim();
+    if (index.getNDim() == 0 || index.shape[index.getNDim() - 1] != ndim) {
+      throw new IllegalArgumentException(
+        "index shape %s is not a batch of coordinates for shape %s".formatted(
+            index.shapeAsList(),
+            shapeAsList()
+          )
+      );
+    }
+
+    var coords = index.rowMajorData();
+    var rows = IndexingFns.shapeToSize(IndexingFns.removeIdx(index.shape, index.getNDim() - 1));
+    var offsets = new int[rows];
+
+    parallelFor(
+      offsets.length,
+      row -> {
+        int base = row * ndim;
+        int offset = dataOffset;
+        for (int d = 0; d < ndim; ++d) {
+          int c = coords[base + d];
+          int k = shape[d];
+          if (c < 0) {
+            c += k;
+          }
+          if (c < 0 || c >= k) {
+            throw new IndexOutOfBoundsException(
+              "coords %s are out of bounds of shape %s".formatted(
+                  Arrays.toString(Arrays.copyOfRange(coords, base, base + ndim)),
+                  Arrays.toString(shape)
+                )
+            );
+          }
+          offset += c * stride[d];
+        }
+        offsets[row] = offset;
+      }
+    );
+    return offsets;
+  }
+
+  /**
+   * Visit the data offset of every cell, in row-major (coordinate iteration) order.
+   *
+   * @param consumer the offset consumer.
+   */
+  private void forEachDataOffset(@Nonnull IntConsumer consumer) {
+    if (size == 0) {
+      return;
+    }
+    int ndim = shape.length;
+    int[] coords = new int[ndim];
+    int offset = dataOffset;
+    for (int n = 0; n < size; ++n) {
+      consumer.accept(offset);
+      for (int d = ndim - 1; d >= 0; --d) {
+        if (++coords[d] < shape[d]) {
+          offset += stride[d];
+          break;
+        }
+        offset -= (shape[d] - 1) * stride[d];
+        coords[d] = 0;
+      }
+    }
+  }
+
+  /**
+   * Get the cell-values in row-major (coordinate iteration) order.
+   *
+   * <p>When this tensor is already laid out in row-major order, this returns the backing data
+   * array; callers must not modify the result.
+   *
+   * @return the cell-values.
+   */
+  @Nonnull
+  private int[] rowMajorData() {
+    if (
+      isCompact() &&
+      dataOffset == 0 &&
+      Arrays.equals(stride, IndexingFns.shapeToLfsStrides(shape))
+    ) {
+      return data;
+    }
+    var res = new int[size];
+    var pos = new int[] { 0 };
+    forEachDataOffset(offset -> res[pos[0]++] = data[offset]);
+    return res;
+  }
+
+  /**
+   * Run {@code body} for each index in {@code [0, n)}; in parallel when {@code n} is at least
+   * {@link #PARALLEL_THRESHOLD}.
+   *
+   * @param n the number of iterations.
+   * @param body the loop body.
+   */
+  private static void parallelFor(int n, @Nonnull IntConsumer body) {
+    parallelFor(n, body, n);
+  }
+
+  /**
+   * Run {@code body} for each index in {@code [0, n)}; in parallel when the total {@code work} is
+   * at least {@link #PARALLEL_THRESHOLD}.
+   *
+   * @param n the number of iterations.
+   * @param body the loop body.
+   * @param work the estimated total work, in cells.
+   */
+  private static void parallelFor(int n, @Nonnull IntConsumer body, int work) {
+    var range = IntStream.range(0, n);
+    if (n > 1 && work >= PARALLEL_THRESHOLD) {
+      range = range.parallel();
+    }
+    range.forEach(body);
+  }
+
   /**
    * Assign inplace from a tensor.
    *
@@ -1213,12 +1743,18 @@ public final class ZTensor
   /**
    * Convert this tensor to a flat Java array.
    *
+   * <p>The data is in row-major order, and is never shared with this tensor; so the result can be
+   * passed to {@link #newFromFlatArray_(FlatArray)} without cloning.
+   *
    * @return an FlatArray ( shape, data ) pair.
    */
   @Nonnull
-  FlatArray toFlatArray() {
-    var compact = asImmutable();
-    return new FlatArray(compact.shape, compact.data);
+  public FlatArray toFlatArray() {
+    var values = rowMajorData();
+    if (values == data) {
+      values = data.clone();
+    }
+    return new FlatArray(shape.clone(), values);
   }
 
   /**
@@ -2007,6 +2543,256 @@ public final class ZTensor
     }
   }
 
+  /**
+   * A precomputed, allocation-free accessor for the cells of a tensor of rank 0 to 4.
+   *
+   * <p>The shape, strides, and offset of the tensor are captured in final scalar fields when the
+   * indexer is created, so rank-specialized accessors reduce to a bounds check and a dot product
+   * which the JIT can inline into hot loops. Indexers are views; they share data with the source
+   * tensor.
+   *
+   * <p>Unlike {@link ZTensor#get(int...)}, indexer coordinates do not support negative indexing.
+   */
+  public static final class Indexer {
+
+    @Nonnull
+    private final int[] data;
+
+    private final boolean mutable;
+
+    @Getter
+    private final int nDim;
+
+    private final int offset;
+
+    private final int n0;
+    private final int n1;
+    private final int n2;
+    private final int n3;
+
+    private final int s0;
+    private final int s1;
+    private final int s2;
+    private final int s3;
+
+    private Indexer(@Nonnull ZTensor tensor) {
+      var shape = tensor.shape;
+      var stride = tensor.stride;
+      if (shape.length > 4) {
+        throw new IllegalArgumentException(
+          "Indexer supports at most 4 dimensions, found shape " + Arrays.toString(shape)
+        );
+      }
+      this.data = tensor.data;
+      this.mutable = tensor.mutable;
+      this.nDim = shape.length;
+      this.offset = tensor.dataOffset;
+      this.n0 = nDim > 0 ? shape[0] : 0;
+      this.n1 = nDim > 1 ? shape[1] : 0;
+      this.n2 = nDim > 2 ? shape[2] : 0;
+      this.n3 = nDim > 3 ? shape[3] : 0;
+      this.s0 = nDim > 0 ? stride[0] : 0;
+      this.s1 = nDim > 1 ? stride[1] : 0;
+      this.s2 = nDim > 2 ? stride[2] : 0;
+      this.s3 = nDim > 3 ? stride[3] : 0;
+    }
+
+    private void checkNDim(int expected) {
+      if (nDim != expected) {
+        HasDimension.assertNDim(nDim, expected);
+      }
+    }
+
+    private void checkMutable() {
+      if (!mutable) {
+        throw new IllegalStateException("tensor is immutable");
+      }
+    }
+
+    /**
+     * Compute the data offset of a cell of a 1-dim tensor.
+     *
+     * @param i the coordinate.
+     * @return the data offset.
+     */
+    public int offset1(int i) {
+      checkNDim(1);
+      return offset + Objects.checkIndex(i, n0) * s0;
+    }
+
+    /**
+     * Compute the data offset of a cell of a 2-dim tensor.
+     *
+     * @param i the first coordinate.
+     * @param j the second coordinate.
+     * @return the data offset.
+     */
+    public int offset2(int i, int j) {
+      checkNDim(2);
+      return offset + Objects.checkIndex(i, n0) * s0 + Objects.checkIndex(j, n1) * s1;
+    }
+
+    /**
+     * Compute the data offset of a cell of a 3-dim tensor.
+     *
+     * @param i the first coordinate.
+     * @param j the second coordinate.
+     * @param k the third coordinate.
+     * @return the data offset.
+     */
+    public int offset3(int i, int j, int k) {
+      checkNDim(3);
+      return (
+        offset +
+        Objects.checkIndex(i, n0) * s0 +
+        Objects.checkIndex(j, n1) * s1 +
+        Objects.checkIndex(k, n2) * s2
+      );
+    }
+
+    /**
+     * Compute the data offset of a cell of a 4-dim tensor.
+     *
+     * @param i the first coordinate.
+     * @param j the second coordinate.
+     * @param k the third coordinate.
+     * @param l the fourth coordinate.
+     * @return the data offset.
+     */
+    public int offset4(int i, int j, int k, int l) {
+      checkNDim(4);
+      return (
+        offset +
+        Objects.checkIndex(i, n0) * s0 +
+        Objects.checkIndex(j, n1) * s1 +
+        Objects.checkIndex(k, n2) * s2 +
+        Objects.checkIndex(l, n3) * s3
+      );
+    }
+
+    /**
+     * Get the cell-value of a 0-dim tensor.
+     *
+     * @return the cell value.
+     */
+    public int get0() {
+      checkNDim(0);
+      return data[offset];
+    }
+
+    /**
+     * Get the cell-value of a 1-dim tensor.
+     *
+     * @param i the coordinate.
+     * @return the cell value.
+     */
+    public int get1(int i) {
+      return data[offset1(i)];
+    }
+
+    /**
+     * Get the cell-value of a 2-dim tensor.
+     *
+     * @param i the first coordinate.
+     * @param j the second coordinate.
+     * @return the cell value.
+     */
+    public int get2(int i, int j) {
+      return data[offset2(i, j)];
+    }
+
+    /**
+     * Get the cell-value of a 3-dim tensor.
+     *
+     * @param i the first coordinate.
+     * @param j the second coordinate.
+     * @param k the third coordinate.
+     * @return the cell value.
+     */
+    public int get3(int i, int j, int k) {
+      return data[offset3(i, j, k)];
+    }
+
+    /**
+     * Get the cell-value of a 4-dim tensor.
+     *
+     * @param i the first coordinate.
+     * @param j the second coordinate.
+     * @param k the third coordinate.
+     * @param l the fourth coordinate.
+     * @return the cell value.
+     */
+    public int get4(int i, int j, int k, int l) {
+      return data[offset4(i, j, k, l)];
+    }
+
+    /**
+     * Set the cell-value of a 0-dim tensor.
+     *
+     * @param value the value to set.
+     * @throws IllegalStateException if the tensor is read-only.
+     */
+    public void set0(int value) {
+      checkMutable();
+      checkNDim(0);
+      data[offset] = value;
+    }
+
+    /**
+     * Set the cell-value of a 1-dim tensor.
+     *
+     * @param i the coordinate.
+     * @param value the value to set.
+     * @throws IllegalStateException if the tensor is read-only.
+     */
+    public void set1(int i, int value) {
+      checkMutable();
+      data[offset1(i)] = value;
+    }
+
+    /**
+     * Set the cell-value of a 2-dim tensor.
+     *
+     * @param i the first coordinate.
+     * @param j the second coordinate.
+     * @param value the value to set.
+     * @throws IllegalStateException if the tensor is read-only.
+     */
+    public void set2(int i, int j, int value) {
+      checkMutable();
+      data[offset2(i, j)] = value;
+    }
+
+    /**
+     * Set the cell-value of a 3-dim tensor.
+     *
+     * @param i the first coordinate.
+     * @param j the second coordinate.
+     * @param k the third coordinate.
+     * @param value the value to set.
+     * @throws IllegalStateException if the tensor is read-only.
+     */
+    public void set3(int i, int j, int k, int value) {
+      checkMutable();
+      data[offset3(i, j, k)] = value;
+    }
+
+    /**
+     * Set the cell-value of a 4-dim tensor.
+     *
+     * @param i the first coordinate.
+     * @param j the second coordinate.
+     * @param k the third coordinate.
+     * @param l the fourth coordinate.
+     * @param value the value to set.
+     * @throws IllegalStateException if the tensor is read-only.
+     */
+    public void set4(int i, int j, int k, int l, int value) {
+      checkMutable();
+      data[offset4(i, j, k, l)] = value;
+    }
+  }
+
   /**
    * Returns the sum of all elements in the tensor.
    *
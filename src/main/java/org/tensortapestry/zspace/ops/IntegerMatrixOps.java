@@ -0,0 +1,484 @@
+package org.tensortapestry.zspace.ops;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.experimental.UtilityClass;
+import org.tensortapestry.zspace.ZMatrix;
+import org.tensortapestry.zspace.ZTensor;
+import org.tensortapestry.zspace.ZTensorWrapper;
+
+/**
+ * Exact integer linear algebra over ZTensor matrices.
+ *
+ * <p>All intermediate values are held as {@code long}, and every arithmetic step is overflow
+ * checked; an {@link ArithmeticException} is thrown if an intermediate value, or a result value,
+ * does not fit.
+ */
+@UtilityClass
+public class IntegerMatrixOps {
+
+  /**
+   * The Hermite normal form of a matrix.
+   *
+   * <p>{@code u * matrix = h}, where {@code u} is unimodular and {@code h} is in row-style Hermite
+   * normal form: the nonzero rows precede the zero rows; the pivot (first nonzero entry) of each
+   * nonzero row is positive, and strictly to the right of the pivot of the row above; and the
+   * entries above each pivot lie in {@code [0, pivot)}.
+   */
+  @Value
+  public static class HermiteForm {
+
+    /**
+     * The Hermite normal form, with the shape of the source matrix.
+     */
+    @Nonnull
+    ZMatrix h;
+
+    /**
+     * The unimodular row transform, {@code [rows, rows]}.
+     */
+    @Nonnull
+    ZMatrix u;
+
+    /**
+     * The pivot column of each nonzero row of {@code h}; the length is the rank.
+     */
+    @Nonnull
+    int[] pivots;
+
+    /**
+     * Get the rank of the source matrix.
+     *
+     * @return the rank.
+     */
+    public int getRank() {
+      return pivots.length;
+    }
+  }
+
+  /**
+   * The Smith normal form of a matrix.
+   *
+   * <p>{@code u * matrix * v = s}, where {@code u} and {@code v} are unimodular and {@code s} is
+   * diagonal, with non-negative diagonal entries where each entry divides the next.
+   */
+  @Value
+  public static class SmithForm {
+
+    /**
+     * The Smith normal form, with the shape of the source matrix.
+     */
+    @Nonnull
+    ZMatrix s;
+
+    /**
+     * The unimodular row transform, {@code [rows, rows]}.
+     */
+    @Nonnull
+    ZMatrix u;
+
+    /**
+     * The unimodular column transform, {@code [cols, cols]}.
+     */
+    @Nonnull
+    ZMatrix v;
+
+    /**
+     * Get the nonzero invariant factors of the source matrix.
+     *
+     * @return the invariant factors; the length is the rank.
+     */
+    @Nonnull
+    public int[] getInvariantFactors() {
+      int n = Math.min(s.rows(), s.cols());
+      int rank = 0;
+      while (rank < n && s.get(rank, rank) != 0) {
+        rank++;
+      }
+      var factors = new int[rank];
+      for (int i = 0; i < rank; ++i) {
+        factors[i] = s.get(i, i);
+      }
+      return factors;
+    }
+  }
+
+  /**
+   * Compute the rank of a matrix.
+   *
+   * @param matrix the matrix.
+   * @return the rank.
+   */
+  public int rank(@Nonnull ZTensorWrapper matrix) {
+    var a = toLongArray(matrix);
+    return hermite(a, null).length;
+  }
+
+  /**
+   * Compute the Hermite normal form of a matrix.
+   *
+   * @param matrix the matrix.
+   * @return the Hermite normal form and transform.
+   */
+  @Nonnull
+  public HermiteForm hermiteNormalForm(@Nonnull ZTensorWrapper matrix) {
+    var a = toLongArray(matrix);
+    var u = identity(a.length);
+    var pivots = hermite(a, u);
+    return new HermiteForm(toZMatrix(a, matrix.unwrap().shape(1)), toZMatrix(u, a.length), pivots);
+  }
+
+  /**
+   * Compute the Smith normal form of a matrix.
+   *
+   * @param matrix the matrix.
+   * @return the Smith normal form and transforms.
+   */
+  @Nonnull
+  public SmithForm smithNormalForm(@Nonnull ZTensorWrapper matrix) {
+    var a = toLongArray(matrix);
+    int rows = a.length;
+    int cols = matrix.unwrap().shape(1);
+    var u = identity(rows);
+    var v = identity(cols);
+
+    for (int t = 0; t < Math.min(rows, cols); ++t) {
+      if (!smithPivot(a, u, v, t, rows, cols)) {
+        break;
+      }
+    }
+
+    return new SmithForm(toZMatrix(a, cols), toZMatrix(u, rows), toZMatrix(v, cols));
+  }
+
+  /**
+   * Compute an integer basis of the kernel of a matrix.
+   *
+   * <p>Every integer solution of {@code matrix * x = 0} is an integer combination of the basis.
+   *
+   * @param matrix the {@code [rows, cols]} matrix.
+   * @return a {@code [cols, cols - rank]} matrix, whose columns are the basis vectors.
+   */
+  @Nonnull
+  public ZMatrix kernel(@Nonnull ZTensorWrapper matrix) {
+    // u * A^T = h; the rows of u paired with the zero rows of h satisfy A * x = 0.
+    var at = toLongArray(matrix.unwrap().transpose(0, 1));
+    int cols = at.length;
+    var u = identity(cols);
+    int rank = hermite(at, u).length;
+
+    var basis = new long[cols][cols - rank];
+    for (int k = 0; k < cols - rank; ++k) {
+      for (int i = 0; i < cols; ++i) {
+        basis[i][k] = u[rank + k][i];
+      }
+    }
+    return toZMatrix(basis, cols - rank);
+  }
+
+  /**
+   * Find an integer solution of {@code matrix * x = b}.
+   *
+   * <p>When the system has integer solutions, the general solution is the returned solution plus
+   * any integer combination of the {@link #kernel(ZTensorWrapper)} basis.
+   *
+   * @param matrix the {@code [rows, cols]} matrix.
+   * @param b the {@code [rows]} target vector.
+   * @return a {@code [cols]} integer solution, or {@code null} if there is none.
+   */
+  @Nullable public ZTensor solve(@Nonnull ZTensorWrapper matrix, @Nonnull ZTensorWrapper b) {
+    var zmatrix = matrix.unwrap();
+    var zb = b.unwrap();
+    zmatrix.assertNDim(2);
+    zb.assertNDim(1);
+    int rows = zmatrix.shape(0);
+    int cols = zmatrix.shape(1);
+    if (zb.shape(0) != rows) {
+      throw new IllegalArgumentException(
+        "matrix shape %s not compatible with b shape %s".formatted(
+            zmatrix.shapeAsList(),
+            zb.shapeAsList()
+          )
+      );
+    }
+
+    // u * A^T = h, so A * u^T = h^T, which is column echelon; solve h^T * y = b, x = u^T * y.
+    var h = toLongArray(zmatrix.transpose(0, 1));
+    var u = identity(cols);
+    var pivots = hermite(h, u);
+    var target = zb.indexer();
+
+    var y = new long[pivots.length];
+    for (int i = 0; i < pivots.length; ++i) {
+      int p = pivots[i];
+      long rem = target.get1(p);
+      for (int j = 0; j < i; ++j) {
+        rem = Math.subtractExact(rem, Math.multiplyExact(h[j][p], y[j]));
+      }
+      if (rem % h[i][p] != 0) {
+        return null;
+      }
+      y[i] = rem / h[i][p];
+    }
+
+    var x = new long[cols];
+    for (int i = 0; i < pivots.length; ++i) {
+      for (int k = 0; k < cols; ++k) {
+        x[k] = Math.addExact(x[k], Math.multiplyExact(u[i][k], y[i]));
+      }
+    }
+
+    // The non-pivot rows are not constrained by the echelon solve; check them all.
+    var a = zmatrix.indexer();
+    for (int r = 0; r < rows; ++r) {
+      long acc = 0;
+      for (int k = 0; k < cols; ++k) {
+        acc = Math.addExact(acc, Math.multiplyExact((long) a.get2(r, k), x[k]));
+      }
+      if (acc != target.get1(r)) {
+        return null;
+      }
+    }
+
+    var res = new int[cols];
+    for (int k = 0; k < cols; ++k) {
+      res[k] = Math.toIntExact(x[k]);
+    }
+    return ZTensor.newVector(res);
+  }
+
+  /**
+   * In-place row-style Hermite normal form.
+   *
+   * @param a the matrix, reduced in place.
+   * @param u if non-null, the row transform, updated in place.
+   * @return the pivot columns.
+   */
+  @Nonnull
+  private int[] hermite(@Nonnull long[][] a, @Nullable long[][] u) {
+    int rows = a.length;
+    int cols = rows == 0 ? 0 : a[0].length;
+    var pivots = new int[Math.min(rows, cols)];
+    int r = 0;
+    for (int c = 0; c < cols && r < rows; ++c) {
+      // Euclid over the column, below the current row.
+      while (true) {
+        int best = -1;
+        for (int i = r; i < rows; ++i) {
+          if (a[i][c] != 0 && (best < 0 || Math.abs(a[i][c]) < Math.abs(a[best][c]))) {
+            best = i;
+          }
+        }
+        if (best < 0) {
+          break;
+        }
+        swapRows(a, u, r, best);
+        boolean done = true;
+        for (int i = r + 1; i < rows; ++i) {
+          if (a[i][c] != 0) {
+            addRowMultiple(a, u, i, r, -Math.floorDiv(a[i][c], a[r][c]));
+            done &= a[i][c] == 0;
+          }
+        }
+        if (done) {
+          break;
+        }
+      }
+      if (a[r][c] == 0) {
+        continue;
+      }
+      if (a[r][c] < 0) {
+        negateRow(a, u, r);
+      }
+      for (int i = 0; i < r; ++i) {
+        long q = Math.floorDiv(a[i][c], a[r][c]);
+        if (q != 0) {
+          addRowMultiple(a, u, i, r, -q);
+        }
+      }
+      pivots[r++] = c;
+    }
+    return Arrays.copyOf(pivots, r);
+  }
+
+  /**
+   * Establish the {@code t}-th Smith diagonal entry.
+   *
+   * @return false if the remaining sub-matrix is zero.
+   */
+  private boolean smithPivot(
+    @Nonnull long[][] a,
+    @Nonnull long[][] u,
+    @Nonnull long[][] v,
+    int t,
+    int rows,
+    int cols
+  ) {
+    while (true) {
+      // Move the smallest nonzero entry of the sub-matrix to (t, t).
+      int bi = -1;
+      int bj = -1;
+      for (int i = t; i < rows; ++i) {
+        for (int j = t; j < cols; ++j) {
+          if (a[i][j] != 0 && (bi < 0 || Math.abs(a[i][j]) < Math.abs(a[bi][bj]))) {
+            bi = i;
+            bj = j;
+          }
+        }
+      }
+      if (bi < 0) {
+        return false;
+      }
+      swapRows(a, u, t, bi);
+      swapCols(a, v, t, bj);
+
+      long p = a[t][t];
+      boolean clean = true;
+      for (int i = t + 1; i < rows; ++i) {
+        if (a[i][t] != 0) {
+          addRowMultiple(a, u, i, t, -Math.floorDiv(a[i][t], p));
+          clean &= a[i][t] == 0;
+        }
+      }
+      for (int j = t + 1; j < cols; ++j) {
+        if (a[t][j] != 0) {
+          addColMultiple(a, v, j, t, -Math.floorDiv(a[t][j], p));
+          clean &= a[t][j] == 0;
+        }
+      }
+      if (!clean) {
+        continue;
+      }
+
+      // The pivot must divide the rest of the sub-matrix; if not, fold the offending row in.
+      int bad = -1;
+      for (int i = t + 1; i < rows && bad < 0; ++i) {
+        for (int j = t + 1; j < cols; ++j) {
+          if (a[i][j] % p != 0) {
+            bad = i;
+            break;
+          }
+        }
+      }
+      if (bad >= 0) {
+        addRowMultiple(a, u, t, bad, 1);
+        continue;
+      }
+
+      if (p < 0) {
+        negateRow(a, u, t);
+      }
+      return true;
+    }
+  }
+
+  private void swapRows(@Nonnull long[][] a, @Nullable long[][] u, int i, int j) {
+    if (i == j) {
+      return;
+    }
+    var tmp = a[i];
+    a[i] = a[j];
+    a[j] = tmp;
+    if (u != null) {
+      tmp = u[i];
+      u[i] = u[j];
+      u[j] = tmp;
+    }
+  }
+
+  private void swapCols(@Nonnull long[][] a, @Nonnull long[][] v, int i, int j) {
+    if (i == j) {
+      return;
+    }
+    for (var row : a) {
+      var tmp = row[i];
+      row[i] = row[j];
+      row[j] = tmp;
+    }
+    for (var row : v) {
+      var tmp = row[i];
+      row[i] = row[j];
+      row[j] = tmp;
+    }
+  }
+
+  /**
+   * {@code row[dst] += k * row[src]}.
+   */
+  private void addRowMultiple(@Nonnull long[][] a, @Nullable long[][] u, int dst, int src, long k) {
+    axpy(a[dst], a[src], k);
+    if (u != null) {
+      axpy(u[dst], u[src], k);
+    }
+  }
+
+  /**
+   * {@code col[dst] += k * col[src]}.
+   */
+  private void addColMultiple(@Nonnull long[][] a, @Nonnull long[][] v, int dst, int src, long k) {
+    for (var row : a) {
+      row[dst] = Math.addExact(row[dst], Math.multiplyExact(k, row[src]));
+    }
+    for (var row : v) {
+      row[dst] = Math.addExact(row[dst], Math.multiplyExact(k, row[src]));
+    }
+  }
+
+  private void negateRow(@Nonnull long[][] a, @Nullable long[][] u, int i) {
+    negate(a[i]);
+    if (u != null) {
+      negate(u[i]);
+    }
+  }
+
+  private void negate(@Nonnull long[] row) {
+    for (int j = 0; j < row.length; ++j) {
+      row[j] = Math.negateExact(row[j]);
+    }
+  }
+
+  private void axpy(@Nonnull long[] dst, @Nonnull long[] src, long k) {
+    for (int j = 0; j < dst.length; ++j) {
+      dst[j] = Math.addExact(dst[j], Math.multiplyExact(k, src[j]));
+    }
+  }
+
+  @Nonnull
+  private long[][] identity(int n) {
+    var res = new long[n][n];
+    for (int i = 0; i < n; ++i) {
+      res[i][i] = 1;
+    }
+    return res;
+  }
+
+  @Nonnull
+  private long[][] toLongArray(@Nonnull ZTensorWrapper matrix) {
+    var zmatrix = matrix.unwrap();
+    zmatrix.assertNDim(2);
+    var idx = zmatrix.indexer();
+    int rows = zmatrix.shape(0);
+    int cols = zmatrix.shape(1);
+    var res = new long[rows][cols];
+    for (int i = 0; i < rows; ++i) {
+      for (int j = 0; j < cols; ++j) {
+        res[i][j] = idx.get2(i, j);
+      }
+    }
+    return res;
+  }
+
+  @Nonnull
+  private ZMatrix toZMatrix(@Nonnull long[][] a, int cols) {
+    var res = ZTensor.newZeros(a.length, cols);
+    var idx = res.indexer();
+    for (int i = 0; i < a.length; ++i) {
+      for (int j = 0; j < cols; ++j) {
+        idx.set2(i, j, Math.toIntExact(a[i][j]));
+      }
+    }
+    return new ZMatrix(res);
+  }
+}
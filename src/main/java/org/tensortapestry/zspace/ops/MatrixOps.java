@@ -44,17 +44,21 @@ public class MatrixOps {
       zrhs = zrhs.unsqueeze(1);
     }
 
-    var res = ZTensor.newZeros(zlhs.shape(0), zrhs.shape(1));
-    var coords = new int[2];
-    for (int i = 0; i < zlhs.shape(0); ++i) {
-      coords[0] = i;
-      for (int j = 0; j < zrhs.shape(1); ++j) {
-        coords[1] = j;
+    int rows = zlhs.shape(0);
+    int cols = zrhs.shape(1);
+    int inner = zlhs.shape(1);
+
+    var res = ZTensor.newZeros(rows, cols);
+    var a = zlhs.indexer();
+    var b = zrhs.indexer();
+    var r = res.indexer();
+    for (int i = 0; i < rows; ++i) {
+      for (int j = 0; j < cols; ++j) {
         int sum = 0;
-        for (int k = 0; k < zlhs.shape(1); ++k) {
-          sum += zlhs.get(i, k) * zrhs.get(k, j);
+        for (int k = 0; k < inner; ++k) {
+          sum += a.get2(i, k) * b.get2(k, j);
         }
-        res.set(coords, sum);
+        r.set2(i, j, sum);
       }
     }
 
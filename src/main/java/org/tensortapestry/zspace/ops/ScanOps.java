@@ -0,0 +1,244 @@
+package org.tensortapestry.zspace.ops;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import lombok.experimental.UtilityClass;
+import org.tensortapestry.zspace.ZTensor;
+import org.tensortapestry.zspace.ZTensorWrapper;
+
+/**
+ * ZTensor prefix-scan operations.
+ *
+ * <p>Scans are computed over a row-major copy of the source tensor. Small scans use a tight
+ * sequential loop; scans of at least {@link ZTensor#PARALLEL_THRESHOLD} cells are split into
+ * independent blocks, which are scanned in parallel and then offset by the scanned block totals.
+ * This is the blocked form of the work-efficient (Blelloch) scan: each cell is visited at most
+ * twice, and only the per-block carries are combined sequentially.
+ */
+@UtilityClass
+@SuppressWarnings("MemberName")
+public class ScanOps {
+
+  /**
+   * Compute the inclusive prefix scan of a tensor along a dimension.
+   *
+   * @param tensor the tensor.
+   * @param dim the dimension to scan along; supports negative indexing.
+   * @param op the associative scan operation.
+   * @return a new tensor.
+   */
+  @Nonnull
+  public ZTensor scan(@Nonnull ZTensorWrapper tensor, int dim, @Nonnull IntBinaryOperator op) {
+    var ztensor = tensor.unwrap();
+    int d = ztensor.resolveDim(dim);
+    var flat = ztensor.toFlatArray();
+    var shape = flat.getShape();
+
+    int outer = 1;
+    for (int i = 0; i < d; ++i) {
+      outer *= shape[i];
+    }
+    int inner = 1;
+    for (int i = d + 1; i < shape.length; ++i) {
+      inner *= shape[i];
+    }
+
+    scanLines_(flat.getData(), outer, shape[d], inner, op);
+    return ZTensor.newFromFlatArray_(flat);
+  }
+
+  /**
+   * Compute the cumulative sum of a tensor along a dimension.
+   *
+   * @param tensor the tensor.
+   * @param dim the dimension to scan along; supports negative indexing.
+   * @return a new tensor.
+   */
+  @Nonnull
+  public ZTensor cumsum(@Nonnull ZTensorWrapper tensor, int dim) {
+    return scan(tensor, dim, Integer::sum);
+  }
+
+  /**
+   * Compute the cumulative product of a tensor along a dimension.
+   *
+   * @param tensor the tensor.
+   * @param dim the dimension to scan along; supports negative indexing.
+   * @return a new tensor.
+   */
+  @Nonnull
+  public ZTensor cumprod(@Nonnull ZTensorWrapper tensor, int dim) {
+    return scan(tensor, dim, (a, b) -> a * b);
+  }
+
+  /**
+   * In-place inclusive prefix scan of an array.
+   *
+   * @param data the array to scan.
+   * @param op the associative scan operation.
+   */
+  public void scan_(@Nonnull int[] data, @Nonnull IntBinaryOperator op) {
+    scanLines_(data, 1, data.length, 1, op);
+  }
+
+  /**
+   * In-place inclusive prefix sum of an array.
+   *
+   * <pre>
+   * cumsum_([2, 3, 4]) => [2, 5, 9]
+   * </pre>
+   *
+   * @param data the array to scan.
+   */
+  public void cumsum_(@Nonnull int[] data) {
+    scan_(data, Integer::sum);
+  }
+
+  /**
+   * In-place inclusive prefix scan of the lines of a row-major {@code [outer, length, inner]}
+   * array, along the middle dimension.
+   *
+   * @param data the array.
+   * @param outer the product of the dimensions before the scan dimension.
+   * @param length the size of the scan dimension.
+   * @param inner the product of the dimensions after the scan dimension.
+   * @param op the associative scan operation.
+   */
+  void scanLines_(
+    @Nonnull int[] data,
+    int outer,
+    int length,
+    int inner,
+    @Nonnull IntBinaryOperator op
+  ) {
+    long size = (long) outer * length * inner;
+    if (length < 2 || size == 0) {
+      return;
+    }
+
+    if (size < ZTensor.PARALLEL_THRESHOLD) {
+      for (int o = 0; o < outer; ++o) {
+        scanRows(data, o * length * inner, length, inner, 0, inner, op);
+      }
+      return;
+    }
+
+    int parallelism = ForkJoinPool.getCommonPoolParallelism();
+    int lines = outer * inner;
+    if (lines < parallelism && length >= ZTensor.PARALLEL_THRESHOLD / 4) {
+      // Few, long lines: split each line into blocks.
+      for (int o = 0; o < outer; ++o) {
+        for (int i = 0; i < inner; ++i) {
+          blockedScan(data, o * length * inner + i, inner, length, op, parallelism);
+        }
+      }
+      return;
+    }
+
+    // Many lines: scan independent column blocks of the rows in parallel.
+    int columnBlock = Math.max(1, Math.min(inner, ZTensor.PARALLEL_THRESHOLD / length));
+    int columnBlocks = (inner + columnBlock - 1) / columnBlock;
+    int cb = columnBlock;
+    IntStream
+      .range(0, outer * columnBlocks)
+      .parallel()
+      .forEach(task -> {
+        int o = task / columnBlocks;
+        int from = (task % columnBlocks) * cb;
+        scanRows(data, o * length * inner, length, inner, from, Math.min(inner, from + cb), op);
+      });
+  }
+
+  /**
+   * Sequentially scan columns {@code [from, to)} of a row-major {@code [length, inner]} block.
+   *
+   * @param data the array.
+   * @param base the offset of the block.
+   * @param length the number of rows.
+   * @param inner the row width.
+   * @param from the first column.
+   * @param to the end column, exclusive.
+   * @param op the scan operation.
+   */
+  private void scanRows(
+    @Nonnull int[] data,
+    int base,
+    int length,
+    int inner,
+    int from,
+    int to,
+    @Nonnull IntBinaryOperator op
+  ) {
+    for (int l = 1; l < length; ++l) {
+      int prev = base + (l - 1) * inner;
+      int cur = prev + inner;
+      for (int i = from; i < to; ++i) {
+        data[cur + i] = op.applyAsInt(data[prev + i], data[cur + i]);
+      }
+    }
+  }
+
+  /**
+   * Parallel blocked scan of a single strided line.
+   *
+   * <ol>
+   *   <li>each block is scanned locally, in parallel;
+   *   <li>the block totals are scanned sequentially into per-block carries;
+   *   <li>each block after the first is offset by its carry, in parallel.
+   * </ol>
+   *
+   * @param data the array.
+   * @param base the offset of the first cell.
+   * @param step the distance between cells.
+   * @param length the number of cells.
+   * @param op the associative scan operation.
+   * @param parallelism the target parallelism.
+   */
+  private void blockedScan(
+    @Nonnull int[] data,
+    int base,
+    int step,
+    int length,
+    @Nonnull IntBinaryOperator op,
+    int parallelism
+  ) {
+    int blocks = Math.max(1, Math.min(4 * parallelism, length / 1024));
+    int blockSize = (length + blocks - 1) / blocks;
+    int numBlocks = (length + blockSize - 1) / blockSize;
+
+    IntStream
+      .range(0, numBlocks)
+      .parallel()
+      .forEach(b -> {
+        int start = b * blockSize;
+        int end = Math.min(length, start + blockSize);
+        int pos = base + start * step;
+        int acc = data[pos];
+        for (int k = start + 1; k < end; ++k) {
+          pos += step;
+          acc = op.applyAsInt(acc, data[pos]);
+          data[pos] = acc;
+        }
+      });
+
+    var carries = new int[numBlocks];
+    for (int b = 1; b < numBlocks; ++b) {
+      int total = data[base + (Math.min(length, b * blockSize) - 1) * step];
+      carries[b] = b == 1 ? total : op.applyAsInt(carries[b - 1], total);
+    }
+
+    IntStream
+      .range(1, numBlocks)
+      .parallel()
+      .forEach(b -> {
+        int carry = carries[b];
+        int start = b * blockSize;
+        int end = Math.min(length, start + blockSize);
+        for (int k = start, pos = base + start * step; k < end; ++k, pos += step) {
+          data[pos] = op.applyAsInt(carry, data[pos]);
+        }
+      });
+  }
+}
@@ -1,9 +1,15 @@
 package org.tensortapestry.common.json;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.Builder;
 import lombok.Data;
 import lombok.Value;
@@ -107,4 +113,178 @@ public class JsonViewWrapperTest implements CommonAssertions, JsonUtil.WithNodeB
         "Failed to convert <{\n  \"data\" : [ 1, 2, 3 ]\n}> to class java.lang.Float"
       );
   }
+
+  @Test
+  public void test_view_caching() {
+    var example = Example.builder().data(List.of(1, 2, 3)).build();
+    var wrapper = JsonViewWrapper.of(example);
+
+    JsonViewWrapper.resetConversionStats();
+
+    // The original value is its own typed view.
+    assertThat(wrapper.viewAs(Example.class)).isSameAs(example);
+
+    // Alternating views convert once each, and do not evict each other.
+    var tree = wrapper.viewAsJsonNode();
+    var map = wrapper.viewAs(Map.class);
+    for (int i = 0; i < 3; ++i) {
+      assertThat(wrapper.viewAsJsonNode()).isSameAs(tree);
+      assertThat(wrapper.viewAs(Example.class)).isSameAs(example);
+      assertThat(wrapper.viewAs(Map.class)).isSameAs(map);
+      assertThat(wrapper.hashCode()).isEqualTo(tree.hashCode());
+    }
+    assertThat(JsonViewWrapper.getConversionStats())
+      .isEqualTo(new JsonViewWrapper.ConversionStats(1, 1));
+
+    // Replacing the value invalidates all views.
+    var other = Example.builder().data(List.of(4, 5)).build();
+    wrapper.setValue(other);
+    assertThat(wrapper.viewAs(Example.class)).isSameAs(other);
+    assertThat(wrapper.viewAs(Map.class)).isEqualTo(Map.of("data", List.of(4, 5)));
+    assertThat(JsonViewWrapper.getConversionStats())
+      .isEqualTo(new JsonViewWrapper.ConversionStats(2, 2));
+    assertJsonEquals(wrapper, "{\"data\":[4,5]}");
+  }
+
+  @Test
+  public void test_concurrent_views() throws Exception {
+    int threads = 8;
+    var pool = Executors.newFixedThreadPool(threads);
+    try {
+      for (int round = 0; round < 50; ++round) {
+        var wrapper = JsonViewWrapper.of(Example.builder().data(List.of(round)).build());
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<List<Object>>>();
+        for (int t = 0; t < threads; ++t) {
+          futures.add(
+            pool.submit(() -> {
+              start.await();
+              return List.of(
+                wrapper.viewAsJsonNode(),
+                wrapper.viewAs(Map.class),
+                wrapper.viewAs(Example.class)
+              );
+            })
+          );
+        }
+        start.countDown();
+
+        // Every thread observes the same published views.
+        var first = futures.getFirst().get();
+        for (var future : futures) {
+          var views = future.get();
+          for (int i = 0; i < views.size(); ++i) {
+            assertThat(views.get(i)).isSameAs(first.get(i));
+          }
+        }
+        assertThat(first.get(1)).isEqualTo(Map.of("data", List.of(round)));
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Held by each {@code Gated*} conversion until every thread has converted, so that all threads
+   * race to publish at once.
+   */
+  private static volatile CountDownLatch gate = new CountDownLatch(0);
+
+  private static void awaitGate() {
+    var latch = gate;
+    latch.countDown();
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public record GatedA(List<Integer> data) {
+    public GatedA {
+      awaitGate();
+    }
+  }
+
+  public record GatedB(List<Integer> data) {
+    public GatedB {
+      awaitGate();
+    }
+  }
+
+  public record GatedC(List<Integer> data) {
+    public GatedC {
+      awaitGate();
+    }
+  }
+
+  public record GatedD(List<Integer> data) {
+    public GatedD {
+      awaitGate();
+    }
+  }
+
+  @Test
+  public void test_concurrent_distinct_views() throws Exception {
+    // Losing the publish race to a view of another class must not convert again.
+    var classes = List.of(GatedA.class, GatedB.class, GatedC.class, GatedD.class);
+    var pool = Executors.newFixedThreadPool(classes.size());
+    try {
+      for (int round = 0; round < 50; ++round) {
+        var wrapper = JsonViewWrapper.of(Example.builder().data(List.of(round)).build());
+        wrapper.viewAsJsonNode();
+        gate = new CountDownLatch(classes.size());
+        JsonViewWrapper.resetConversionStats();
+
+        var futures = new ArrayList<Future<?>>();
+        for (var clazz : classes) {
+          futures.add(pool.submit(() -> wrapper.viewAs(clazz)));
+        }
+        for (var future : futures) {
+          future.get();
+        }
+
+        assertThat(JsonViewWrapper.getConversionStats())
+          .isEqualTo(new JsonViewWrapper.ConversionStats(0, classes.size()));
+      }
+    } finally {
+      gate = new CountDownLatch(0);
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void test_concurrent_setValue() throws Exception {
+    var a = Example.builder().data(List.of(1)).build();
+    var b = Example.builder().data(List.of(2)).build();
+    var wrapper = JsonViewWrapper.of(a);
+
+    var pool = Executors.newFixedThreadPool(4);
+    try {
+      var done = new AtomicBoolean(false);
+      var readers = new ArrayList<Future<?>>();
+      for (int t = 0; t < 3; ++t) {
+        readers.add(
+          pool.submit(() -> {
+            while (!done.get()) {
+              // Views always belong to one of the values, never to a mix.
+              var data = wrapper.viewAs(Map.class).get("data");
+              assertThat(data).isIn(List.of(1), List.of(2));
+              assertThat(wrapper.viewAs(Example.class)).isIn(a, b);
+            }
+          })
+        );
+      }
+      for (int i = 0; i < 2000; ++i) {
+        wrapper.setValue(i % 2 == 0 ? b : a);
+      }
+      done.set(true);
+      for (var reader : readers) {
+        reader.get();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+    assertThat(wrapper.viewAs(Example.class)).isSameAs(a);
+  }
 }
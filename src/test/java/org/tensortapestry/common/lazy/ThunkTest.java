@@ -1,5 +1,10 @@
 package org.tensortapestry.common.lazy;
 
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.tensortapestry.common.testing.CommonAssertions;
 
@@ -31,4 +36,36 @@ public class ThunkTest implements CommonAssertions {
       .isThrownBy(t::get)
       .withMessageContaining("boo");
   }
+
+  @Test
+  public void test_concurrent() throws Exception {
+    int threads = 8;
+    var pool = Executors.newFixedThreadPool(threads);
+    try {
+      for (int round = 0; round < 50; ++round) {
+        var calls = new AtomicInteger();
+        var t = Thunk.of(() -> {
+          calls.incrementAndGet();
+          return new Object();
+        });
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<Object>>();
+        for (int i = 0; i < threads; ++i) {
+          futures.add(
+            pool.submit(() -> {
+              start.await();
+              return t.get();
+            })
+          );
+        }
+        start.countDown();
+        for (var future : futures) {
+          assertThat(future.get()).isSameAs(t.get());
+        }
+        assertThat(calls.get()).isEqualTo(1);
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
 }
@@ -0,0 +1,85 @@
+package org.tensortapestry.loom.graph;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.dialects.common.NoteNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationExpressionDialect;
+
+public class ChangeJournalTest implements CommonAssertions {
+
+  @Test
+  public void test_journal() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var a = NoteNode.builder(graph).body(b -> b.message("a")).build().unwrap();
+    var b = NoteNode.builder(graph).body(b2 -> b2.message("b")).build().unwrap();
+
+    // A new journal records the existing nodes as added.
+    var journal = ChangeJournal.of(graph);
+    assertThat(journal.peek().getAdded()).containsExactlyInAnyOrder(a.getId(), b.getId());
+    assertThat(journal.drain().isEmpty()).isFalse();
+    assertThat(journal.peek().isEmpty()).isTrue();
+
+    // Added, then changed: still added.
+    var c = NoteNode.builder(graph).body(b3 -> b3.message("c")).build().unwrap();
+    c.setBody(Map.of("message", "c2"));
+
+    // Changed in place: modified, with the checkpoint state kept.
+    a.setBody(Map.of("message", "a2"));
+    a.setBody(Map.of("message", "a3"));
+    b.addTag("tag", Map.of());
+
+    var changes = journal.peek();
+    assertThat(changes.getAdded()).containsExactly(c.getId());
+    assertThat(changes.getModified()).containsExactly(a.getId(), b.getId());
+    assertThat(changes.getRemoved()).isEmpty();
+    assertThat(changes.getPrevious(a.getId()).viewBodyAsJsonNode().get("message").asText())
+      .isEqualTo("a");
+    assertThat(changes.getPrevious(b.getId()).getTags()).isEmpty();
+    assertThat(changes.getPrevious(b.getId()).getGraph()).isNull();
+    assertThat(changes.currentNodes(graph)).containsExactly(c, a, b);
+
+    // Added, then removed: forgotten. Modified, then removed: removed.
+    graph.removeNode(c);
+    graph.removeNode(a);
+    changes = journal.peek();
+    assertThat(changes.getAdded()).isEmpty();
+    assertThat(changes.getModified()).containsExactly(b.getId());
+    assertThat(changes.getRemoved()).containsExactly(a.getId());
+    assertThat(changes.getPrevious(a.getId()).viewBodyAsJsonNode().get("message").asText())
+      .isEqualTo("a");
+
+    journal.clear();
+
+    // Removed, then re-added: modified; later changes do not leak into the checkpoint state.
+    graph.removeNode(b);
+    graph.addNode(b);
+    b.removeTag("tag");
+    changes = journal.peek();
+    assertThat(changes.getModified()).containsExactly(b.getId());
+    assertThat(changes.getRemoved()).isEmpty();
+    assertThat(changes.getPrevious(b.getId()).getTags()).containsOnlyKeys("tag");
+  }
+
+  @Test
+  public void test_remove_mutate_readd() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var a = NoteNode.builder(graph).body(b -> b.message("a")).build().unwrap();
+    var journal = ChangeJournal.of(graph);
+    journal.clear();
+
+    // Edits while detached are not journaled, and must not become the checkpoint state.
+    graph.removeNode(a);
+    a.setBody(Map.of("message", "detached"));
+    a.addTag("tag", Map.of());
+    graph.addNode(a);
+
+    var changes = journal.peek();
+    assertThat(changes.getModified()).containsExactly(a.getId());
+    assertThat(changes.getRemoved()).isEmpty();
+    var previous = changes.getPrevious(a.getId());
+    assertThat(previous).isNotSameAs(a);
+    assertThat(previous.viewBodyAsJsonNode().get("message").asText()).isEqualTo("a");
+    assertThat(previous.getTags()).isEmpty();
+  }
+}
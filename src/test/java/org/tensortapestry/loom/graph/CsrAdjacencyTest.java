@@ -0,0 +1,158 @@
+package org.tensortapestry.loom.graph;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationExpressionDialect;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+
+public class CsrAdjacencyTest implements CommonAssertions {
+
+  @Test
+  public void test_build() {
+    var adj = CsrAdjacency
+      .builder(4)
+      .addEdge(2, 0)
+      .addEdge(0, 1)
+      .addEdge(2, 3)
+      .addEdge(0, 3)
+      .build();
+
+    assertThat(adj.getVertexCount()).isEqualTo(4);
+    assertThat(adj.getEdgeCount()).isEqualTo(4);
+    assertThat(adj.successors(0)).containsExactly(1, 3);
+    assertThat(adj.successors(1)).isEmpty();
+    assertThat(adj.successors(2)).containsExactly(0, 3);
+    assertThat(adj.degree(2)).isEqualTo(2);
+    assertThat(adj.getOffsets()).containsExactly(0, 2, 2, 4, 4);
+
+    var rev = adj.transpose();
+    assertThat(rev.successors(3)).containsExactly(0, 2);
+    assertThat(rev.successors(0)).containsExactly(2);
+
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+      .isThrownBy(() -> CsrAdjacency.builder(2).addEdge(0, 2));
+  }
+
+  @Test
+  public void test_operationLinkAdjacency() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var a = TensorNode.on(graph).body(b -> b.dtype("int32").shape(2)).build();
+    var b = TensorNode.on(graph).body(b2 -> b2.dtype("int32").shape(2)).build();
+    var op = OperationNode
+      .on(graph)
+      .body(ob ->
+        ob
+          .kernel("f")
+          .input("x", List.of(a.getTensorSelection()))
+          .output("y", List.of(b.getTensorSelection()))
+      )
+      .build();
+
+    var adj = TraversalUtils.buildOperationLinkAdjacency(graph);
+    int ha = graph.assertHandle(a.getId());
+    int hb = graph.assertHandle(b.getId());
+    int hop = graph.assertHandle(op.getId());
+    assertThat(adj.successors(ha)).containsExactly(hop);
+    assertThat(adj.successors(hop)).containsExactly(hb);
+    assertThat(adj.successors(hb)).isEmpty();
+
+    var linkGraph = TraversalUtils.buildOpeartionLinkGraph(graph);
+    assertThat(adj.getEdgeCount()).isEqualTo(linkGraph.edgeSet().size());
+  }
+
+  @Test
+  public void test_stronglyConnectedComponents() {
+    // 0 -> 1 -> 2 -> 0, 2 -> 3 -> 4 -> 3, 5 isolated.
+    var adj = CsrAdjacency
+      .builder(6)
+      .addEdge(0, 1)
+      .addEdge(1, 2)
+      .addEdge(2, 0)
+      .addEdge(2, 3)
+      .addEdge(3, 4)
+      .addEdge(4, 3)
+      .build();
+
+    var component = adj.stronglyConnectedComponents();
+    assertThat(component[1]).isEqualTo(component[0]);
+    assertThat(component[2]).isEqualTo(component[0]);
+    assertThat(component[4]).isEqualTo(component[3]);
+    assertThat(component[3]).isNotEqualTo(component[0]);
+    assertThat(component[5]).isNotIn(component[0], component[3]);
+    // Reverse topological order: edges run to lower-or-equal components.
+    assertThat(component[3]).isLessThan(component[0]);
+  }
+
+  @Test
+  public void test_findOperationCycles() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var a = TensorNode.on(graph).label("a").body(b -> b.dtype("int32").shape(2)).build();
+    var b = TensorNode.on(graph).label("b").body(b2 -> b2.dtype("int32").shape(2)).build();
+    var c = TensorNode.on(graph).label("c").body(b2 -> b2.dtype("int32").shape(2)).build();
+    var d = TensorNode.on(graph).label("d").body(b2 -> b2.dtype("int32").shape(2)).build();
+
+    var f = OperationNode
+      .on(graph)
+      .body(ob ->
+        ob
+          .kernel("f")
+          .input("x", List.of(a.getTensorSelection()))
+          .output("y", List.of(b.getTensorSelection()))
+      )
+      .build();
+    var g = OperationNode
+      .on(graph)
+      .body(ob ->
+        ob
+          .kernel("g")
+          .input("x", List.of(b.getTensorSelection()))
+          .output("y", List.of(a.getTensorSelection()))
+      )
+      .build();
+    OperationNode
+      .on(graph)
+      .body(ob ->
+        ob
+          .kernel("h")
+          .input("x", List.of(a.getTensorSelection()))
+          .output("y", List.of(d.getTensorSelection()))
+      )
+      .build();
+    var k = OperationNode
+      .on(graph)
+      .body(ob ->
+        ob
+          .kernel("k")
+          .input("x", List.of(c.getTensorSelection()))
+          .output("y", List.of(c.getTensorSelection()))
+      )
+      .build();
+
+    var cycles = TraversalUtils.findOperationCycles(graph, 10);
+    assertThat(cycles)
+      .containsExactly(
+        List.of(f.unwrap(), b.unwrap(), g.unwrap(), a.unwrap()),
+        List.of(k.unwrap(), c.unwrap())
+      );
+    assertThat(TraversalUtils.findOperationSimpleCycles(graph)).hasSize(2);
+
+    assertThat(TraversalUtils.findOperationCycles(graph, 1)).hasSize(1);
+    assertThat(TraversalUtils.findOperationCycles(graph, 0)).isEmpty();
+
+    graph.removeNode(g.getId());
+    graph.removeNode(k.getId());
+    assertThat(TraversalUtils.findOperationCycles(graph, 10)).isEmpty();
+  }
+
+  @Test
+  public void test_topologicalOrder() {
+    var dag = CsrAdjacency.builder(4).addEdge(3, 1).addEdge(1, 0).addEdge(3, 2).build();
+    assertThat(dag.inDegrees()).containsExactly(1, 1, 1, 0);
+    assertThat(dag.topologicalOrder()).containsExactly(3, 1, 2, 0);
+
+    var cyclic = CsrAdjacency.builder(3).addEdge(0, 1).addEdge(1, 2).addEdge(2, 1).build();
+    assertThat(cyclic.topologicalOrder()).isNull();
+  }
+}
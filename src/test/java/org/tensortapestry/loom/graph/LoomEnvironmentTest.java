@@ -1,8 +1,12 @@
 package org.tensortapestry.loom.graph;
 
+import java.util.List;
+import java.util.concurrent.Executors;
 import javax.annotation.Nonnull;
 import org.junit.jupiter.api.Test;
 import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.common.validation.ListValidationIssueCollector;
+import org.tensortapestry.common.validation.ValidationIssue;
 import org.tensortapestry.common.validation.ValidationIssueCollector;
 import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationExpressionDialect;
 import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
@@ -93,4 +97,47 @@ public class LoomEnvironmentTest implements CommonAssertions {
 
     extEnv.assertConstraint(constraint.getClass());
   }
+
+  private static List<String> issueSummaries(LoomGraph graph, boolean incremental) {
+    var collector = new ListValidationIssueCollector();
+    if (incremental) {
+      graph.validateChanges(collector);
+    } else {
+      graph.validate(collector);
+    }
+    var issues = collector.getIssues();
+    return issues == null ? List.of() : issues.stream().map(ValidationIssue::getSummary).toList();
+  }
+
+  @Test
+  public void test_parallel_validation() {
+    var sequential = ApplicationExpressionDialect.ENVIRONMENT;
+    var pool = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      var parallel = sequential
+        .toBuilder()
+        .validationExecutor(pool)
+        .validationChunkSize(3)
+        .build();
+
+      var graph = sequential.newGraph();
+      for (int i = 0; i < 50; ++i) {
+        var dtype = i % 7 == 0 ? "bad" + i : "int32";
+        TensorNode.on(graph).body(b -> b.dtype(dtype).shape(2, 3)).build();
+      }
+      var expected = issueSummaries(graph, false);
+      assertThat(expected).hasSize(8).allMatch(summary -> summary.contains("(bad"));
+
+      var expectedIncremental = issueSummaries(graph, true);
+      assertThat(expectedIncremental).containsExactlyInAnyOrderElementsOf(expected);
+
+      graph.setEnv(parallel);
+      for (int k = 0; k < 5; ++k) {
+        assertThat(issueSummaries(graph, false)).isEqualTo(expected);
+        assertThat(issueSummaries(graph, true)).isEqualTo(expectedIncremental);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
 }
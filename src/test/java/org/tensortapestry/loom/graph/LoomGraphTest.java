@@ -1,5 +1,6 @@
 package org.tensortapestry.loom.graph;
 
+import java.util.ArrayList;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.tensortapestry.common.json.JsonUtil;
@@ -76,6 +77,63 @@ public class LoomGraphTest implements CommonAssertions {
     }
   }
 
+  @Test
+  public void test_byType() {
+    var graph = ApplicationExpressionDialect.newGraph();
+
+    var notes = new ArrayList<NoteNode>();
+    for (int i = 0; i < 20; i++) {
+      notes.add(NoteNode.builder(graph).body(b -> b.message("test")).build());
+      TensorNode.on(graph).body(b -> b.dtype("int32").shape(2, 3)).build();
+    }
+
+    assertThat(graph.countByType(NoteNode.TYPE)).isEqualTo(20);
+    assertThat(graph.countByType(TensorNode.TYPE)).isEqualTo(20);
+    assertThat(graph.countByType("foo")).isEqualTo(0);
+    assertThat(graph.byType("foo")).isEmpty();
+
+    // Insertion order.
+    assertThat(graph.byType(NoteNode.class)).containsExactlyElementsOf(notes);
+    assertThat(graph.byType(NoteNode.TYPE).stream().map(LoomNode::getId))
+      .containsExactlyElementsOf(notes.stream().map(NoteNode::getId).toList());
+
+    graph.removeNode(notes.remove(3));
+    assertThat(graph.byType(NoteNode.class)).containsExactlyElementsOf(notes);
+    assertThat(graph.countByType(NoteNode.TYPE)).isEqualTo(19);
+
+    notes.forEach(graph::removeNode);
+    assertThat(graph.byType(NoteNode.class)).isEmpty();
+  }
+
+  @Test
+  public void test_handles() {
+    var graph = ApplicationExpressionDialect.newGraph();
+
+    var notes = new ArrayList<NoteNode>();
+    for (int i = 0; i < 4; i++) {
+      notes.add(NoteNode.builder(graph).body(b -> b.message("test")).build());
+    }
+    for (int i = 0; i < notes.size(); i++) {
+      var note = notes.get(i);
+      assertThat(graph.assertHandle(note.getId())).isEqualTo(i);
+      assertThat(graph.getNodeByHandle(i)).isSameAs(note.unwrap());
+    }
+    assertThat(graph.getHandleLimit()).isEqualTo(4);
+    assertThat(graph.getNodeByHandle(4)).isNull();
+    assertThat(graph.getNodeByHandle(-1)).isNull();
+
+    var removed = notes.get(1);
+    graph.removeNode(removed);
+    assertThat(graph.getNodeByHandle(1)).isNull();
+    assertThatExceptionOfType(IllegalStateException.class)
+      .isThrownBy(() -> graph.assertHandle(removed.getId()));
+
+    // Handles are recycled.
+    var added = NoteNode.builder(graph).body(b -> b.message("test")).build();
+    assertThat(graph.assertHandle(added.getId())).isEqualTo(1);
+    assertThat(graph.getHandleLimit()).isEqualTo(4);
+  }
+
   @Test
   public void testHasAssertAddNode() {
     var graph = ApplicationExpressionDialect.newGraph();
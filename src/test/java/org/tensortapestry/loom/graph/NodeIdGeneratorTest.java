@@ -0,0 +1,75 @@
+package org.tensortapestry.loom.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.dialects.common.NoteNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationExpressionDialect;
+
+public class NodeIdGeneratorTest implements CommonAssertions {
+
+  @Test
+  public void test_timeOrdered() {
+    var ids = new ArrayList<UUID>();
+    for (int i = 0; i < 10_000; i++) {
+      ids.add(NodeIdGenerator.TIME_ORDERED.generate());
+    }
+
+    for (var id : ids) {
+      assertThat(id.version()).isEqualTo(7);
+      assertThat(id.variant()).isEqualTo(2);
+    }
+    assertThat(ids).isSorted().doesNotHaveDuplicates();
+
+    long millis = ids.getFirst().getMostSignificantBits() >>> 16;
+    assertThat(millis).isCloseTo(System.currentTimeMillis(), within(60_000L));
+  }
+
+  @Test
+  public void test_timeOrdered_concurrent() {
+    Set<UUID> ids = ConcurrentHashMap.newKeySet();
+    IntStream
+      .range(0, 200_000)
+      .parallel()
+      .forEach(i -> ids.add(NodeIdGenerator.TIME_ORDERED.generate()));
+    assertThat(ids).hasSize(200_000);
+  }
+
+  @Test
+  public void test_timeOrdered_thread_slots() throws Exception {
+    var here = NodeIdGenerator.TIME_ORDERED.generate();
+    var there = new UUID[1];
+    var thread = new Thread(() -> there[0] = NodeIdGenerator.TIME_ORDERED.generate());
+    thread.start();
+    thread.join();
+
+    // Each thread keeps its own slot in bits 30..61 of the low word.
+    long slotHere = (here.getLeastSignificantBits() >>> 30) & 0xFFFF_FFFFL;
+    long slotThere = (there[0].getLeastSignificantBits() >>> 30) & 0xFFFF_FFFFL;
+    assertThat(slotThere).isNotEqualTo(slotHere);
+    var again = NodeIdGenerator.TIME_ORDERED.generate();
+    assertThat((again.getLeastSignificantBits() >>> 30) & 0xFFFF_FFFFL).isEqualTo(slotHere);
+  }
+
+  @Test
+  public void test_graph_generator() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    assertThat(graph.getNodeIdGenerator()).isSameAs(NodeIdGenerator.TIME_ORDERED);
+
+    var fixed = new UUID(0, 1);
+    var next = new UUID(0, 2);
+    var queue = new ArrayList<>(List.of(fixed, fixed, next));
+    graph.setNodeIdGenerator(() -> queue.removeFirst());
+
+    assertThat(NoteNode.builder(graph).body(b -> b.message("a")).build().getId()).isEqualTo(fixed);
+    // Collisions with existing nodes are retried.
+    assertThat(graph.genNodeId()).isEqualTo(next);
+
+    assertThat(graph.copy().getNodeIdGenerator()).isSameAs(graph.getNodeIdGenerator());
+  }
+}
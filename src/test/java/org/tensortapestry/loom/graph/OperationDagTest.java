@@ -0,0 +1,169 @@
+package org.tensortapestry.loom.graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import lombok.Value;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationExpressionDialect;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+
+public class OperationDagTest implements CommonAssertions {
+
+  @Value
+  private static class Diamond {
+
+    LoomGraph graph;
+    OperationNode a;
+    OperationNode b;
+    OperationNode c;
+    OperationNode d;
+  }
+
+  private static OperationNode op(LoomGraph graph, List<TensorNode> inputs, TensorNode output) {
+    return OperationNode
+      .on(graph)
+      .body(ob ->
+        ob
+          .kernel("f")
+          .input("x", inputs.stream().map(TensorNode::getTensorSelection).toList())
+          .output("y", List.of(output.getTensorSelection()))
+      )
+      .build();
+  }
+
+  /**
+   * {@code a -> (b, c) -> d}, with the operations added in reverse.
+   */
+  private static Diamond createDiamond() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    List<TensorNode> t = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      t.add(TensorNode.on(graph).body(b -> b.dtype("int32").shape(2)).build());
+    }
+    var d = op(graph, List.of(t.get(2), t.get(3)), t.get(4));
+    var c = op(graph, List.of(t.get(1)), t.get(3));
+    var b = op(graph, List.of(t.get(1)), t.get(2));
+    var a = op(graph, List.of(t.get(0)), t.get(1));
+    return new Diamond(graph, a, b, c, d);
+  }
+
+  @Test
+  public void test_order() {
+    var diamond = createDiamond();
+    var dag = OperationDag.of(diamond.getGraph());
+
+    assertThat(dag.size()).isEqualTo(4);
+    var ops = dag.getOperations();
+    assertThat(ops.get(0)).isEqualTo(diamond.getA());
+    assertThat(ops.subList(1, 3)).containsExactlyInAnyOrder(diamond.getB(), diamond.getC());
+    assertThat(ops.get(3)).isEqualTo(diamond.getD());
+
+    assertThat(dag.getLevelCount()).isEqualTo(3);
+    var levels = dag.getLevels();
+    assertThat(levels).hasSize(3);
+    assertThat(levels.get(0)).containsExactly(diamond.getA());
+    assertThat(levels.get(1)).containsExactlyInAnyOrder(diamond.getB(), diamond.getC());
+    assertThat(levels.get(2)).containsExactly(diamond.getD());
+
+    int d = dag.indexOf(diamond.getD().getId());
+    assertThat(dag.get(d)).isEqualTo(diamond.getD());
+    assertThat(dag.getLevel(d)).isEqualTo(2);
+    assertThat(dag.getPredecessors(d)).containsExactlyInAnyOrder(diamond.getB(), diamond.getC());
+    assertThat(dag.getSuccessors(dag.indexOf(diamond.getA().getId())))
+      .containsExactlyInAnyOrder(diamond.getB(), diamond.getC());
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> dag.indexOf(UUID.randomUUID()));
+  }
+
+  @Test
+  public void test_cycle() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var x = TensorNode.on(graph).body(b -> b.dtype("int32").shape(2)).build();
+    var y = TensorNode.on(graph).body(b -> b.dtype("int32").shape(2)).build();
+    op(graph, List.of(x), y);
+    op(graph, List.of(y), x);
+
+    assertThatExceptionOfType(IllegalStateException.class)
+      .isThrownBy(() -> OperationDag.of(graph));
+  }
+
+  @Test
+  public void test_walk() {
+    var diamond = createDiamond();
+    var dag = OperationDag.of(diamond.getGraph());
+
+    var pool = Executors.newFixedThreadPool(4);
+    try {
+      Set<UUID> visited = ConcurrentHashMap.newKeySet();
+      List<OperationNode> order = Collections.synchronizedList(new ArrayList<>());
+      dag
+        .walk(
+          pool,
+          node -> {
+            for (var pred : dag.getPredecessors(dag.indexOf(node.getId()))) {
+              assertThat(visited).contains(pred.getId());
+            }
+            visited.add(node.getId());
+            order.add(node);
+          }
+        )
+        .join();
+      assertThat(order).hasSize(4);
+      assertThat(order.get(0)).isEqualTo(diamond.getA());
+      assertThat(order.get(3)).isEqualTo(diamond.getD());
+
+      var failed = dag.walk(
+        pool,
+        node -> {
+          if (node.equals(diamond.getB())) {
+            throw new IllegalStateException("boom");
+          }
+        }
+      );
+      assertThatExceptionOfType(CompletionException.class)
+        .isThrownBy(failed::join)
+        .withCauseInstanceOf(IllegalStateException.class);
+    } finally {
+      pool.shutdownNow();
+    }
+
+    var empty = OperationDag.of(ApplicationExpressionDialect.newGraph());
+    assertThat(empty.getLevels()).isEmpty();
+    assertThat(empty.walk(Runnable::run, node -> {})).isCompleted();
+  }
+
+  @Test
+  public void test_walk_fan_out_visits_once() {
+    // 0 -> (1 .. width) -> width + 1; workers release the fan-out while sources are dispatched.
+    int width = 20_000;
+    var builder = CsrAdjacency.builder(width + 2);
+    for (int v = 1; v <= width; ++v) {
+      builder.addEdge(0, v);
+      builder.addEdge(v, width + 1);
+    }
+    var dag = builder.build();
+
+    var pool = Executors.newFixedThreadPool(8);
+    try {
+      for (int round = 0; round < 10; ++round) {
+        var visits = new AtomicIntegerArray(width + 2);
+        DagWalker.walk(dag, pool, visits::incrementAndGet).join();
+        for (int v = 0; v < width + 2; ++v) {
+          assertThat(visits.get(v)).as("visits of %d", v).isEqualTo(1);
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+}
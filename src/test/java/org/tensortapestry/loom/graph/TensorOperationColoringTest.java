@@ -0,0 +1,102 @@
+package org.tensortapestry.loom.graph;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationExpressionDialect;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+
+public class TensorOperationColoringTest implements CommonAssertions {
+
+  /**
+   * A chain of operations over tensors {@code t[0..width]}, and one wide operation reading all of
+   * them.
+   */
+  private static LoomGraph createGraph(int width) {
+    var graph = ApplicationExpressionDialect.newGraph();
+    List<TensorNode> tensors = new ArrayList<>();
+    for (int i = 0; i <= width; ++i) {
+      tensors.add(TensorNode.on(graph).body(b -> b.dtype("int32").shape(2)).build());
+    }
+    for (int i = 0; i < width; ++i) {
+      var input = tensors.get(i);
+      var output = tensors.get(i + 1);
+      OperationNode
+        .on(graph)
+        .body(ob ->
+          ob
+            .kernel("f")
+            .input("x", List.of(input.getTensorSelection()))
+            .output("y", List.of(output.getTensorSelection()))
+        )
+        .build();
+    }
+    var result = TensorNode.on(graph).body(b -> b.dtype("int32").shape(2)).build();
+    OperationNode
+      .on(graph)
+      .body(ob ->
+        ob
+          .kernel("sum")
+          .input("x", tensors.stream().map(TensorNode::getTensorSelection).toList())
+          .output("y", List.of(result.getTensorSelection()))
+      )
+      .build();
+    return graph;
+  }
+
+  private void assertProperColoring(LoomGraph graph, TensorOperationColoring.Coloring coloring) {
+    var coloringGraph = TraversalUtils.tensorOperationColoringGraph(graph);
+    for (var id : coloringGraph.vertexSet()) {
+      assertThat(coloring.getColor(graph, id)).isBetween(0, coloring.getColorCount() - 1);
+    }
+    for (var edge : coloringGraph.edgeSet()) {
+      var source = coloringGraph.getEdgeSource(edge);
+      var target = coloringGraph.getEdgeTarget(edge);
+      assertThat(coloring.getColor(graph, source)).isNotEqualTo(coloring.getColor(graph, target));
+    }
+  }
+
+  @Test
+  public void test_strategies() {
+    var graph = createGraph(6);
+    // The wide operation and its 8 tensors form a clique.
+    for (var strategy : TensorOperationColoring.Strategy.values()) {
+      var coloring = TensorOperationColoring.color(graph, strategy);
+      assertProperColoring(graph, coloring);
+      assertThat(coloring.isBudgetExhausted()).isFalse();
+      assertThat(coloring.getColorCount()).isGreaterThanOrEqualTo(9);
+    }
+    assertThat(
+      TensorOperationColoring.color(graph, TensorOperationColoring.Strategy.DSATUR).getColorCount()
+    )
+      .isEqualTo(9);
+
+    var idColoring = TraversalUtils.tensorOperationColoring(graph);
+    assertThat(idColoring.getColors())
+      .hasSize(TraversalUtils.tensorOperationColoringGraph(graph).vertexSet().size());
+  }
+
+  @Test
+  public void test_budget() {
+    var graph = createGraph(6);
+    var coloring = TensorOperationColoring.color(
+      graph,
+      TensorOperationColoring.Strategy.DSATUR,
+      Duration.ZERO
+    );
+    assertThat(coloring.isBudgetExhausted()).isTrue();
+    assertProperColoring(graph, coloring);
+  }
+
+  @Test
+  public void test_uncolored() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var loose = TensorNode.on(graph).body(b -> b.dtype("int32").shape(2)).build();
+    var coloring = TensorOperationColoring.color(graph, TensorOperationColoring.Strategy.DSATUR);
+    assertThat(coloring.getColor(graph, loose.getId())).isEqualTo(-1);
+    assertThat(coloring.getColorCount()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,94 @@
+package org.tensortapestry.loom.graph.dialects.common;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.common.validation.ListValidationIssueCollector;
+import org.tensortapestry.common.validation.ValidationIssue;
+import org.tensortapestry.loom.graph.CommonEnvironments;
+import org.tensortapestry.loom.graph.LoomConstants;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationExpressionDialect;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpNodes;
+
+public class SchemaTypeConstraintTest implements CommonAssertions {
+
+  private static List<ValidationIssue> validate(LoomGraph graph) {
+    var collector = new ListValidationIssueCollector();
+    new SchemaTypeConstraint().validateConstraint(graph.assertEnv(), graph, collector);
+    var issues = collector.getIssues();
+    return issues == null ? List.of() : issues;
+  }
+
+  @Test
+  public void test_schema_cache() {
+    var manager = ApplicationExpressionDialect.ENVIRONMENT.getJsonSchemaFactoryManager();
+    var uri = URI.create(TensorNode.TYPE);
+    assertThat(manager.loadSchema(uri)).isSameAs(manager.loadSchema(uri));
+  }
+
+  @Test
+  public void test_skip_revalidation() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var tensor = TensorNode.on(graph).body(b -> b.dtype("int32").shape(2, 3)).build();
+    TensorNode.on(graph).body(b -> b.dtype("float32").shape(4)).build();
+
+    var index = SchemaValidationIndex.of(graph);
+    assertThat(validate(graph)).isEmpty();
+    assertThat(index.getValidatedCount()).isEqualTo(2);
+    assertThat(validate(graph)).isEmpty();
+
+    // Tag changes are caught by the fingerprint.
+    var node = tensor.unwrap();
+    node.addTag(TensorOpNodes.IO_SEQUENCE_POINT_TYPE, Map.of("x", 1));
+    assertThat(validate(graph))
+      .singleElement()
+      .extracting(ValidationIssue::getType)
+      .isEqualTo(LoomConstants.Errors.JSD_ERROR);
+    assertThat(index.getValidatedCount()).isEqualTo(1);
+
+    node.removeTag(TensorOpNodes.IO_SEQUENCE_POINT_TYPE);
+    assertThat(validate(graph)).isEmpty();
+    assertThat(index.getValidatedCount()).isEqualTo(2);
+
+    // Body replacement evicts the node.
+    node.setBody(Map.of("dtype", "int32"));
+    assertThat(index.getValidatedCount()).isEqualTo(1);
+    assertThat(validate(graph)).isNotEmpty();
+    assertThat(validate(graph)).isNotEmpty();
+
+    graph.removeNode(node);
+    assertThat(validate(graph)).isEmpty();
+    assertThat(index.getValidatedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void test_schema_rebind_revalidates() {
+    var manager = CommonEnvironments.buildJsonSchemaFactoryManager();
+    var env = ApplicationExpressionDialect.ENVIRONMENT
+      .toBuilder()
+      .jsonSchemaFactoryManager(manager)
+      .build();
+    var graph = env.newGraph();
+    var tensor = TensorNode.on(graph).body(b -> b.dtype("int32").shape(2, 3)).build().unwrap();
+
+    var index = SchemaValidationIndex.of(graph);
+    assertThat(validate(graph)).isEmpty();
+    assertThat(index.isValidated(manager, tensor)).isTrue();
+
+    long generation = manager.getSchemaGeneration();
+    manager.bindResourcePath(
+      "http://tensortapestry.org/schemas",
+      LoomConstants.LOOM_SCHEMA_RESOURCES.getPath()
+    );
+    assertThat(manager.getSchemaGeneration()).isGreaterThan(generation);
+    assertThat(index.isValidated(manager, tensor)).isFalse();
+    assertThat(index.getValidatedCount()).isEqualTo(0);
+
+    assertThat(validate(graph)).isEmpty();
+    assertThat(index.isValidated(manager, tensor)).isTrue();
+  }
+}
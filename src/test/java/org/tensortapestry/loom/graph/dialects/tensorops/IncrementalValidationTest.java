@@ -0,0 +1,78 @@
+package org.tensortapestry.loom.graph.dialects.tensorops;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.common.validation.ListValidationIssueCollector;
+import org.tensortapestry.common.validation.ValidationIssue;
+import org.tensortapestry.loom.graph.ChangeJournal;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.dialects.common.NoteNode;
+import org.tensortapestry.weft.metakernels.CommonMetaKernels;
+import org.tensortapestry.zspace.ZRange;
+
+public class IncrementalValidationTest implements CommonAssertions {
+
+  private static List<String> summaries(ListValidationIssueCollector collector) {
+    var issues = collector.getIssues();
+    return issues == null ? List.of() : issues.stream().map(ValidationIssue::getSummary).toList();
+  }
+
+  /**
+   * Assert that incremental validation reports the same issues as full validation.
+   */
+  private List<String> assertIncrementalMatchesFull(LoomGraph graph) {
+    var full = new ListValidationIssueCollector();
+    graph.validate(full);
+    var incremental = new ListValidationIssueCollector();
+    graph.validateChanges(incremental);
+    assertThat(summaries(incremental)).isEqualTo(summaries(full));
+    return summaries(incremental);
+  }
+
+  @Test
+  public void test_incremental() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var t0 = TensorNode.on(graph).body(b -> b.dtype("int32").shape(10, 5)).label("t0").build();
+    var t1 = TensorNode.on(graph).body(b -> b.dtype("int32").shape(10, 5)).label("t1").build();
+    var op = CommonMetaKernels.ADD.on(graph).input("tensors", t0, t1).apply();
+    op.getApplicationNodes().stream().toList().forEach(graph::removeNode);
+    OperationUtils.createIpfShards(
+      op,
+      List.of(
+        ZRange.builder().start(0, 0).shape(5, 5).build(),
+        ZRange.builder().start(5, 0).shape(5, 5).build()
+      )
+    );
+
+    // The first incremental validation is a full validation.
+    var journal = ChangeJournal.of(graph);
+    assertThat(journal.peek().isEmpty()).isFalse();
+    assertThat(assertIncrementalMatchesFull(graph)).isEmpty();
+    assertThat(journal.peek().isEmpty()).isTrue();
+
+    // Removing a shard breaks the coverage of the operation; the journal is kept until fixed.
+    var shard = op.getApplicationNodes().stream().findFirst().orElseThrow().unwrap();
+    graph.removeNode(shard);
+    assertThat(assertIncrementalMatchesFull(graph)).isNotEmpty();
+    assertThat(journal.peek().getRemoved()).containsExactly(shard.getId());
+
+    graph.addNode(shard);
+    assertThat(assertIncrementalMatchesFull(graph)).isEmpty();
+    assertThat(journal.peek().isEmpty()).isTrue();
+
+    // A bad tensor change is found.
+    var body = t1.unwrap().viewBodyAsJsonNode();
+    t1.unwrap().setBody(body.<ObjectNode>deepCopy().put("dtype", "nonesuch"));
+    assertThat(assertIncrementalMatchesFull(graph))
+      .containsExactly("Tensor dtype (nonesuch) not a recognized type");
+
+    t1.unwrap().setBody(body);
+    assertThat(assertIncrementalMatchesFull(graph)).isEmpty();
+
+    // Unrelated changes re-check nothing, and pass.
+    NoteNode.builder(graph).body(b -> b.message("note")).build();
+    assertThat(assertIncrementalMatchesFull(graph)).isEmpty();
+  }
+}
@@ -0,0 +1,96 @@
+package org.tensortapestry.loom.graph.dialects.tensorops;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.weft.metakernels.CommonMetaKernels;
+import org.tensortapestry.zspace.ZPoint;
+import org.tensortapestry.zspace.ZRange;
+
+/**
+ * A small float32 test graph: {@code z = linear(x[batch, 3], w[3, 5], bias[5])}, then {@code
+ * relu(z)}, and optionally {@code add(z, relu(z))}.
+ *
+ * <p>Each operation starts with a single application.
+ */
+public final class LinearReluFixture {
+
+  public final LoomGraph graph;
+  public final TensorNode x;
+  public final TensorNode w;
+  public final TensorNode bias;
+  public final OperationNode linear;
+  public final OperationNode relu;
+
+  /**
+   * The add operation, or null if the fixture has none.
+   */
+  @Nullable public final OperationNode add;
+
+  private LinearReluFixture(@Nonnull LoomGraph graph, int batch, boolean withAdd) {
+    this.graph = graph;
+    x = TensorNode.on(graph).body(b -> b.dtype("float32").shape(batch, 3)).build();
+    w = TensorNode.on(graph).body(b -> b.dtype("float32").shape(3, 5)).build();
+    bias = TensorNode.on(graph).body(b -> b.dtype("float32").shape(5)).build();
+    linear =
+      CommonMetaKernels.LINEAR.on(graph).input("x", x).input("A", w).input("b", bias).apply();
+    relu = CommonMetaKernels.RELU.on(graph).input("tensor", linear.getResult()).apply();
+    add =
+      withAdd
+        ? CommonMetaKernels.ADD
+          .on(graph)
+          .input("tensors", linear.getResult(), relu.getResult())
+          .apply()
+        : null;
+  }
+
+  /**
+   * Build {@code relu(linear(x, w, bias))} on a new graph.
+   *
+   * @param batch the number of rows of {@code x}.
+   * @return the fixture.
+   */
+  @Nonnull
+  public static LinearReluFixture linearRelu(int batch) {
+    return new LinearReluFixture(ApplicationExpressionDialect.newGraph(), batch, false);
+  }
+
+  /**
+   * Build {@code z + relu(z)}, where {@code z = linear(x, w, bias)}, on a new graph.
+   *
+   * @param batch the number of rows of {@code x}.
+   * @return the fixture.
+   */
+  @Nonnull
+  public static LinearReluFixture linearReluAdd(int batch) {
+    return new LinearReluFixture(ApplicationExpressionDialect.newGraph(), batch, true);
+  }
+
+  /**
+   * Replace the applications of an operation with shards over consecutive row ranges of its index.
+   *
+   * @param operation the operation.
+   * @param bounds the row boundaries, from the first row to the end row.
+   * @return the new applications, in row order.
+   */
+  @Nonnull
+  public static List<ApplicationNode> splitRows(
+    @Nonnull OperationNode operation,
+    @Nonnull int... bounds
+  ) {
+    var index = operation.viewTagAs(TensorOpNodes.IPF_INDEX_ANNOTATION_TYPE, ZRange.class);
+    var shards = new ArrayList<ZRange>();
+    for (int i = 0; i + 1 < bounds.length; ++i) {
+      var start = index.getStart().toArray();
+      var end = index.getEnd().toArray();
+      start[0] = bounds[i];
+      end[0] = bounds[i + 1];
+      shards.add(ZRange.of(ZPoint.of(start), ZPoint.of(end)));
+    }
+    var graph = operation.assertGraph();
+    operation.getApplicationNodes().toList().forEach(graph::removeNode);
+    return OperationUtils.createIpfShards(operation, shards);
+  }
+}
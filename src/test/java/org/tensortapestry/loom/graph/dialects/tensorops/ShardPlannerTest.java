@@ -0,0 +1,64 @@
+package org.tensortapestry.loom.graph.dialects.tensorops;
+
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.weft.metakernels.CommonMetaKernels;
+import org.tensortapestry.zspace.ZRange;
+import org.tensortapestry.zspace.ZRangeProjectionMap;
+
+public class ShardPlannerTest implements CommonAssertions {
+
+  @Test
+  public void test_shard_linear() {
+    var fixture = LinearReluFixture.linearRelu(4);
+    var graph = fixture.graph;
+    var linear = fixture.linear;
+
+    // Splitting batch balances exactly, and replicates only the small inputs.
+    var plan = ShardPlanner.plan(linear, 4);
+    assertThat(plan.getSplits()).containsExactly(4, 1);
+    assertThat(plan.getShardCount()).isEqualTo(4);
+    assertThat(plan.getMaxShardPoints()).isEqualTo(5);
+    assertThat(plan.getInputCells()).isEqualTo(4 * (3 + 15 + 5));
+
+    var apps = ShardPlanner.shard(linear, 4);
+    assertThat(apps).hasSize(4);
+    assertThat(linear.getApplicationNodes().toList()).containsExactlyInAnyOrderElementsOf(apps);
+    assertThat(apps.get(1).viewTagAs(TensorOpNodes.IPF_INDEX_ANNOTATION_TYPE, ZRange.class))
+      .isEqualTo(ZRange.builder().start(1, 0).shape(1, 5).build());
+    graph.validate();
+  }
+
+  @Test
+  public void test_plan_balance() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var x = TensorNode.on(graph).body(b -> b.dtype("float32").shape(4, 5)).build();
+    var relu = CommonMetaKernels.RELU.on(graph).input("tensor", x).apply();
+
+    // [2, 3] and [1, 5] both bound shards at 4 points; ties prefer splitting outer dims.
+    var plan = ShardPlanner.plan(relu, 6);
+    assertThat(plan.getSplits()).containsExactly(2, 3);
+    assertThat(plan.getMaxShardPoints()).isEqualTo(4);
+    assertThat(plan.getInputCells()).isEqualTo(20);
+    assertThat(plan.getShards().stream().mapToInt(ZRange::getSize).sum()).isEqualTo(20);
+
+    assertThat(ShardPlanner.plan(relu, 1).getShards()).containsExactly(plan.getIndex());
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> ShardPlanner.plan(relu, 0));
+  }
+
+  @Test
+  public void test_reduction_dims_are_not_split() {
+    // A row sum: dimension 1 is reduced, so only dimension 0 may be split.
+    var signature = IPFSignature
+      .builder()
+      .input("x", ZRangeProjectionMap.builder().identityMap(2))
+      .output("y", ZRangeProjectionMap.builder().affineMap(new int[][] { { 1, 0 } }))
+      .build();
+    var index = ZRange.newFromShape(2, 64);
+
+    var plan = ShardPlanner.plan(index, signature, 8);
+    assertThat(plan.getSplits()).containsExactly(2, 1);
+    assertThat(plan.getMaxShardPoints()).isEqualTo(64);
+  }
+}
@@ -0,0 +1,84 @@
+package org.tensortapestry.loom.graph.dialects.tensorops;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.LoomGraph;
+
+public class TensorOpsIndexTest implements CommonAssertions {
+
+  private static TensorNode tensor(LoomGraph graph, String label) {
+    return TensorNode.on(graph).body(b -> b.dtype("int32").shape(2, 3)).label(label).build();
+  }
+
+  private static OperationNode.Body opBody(String kernel, TensorNode input, TensorNode output) {
+    var builder = OperationNode.Body.builder().kernel(kernel);
+    if (input != null) {
+      builder.input("input", List.of(input.getTensorSelection()));
+    }
+    builder.output("output", List.of(output.getTensorSelection()));
+    return builder.build();
+  }
+
+  @Test
+  public void test_index() {
+    var graph = ApplicationExpressionDialect.newGraph();
+
+    var a = tensor(graph, "A");
+    var b = tensor(graph, "B");
+    var c = tensor(graph, "C");
+
+    var source = OperationNode.on(graph).body(opBody("source", null, a)).build();
+    var f = OperationNode.on(graph).body(opBody("f", a, b)).build();
+
+    // Created after some nodes exist; populated from the graph.
+    var index = TensorOpsIndex.of(graph);
+    assertThat(TensorOpsIndex.of(graph)).isSameAs(index);
+
+    var g = OperationNode.on(graph).body(opBody("g", a, c)).build();
+    var app = ApplicationNode
+      .on(graph)
+      .body(ab -> ab.operationId(f.getId()).output("output", List.of(b.getTensorSelection())))
+      .build();
+
+    assertThat(a.getSourceNodes()).containsExactly(source);
+    assertThat(a.getConsumerNodes()).containsExactly(f, g);
+    assertThat(b.getSourceNodes()).containsExactly(f);
+    assertThat(b.getConsumerNodes()).isEmpty();
+    assertThat(f.getApplicationNodes()).containsExactly(app);
+    assertThat(g.getApplicationNodes()).isEmpty();
+
+    // Body changes re-index the node.
+    g.setBody(opBody("g", b, c));
+    assertThat(a.getConsumerNodes()).containsExactly(f);
+    assertThat(b.getConsumerNodes()).containsExactly(g);
+    assertThat(c.getSourceNodes()).containsExactly(g);
+
+    // Removal un-indexes the node.
+    graph.removeNode(f);
+    assertThat(a.getConsumerNodes()).isEmpty();
+    assertThat(b.getSourceNodes()).isEmpty();
+    graph.removeNode(app);
+    assertThat(index.getApplicationIds(f.getId())).isEmpty();
+  }
+
+  @Test
+  public void test_copy() {
+    var graph = ApplicationExpressionDialect.newGraph();
+    var a = tensor(graph, "A");
+    var b = tensor(graph, "B");
+    var f = OperationNode.on(graph).body(opBody("f", a, b)).build();
+    assertThat(b.getSourceNodes()).containsExactly(f);
+
+    var copy = graph.copy();
+    var copyB = copy.assertNode(b.getId(), TensorNode.class);
+    assertThat(copyB.getSourceNodes()).hasSize(1);
+    assertThat(copyB.getSourceNodes().getFirst().unwrap()).isSameAs(copy.assertNode(f.getId()));
+
+    var parsed = graph.assertEnv().graphFromJson(graph.toJsonString());
+    var parsedA = parsed.assertNode(a.getId(), TensorNode.class);
+    assertThat(parsedA.getConsumerNodes())
+      .extracting(OperationNode::getId)
+      .containsExactly(f.getId());
+  }
+}
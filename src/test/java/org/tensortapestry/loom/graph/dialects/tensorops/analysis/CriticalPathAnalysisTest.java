@@ -0,0 +1,55 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.OperationDag;
+import org.tensortapestry.loom.graph.dialects.tensorops.LinearReluFixture;
+
+public class CriticalPathAnalysisTest implements CommonAssertions {
+
+  /**
+   * Time is FLOPs; bytes are free.
+   */
+  private static final CostModel FLOP_MODEL = CostModel.DEFAULT
+    .toBuilder()
+    .flopsPerSecond(1)
+    .bytesPerSecond(Double.POSITIVE_INFINITY)
+    .build();
+
+  @Test
+  public void test_costs_and_sharding() {
+    var fixture = LinearReluFixture.linearReluAdd(4);
+    var graph = fixture.graph;
+    var linear = fixture.linear;
+    var relu = fixture.relu;
+    var add = fixture.add;
+
+    var linearCost = CostModel.DEFAULT.cost(KernelInvocation.of(linear));
+    // [batch=4, out=5] index points, 3 features: 2 * 20 * 3 + 20 bias adds.
+    assertThat(linearCost).isEqualTo(new Cost(140, (12 + 15 + 5) * 4, 20 * 4));
+    assertThat(CostModel.DEFAULT.cost(KernelInvocation.of(relu)).getFlops()).isEqualTo(20);
+    assertThat(CostModel.DEFAULT.cost(KernelInvocation.of(add)).getFlops()).isEqualTo(20);
+
+    var report = CriticalPathAnalysis.analyze(OperationDag.of(graph), FLOP_MODEL);
+    assertThat(report.getWork()).isEqualTo(180);
+    assertThat(report.getSpan()).isEqualTo(180);
+    assertThat(report.getParallelism()).isEqualTo(1);
+    assertThat(report.getCriticalPath()).containsExactly(linear, relu, add);
+    assertThat(report.getTotalCost().getFlops()).isEqualTo(180);
+
+    // Shard the linear 2 ways on batch: the work is unchanged, the span shrinks.
+    LinearReluFixture.splitRows(linear, 0, 2, 4);
+    var sharded = CriticalPathAnalysis.analyze(OperationDag.of(graph), FLOP_MODEL);
+    assertThat(sharded.getWork()).isEqualTo(180);
+    assertThat(sharded.getSpan()).isEqualTo(110);
+    assertThat(sharded.getParallelism()).isGreaterThan(1.6);
+  }
+
+  @Test
+  public void test_roofline() {
+    var model = CostModel.builder().flopsPerSecond(10).bytesPerSecond(100).build();
+    assertThat(model.seconds(new Cost(10, 50, 0))).isEqualTo(1.0);
+    assertThat(model.seconds(new Cost(10, 150, 150))).isEqualTo(3.0);
+    assertThat(model.getKernels()).isEmpty();
+  }
+}
@@ -0,0 +1,54 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.dialects.tensorops.ApplicationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.DevicePlacement;
+import org.tensortapestry.loom.graph.dialects.tensorops.LinearReluFixture;
+import org.tensortapestry.loom.graph.dialects.tensorops.ShardPlanner;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpNodes;
+
+public class DevicePlacerTest implements CommonAssertions {
+
+  /**
+   * Linear, relu, then add; each sharded 4 ways on batch.
+   */
+  private static LoomGraph createGraph() {
+    var fixture = LinearReluFixture.linearReluAdd(8);
+    ShardPlanner.shard(fixture.linear, 4);
+    ShardPlanner.shard(fixture.relu, 4);
+    ShardPlanner.shard(fixture.add, 4);
+    return fixture.graph;
+  }
+
+  @Test
+  public void test_place() {
+    var graph = createGraph();
+    var placement = DevicePlacer.builder().devices(2).build().placeAndTag(graph);
+
+    // The batch rows form 4 independent chains; 2 per device, and nothing crosses devices.
+    assertThat(placement.getDevices()).hasSize(12);
+    assertThat(placement.getTransferBytes()).isGreaterThan(0);
+    assertThat(placement.getCutBytes()).isEqualTo(0);
+    assertThat(placement.getLoadImbalance()).isCloseTo(1.0, within(1e-9));
+
+    for (var app : graph.byType(ApplicationNode.class)) {
+      var device = app.viewTagAs(TensorOpNodes.DEVICE_PLACEMENT_TYPE, DevicePlacement.class);
+      assertThat(device.getDevice()).isEqualTo(placement.getDevice(app.getId()));
+    }
+    graph.validate();
+  }
+
+  @Test
+  public void test_single_device() {
+    var graph = createGraph();
+    var placement = DevicePlacer.builder().devices(1).build().place(graph);
+    assertThat(placement.getDevices().values()).containsOnly(0);
+    assertThat(placement.getCutBytes()).isEqualTo(0);
+    assertThat(placement.getDeviceSeconds()).hasSize(1);
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> DevicePlacer.builder().devices(0).build().place(graph));
+  }
+}
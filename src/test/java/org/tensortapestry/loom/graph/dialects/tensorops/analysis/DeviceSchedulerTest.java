@@ -0,0 +1,84 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.json.JsonUtil;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.dialects.tensorops.DevicePlacement;
+import org.tensortapestry.loom.graph.dialects.tensorops.LinearReluFixture;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpNodes;
+import org.tensortapestry.zspace.ZRange;
+
+public class DeviceSchedulerTest implements CommonAssertions {
+
+  @Test
+  public void test_schedule() {
+    var fixture = LinearReluFixture.linearRelu(4);
+    var graph = fixture.graph;
+
+    // Two linear shards on devices 0 and 1; the unsharded relu on device 0.
+    var shards = LinearReluFixture.splitRows(fixture.linear, 0, 2, 4);
+    var reluApp = fixture.relu.getApplicationNodes().toList().get(0);
+    for (var app : List.of(shards.get(0), shards.get(1), reluApp)) {
+      int device = app == shards.get(1) ? 1 : 0;
+      app.addTag(
+        TensorOpNodes.DEVICE_PLACEMENT_TYPE,
+        DevicePlacement.builder().device(device).build()
+      );
+    }
+    graph.validate();
+
+    // Time is FLOPs; links move 10 bytes per second after 1 second of latency.
+    var scheduler = DeviceScheduler
+      .builder()
+      .costModel(
+        CostModel.DEFAULT
+          .toBuilder()
+          .flopsPerSecond(1)
+          .bytesPerSecond(Double.POSITIVE_INFINITY)
+          .build()
+      )
+      .linkBytesPerSecond(10)
+      .linkLatencySeconds(1)
+      .build();
+    var schedule = scheduler.schedule(graph);
+
+    // Each linear shard: 2 * 10 * 3 + 10 = 70; the second sends 10 floats in 1 + 40 / 10 = 5;
+    // the relu then runs 20.
+    assertThat(schedule.getMakespan()).isEqualTo(95);
+    var d0 = schedule.getDevices().get(0).getEvents();
+    var d1 = schedule.getDevices().get(1).getEvents();
+    assertThat(d0)
+      .extracting(DeviceSchedule.Event::getKind)
+      .containsExactly(
+        DeviceSchedule.Kind.COMPUTE,
+        DeviceSchedule.Kind.RECV,
+        DeviceSchedule.Kind.COMPUTE
+      );
+    assertThat(d1)
+      .extracting(DeviceSchedule.Event::getKind)
+      .containsExactly(DeviceSchedule.Kind.COMPUTE, DeviceSchedule.Kind.SEND);
+
+    var send = d1.get(1);
+    assertThat(send.getStart()).isEqualTo(70);
+    assertThat(send.getEnd()).isEqualTo(75);
+    assertThat(send.getBytes()).isEqualTo(40);
+    assertThat(send.getPeer()).isEqualTo(0);
+    assertThat(send.getApplicationId()).isEqualTo(shards.get(1).getId());
+    assertThat(send.getPeerApplicationId()).isEqualTo(reluApp.getId());
+    assertThat(send.getRange()).isEqualTo(ZRange.builder().start(2, 0).shape(2, 5).build());
+
+    assertThat(d0.get(2).getStart()).isEqualTo(75);
+    assertThat(d0.get(2).getApplicationId()).isEqualTo(reluApp.getId());
+    assertThat(schedule.getUtilization(0)).isCloseTo(90.0 / 95, within(1e-9));
+    assertThat(schedule.getUtilization(1)).isCloseTo(70.0 / 95, within(1e-9));
+    assertThat(schedule.getMeanUtilization()).isCloseTo(80.0 / 95, within(1e-9));
+
+    assertThat(JsonUtil.fromJson(schedule.toJsonString(), DeviceSchedule.class))
+      .isEqualTo(schedule);
+
+    reluApp.unwrap().removeTag(TensorOpNodes.DEVICE_PLACEMENT_TYPE);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> scheduler.schedule(graph));
+  }
+}
@@ -0,0 +1,228 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.dialects.tensorops.LinearReluFixture;
+
+public class DeviceSimulatorTest implements CommonAssertions {
+
+  /**
+   * Time is FLOPs; bytes are free.
+   */
+  private static final CostModel FLOP_MODEL = CostModel.DEFAULT
+    .toBuilder()
+    .flopsPerSecond(1)
+    .bytesPerSecond(Double.POSITIVE_INFINITY)
+    .build();
+
+  /**
+   * Two linear shards, of 70 FLOPs each, on devices 0 and 1, feeding one relu of 20 FLOPs on
+   * device 0; the second shard sends 40 bytes.
+   */
+  private static DeviceSchedule createSchedule(LinearReluFixture fixture) {
+    var shards = LinearReluFixture.splitRows(fixture.linear, 0, 2, 4);
+    var devices = Map.of(
+      shards.get(0).getId(),
+      0,
+      shards.get(1).getId(),
+      1,
+      fixture.relu.getApplicationNodes().toList().get(0).getId(),
+      0
+    );
+    return DeviceScheduler
+      .builder()
+      .costModel(FLOP_MODEL)
+      .build()
+      .schedule(fixture.graph, devices);
+  }
+
+  @Test
+  public void test_routes() {
+    var ring = Topology.ring(4, 1, 0);
+    assertThat(ring.getLinks()).hasSize(8);
+    assertThat(ring.route(0, 1)).containsExactly(0);
+    assertThat(ring.route(0, 2)).containsExactly(0, 1);
+    assertThat(ring.route(0, 3)).containsExactly(4);
+    assertThat(ring.route(1, 3)).containsExactly(1, 2);
+    assertThat(ring.route(2, 2)).isEmpty();
+
+    var full = Topology.fullyConnected(3, 1, 0);
+    assertThat(full.getLinks()).hasSize(6);
+    for (int s = 0; s < 3; ++s) {
+      for (int t = 0; t < 3; ++t) {
+        if (s != t) {
+          var link = full.getLinks().get(full.route(s, t)[0]);
+          assertThat(link.getName()).isEqualTo(s + "->" + t);
+        }
+      }
+    }
+
+    var cluster = Topology.hierarchical(2, 2, 100, 0, 10, 1);
+    assertThat(cluster.getDeviceCount()).isEqualTo(4);
+    assertThat(cluster.getLinks()).hasSize(8);
+    assertThat(linkNames(cluster, 3, 2)).containsExactly("node1:1->0");
+    assertThat(linkNames(cluster, 1, 2)).containsExactly("node0:up", "node1:down");
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> Topology.ring(0, 1, 0));
+  }
+
+  private static List<String> linkNames(Topology topology, int source, int target) {
+    return Arrays
+      .stream(topology.route(source, target))
+      .mapToObj(l -> topology.getLinks().get(l).getName())
+      .toList();
+  }
+
+  @Test
+  public void test_simulate() {
+    var fixture = LinearReluFixture.linearRelu(4);
+    var graph = fixture.graph;
+    var schedule = createSchedule(fixture);
+
+    // One hop: 40 bytes at 10 bytes per second, then 1 second of latency.
+    var direct = DeviceSimulator
+      .builder()
+      .topology(Topology.fullyConnected(2, 10, 1))
+      .costModel(FLOP_MODEL)
+      .build();
+    var report = direct.simulate(graph, schedule);
+    assertThat(report.getMakespan()).isEqualTo(95);
+    assertThat(report.getBytesMoved()).isEqualTo(40);
+    assertThat(report.getDeviceBusySeconds()).containsExactly(90.0, 70.0);
+    assertThat(report.getDeviceIdleSeconds(1)).isEqualTo(25);
+    assertThat(report.getTotalIdleSeconds()).isEqualTo(30);
+    assertThat(report.getLinkBusySeconds()).containsExactly(0.0, 4.0);
+    assertThat(report.getLinkUtilization(1)).isCloseTo(4.0 / 95, within(1e-9));
+    assertThat(report.getMaxLinkUtilization()).isEqualTo(report.getLinkUtilization(1));
+    assertThat(report.getEventCount()).isEqualTo(5);
+
+    // Replaying the schedule's own durations gives the same result.
+    assertThat(direct.simulate(schedule)).isEqualTo(report);
+
+    // Across nodes, the transfer is stored and forwarded over two links.
+    var cluster = DeviceSimulator
+      .builder()
+      .topology(Topology.hierarchical(2, 1, 100, 0, 10, 1))
+      .costModel(FLOP_MODEL)
+      .build();
+    assertThat(cluster.simulate(graph, schedule).getMakespan()).isEqualTo(100);
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() ->
+        DeviceSimulator.builder().topology(Topology.ring(1, 1, 0)).build().simulate(schedule)
+      );
+  }
+
+  @Test
+  public void test_link_contention() {
+    var simulator = DeviceSimulator.builder().topology(Topology.fullyConnected(2, 10, 0)).build();
+
+    // Each 10 second send overlaps the next producer, so the link never queues.
+    assertThat(simulator.simulate(contention(100)).getMakespan()).isEqualTo(4 * 100 + 10 + 1);
+
+    // All producers finish at once; the link serializes the four sends.
+    var report = simulator.simulate(contention(0));
+    assertThat(report.getMakespan()).isEqualTo(4 * 10 + 1);
+    assertThat(report.getLinkUtilization(0)).isCloseTo(40.0 / 41, within(1e-9));
+    assertThat(report.getDeviceIdleSeconds(1)).isEqualTo(41 - 4);
+  }
+
+  @Test
+  public void test_event_rate() {
+    // A ring pipeline: 8 devices, 25k computes each, and each compute feeds the next device.
+    int devices = 8;
+    int steps = 25_000;
+    var schedule = pipeline(devices, steps);
+    var simulator = DeviceSimulator
+      .builder()
+      .topology(Topology.ring(devices, 1e9, 1e-6))
+      .build();
+
+    // Best of a few runs, so JIT warm-up is not measured.
+    double bestRate = 0;
+    DeviceSimulator.Report report = null;
+    for (int run = 0; run < 5; ++run) {
+      long start = System.nanoTime();
+      report = simulator.simulate(schedule);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      bestRate = Math.max(bestRate, report.getEventCount() / seconds);
+    }
+    // One event per compute; each send crosses one link, and is freed and delivered.
+    assertThat(report.getEventCount()).isEqualTo(devices * steps + 2L * devices * (steps - 1));
+    assertThat(bestRate).as("events per second").isGreaterThan(1e6);
+  }
+
+  /**
+   * Compute {@code k} on device {@code d} sends 1000 bytes to compute {@code k + 1} on device
+   * {@code d + 1}.
+   */
+  private static DeviceSchedule pipeline(int devices, int steps) {
+    var ids = new UUID[devices][steps];
+    for (var row : ids) {
+      for (int k = 0; k < steps; ++k) {
+        row[k] = UUID.randomUUID();
+      }
+    }
+    var builder = DeviceSchedule.builder();
+    for (int d = 0; d < devices; ++d) {
+      var timeline = DeviceSchedule.DeviceTimeline.builder().device(d);
+      for (int k = 0; k < steps; ++k) {
+        timeline.event(compute(ids[d][k], 1e-6));
+        if (k + 1 < steps) {
+          timeline.event(
+            DeviceSchedule.Event
+              .builder()
+              .kind(DeviceSchedule.Kind.SEND)
+              .applicationId(ids[d][k])
+              .peerApplicationId(ids[(d + 1) % devices][k + 1])
+              .peer((d + 1) % devices)
+              .bytes(1000)
+              .build()
+          );
+        }
+      }
+      builder.device(timeline.build());
+    }
+    return builder.build();
+  }
+
+  /**
+   * Four producers on device 0, each sending 100 bytes to a 1 second consumer on device 1.
+   */
+  private static DeviceSchedule contention(double producerSeconds) {
+    var d0 = DeviceSchedule.DeviceTimeline.builder().device(0);
+    var d1 = DeviceSchedule.DeviceTimeline.builder().device(1);
+    for (int i = 0; i < 4; ++i) {
+      var producer = UUID.randomUUID();
+      var consumer = UUID.randomUUID();
+      d0.event(compute(producer, producerSeconds));
+      d0.event(
+        DeviceSchedule.Event
+          .builder()
+          .kind(DeviceSchedule.Kind.SEND)
+          .applicationId(producer)
+          .peerApplicationId(consumer)
+          .peer(1)
+          .bytes(100)
+          .build()
+      );
+      d1.event(compute(consumer, 1));
+    }
+    return DeviceSchedule.builder().device(d0.build()).device(d1.build()).build();
+  }
+
+  private static DeviceSchedule.Event compute(UUID id, double seconds) {
+    return DeviceSchedule.Event
+      .builder()
+      .kind(DeviceSchedule.Kind.COMPUTE)
+      .applicationId(id)
+      .start(0)
+      .end(seconds)
+      .build();
+  }
+}
@@ -0,0 +1,106 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.OperationDag;
+import org.tensortapestry.loom.graph.dialects.tensorops.BufferAssignment;
+import org.tensortapestry.loom.graph.dialects.tensorops.DTypes;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationExpressionDialect;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorOpNodes;
+
+public class MemoryPlannerTest implements CommonAssertions {
+
+  private static TensorNode tensor(LoomGraph graph, int size) {
+    return TensorNode.on(graph).body(b -> b.dtype("float32").shape(size)).build();
+  }
+
+  private static void op(LoomGraph graph, TensorNode input, TensorNode output) {
+    OperationNode
+      .on(graph)
+      .body(ob ->
+        ob
+          .kernel("f")
+          .input("x", List.of(input.getTensorSelection()))
+          .output("y", List.of(output.getTensorSelection()))
+      )
+      .build();
+  }
+
+  @Test
+  public void test_chain() {
+    var graph = OperationExpressionDialect.newGraph();
+    List<TensorNode> t = new ArrayList<>();
+    for (int i = 0; i < 4; ++i) {
+      t.add(tensor(graph, 4));
+    }
+    for (int i = 0; i < 3; ++i) {
+      op(graph, t.get(i), t.get(i + 1));
+    }
+
+    var plan = MemoryPlanner.planAndTag(graph);
+
+    assertThat(plan.getBufferSizes()).containsExactly(16L, 16L);
+    assertThat(plan.getArenaBytes()).isEqualTo(32);
+    assertThat(plan.getPeakLiveBytes()).isEqualTo(32);
+
+    var a0 = plan.getAssignments().get(t.get(0).getId());
+    var a1 = plan.getAssignments().get(t.get(1).getId());
+    var a2 = plan.getAssignments().get(t.get(2).getId());
+    var a3 = plan.getAssignments().get(t.get(3).getId());
+    assertThat(a0)
+      .isEqualTo(BufferAssignment.builder().buffer(0).offset(0).bytes(16).start(0).end(0).build());
+    assertThat(a1)
+      .isEqualTo(BufferAssignment.builder().buffer(1).offset(16).bytes(16).start(0).end(1).build());
+    assertThat(a2.getBuffer()).isEqualTo(0);
+    assertThat(a3.getBuffer()).isEqualTo(1);
+    assertThat(a3.getEnd()).isEqualTo(2);
+
+    assertThat(
+      t.get(2).unwrap().viewTagAs(TensorOpNodes.BUFFER_ASSIGNMENT_TYPE, BufferAssignment.class)
+    )
+      .isEqualTo(a2);
+    graph.validate();
+  }
+
+  @Test
+  public void test_reuse_is_disjoint() {
+    var graph = OperationExpressionDialect.newGraph();
+    // A fan of branches of varying size off a shared input, each a short chain.
+    var input = tensor(graph, 8);
+    for (int branch = 0; branch < 6; ++branch) {
+      var mid = tensor(graph, 2 + 3 * branch);
+      var out = tensor(graph, 1 + branch);
+      op(graph, input, mid);
+      op(graph, mid, out);
+    }
+
+    var intervals = MemoryPlanner.liveIntervals(OperationDag.of(graph), DTypes::byteSize);
+    var plan = MemoryPlanner.plan(intervals);
+    assertThat(plan.getArenaBytes()).isGreaterThanOrEqualTo(plan.getPeakLiveBytes());
+
+    var assignments = new ArrayList<>(plan.getAssignments().values());
+    for (int i = 0; i < assignments.size(); ++i) {
+      var a = assignments.get(i);
+      assertThat(plan.getBufferSizes().get(a.getBuffer())).isGreaterThanOrEqualTo(a.getBytes());
+      for (int j = 0; j < i; ++j) {
+        var b = assignments.get(j);
+        if (a.getBuffer() == b.getBuffer()) {
+          assertThat(a.getStart() > b.getEnd() || b.getStart() > a.getEnd()).isTrue();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void test_dtypes() {
+    assertThat(DTypes.byteWidth("int32")).isEqualTo(4);
+    assertThat(DTypes.byteWidth("float64")).isEqualTo(8);
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> DTypes.byteWidth("nonesuch"));
+  }
+}
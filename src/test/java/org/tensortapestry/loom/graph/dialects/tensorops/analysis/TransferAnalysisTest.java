@@ -0,0 +1,47 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.dialects.tensorops.LinearReluFixture;
+import org.tensortapestry.zspace.ZRange;
+
+public class TransferAnalysisTest implements CommonAssertions {
+
+  @Test
+  public void test_transfers() {
+    var fixture = LinearReluFixture.linearRelu(4);
+    var graph = fixture.graph;
+    var x = fixture.x;
+    var z = fixture.linear.getResult();
+
+    // Linear rows [0, 2) and [2, 4); relu rows [0, 1) and [1, 4).
+    var producers = LinearReluFixture.splitRows(fixture.linear, 0, 2, 4);
+    var consumers = LinearReluFixture.splitRows(fixture.relu, 0, 1, 4);
+    graph.validate();
+
+    var matrix = TransferAnalysis.analyze(graph);
+    assertThat(matrix.getTransfers()).hasSize(3);
+    assertThat(matrix.getTensorCells()).containsOnlyKeys(z.getId());
+    assertThat(matrix.getTensorCells(z.getId())).isEqualTo(20);
+    assertThat(matrix.getTensorCells(x.getId())).isEqualTo(0);
+    assertThat(matrix.getTotalCells()).isEqualTo(20);
+
+    var p0 = producers.get(0).getId();
+    var p1 = producers.get(1).getId();
+    var c0 = consumers.get(0).getId();
+    var c1 = consumers.get(1).getId();
+    assertThat(matrix.getCells(p0, c0)).isEqualTo(5);
+    assertThat(matrix.getCells(p0, c1)).isEqualTo(5);
+    assertThat(matrix.getCells(p1, c0)).isEqualTo(0);
+    assertThat(matrix.getCells(p1, c1)).isEqualTo(10);
+    assertThat(matrix.getCells(c1, p1)).isEqualTo(0);
+    assertThat(matrix.getPairCells().get(p1)).containsOnlyKeys(c1);
+
+    assertThat(matrix.getTransfers())
+      .anySatisfy(t -> {
+        assertThat(t.getSourceId()).isEqualTo(p0);
+        assertThat(t.getTargetId()).isEqualTo(c1);
+        assertThat(t.getRange()).isEqualTo(ZRange.builder().start(1, 0).shape(1, 5).build());
+      });
+  }
+}
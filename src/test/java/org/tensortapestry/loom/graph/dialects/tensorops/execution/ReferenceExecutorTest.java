@@ -0,0 +1,146 @@
+package org.tensortapestry.loom.graph.dialects.tensorops.execution;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.common.testing.CommonAssertions;
+import org.tensortapestry.loom.graph.LoomGraph;
+import org.tensortapestry.loom.graph.dialects.tensorops.LinearReluFixture;
+import org.tensortapestry.loom.graph.dialects.tensorops.OperationNode;
+import org.tensortapestry.loom.graph.dialects.tensorops.ShardPlanner;
+import org.tensortapestry.loom.graph.dialects.tensorops.TensorNode;
+import org.tensortapestry.weft.metakernels.CommonMetaKernels;
+import org.tensortapestry.zspace.ZRange;
+
+public class ReferenceExecutorTest implements CommonAssertions {
+
+  private static final double[] X = { 1, -2, 3, -4, 5, -6, 7, -8, 9, -10, 11, -12 };
+  private static final double[] W = { 1, 0, -1, 2, 0, 0, 1, 1, -2, 1, 1, -1, 0, 0, 3 };
+  private static final double[] BIAS = { 0.5, -0.5, 1, -1, 0 };
+
+  /**
+   * {@code y = z + relu(z)}, where {@code z = linear(import(x), w, bias)}; y is exported.
+   */
+  private static class Fixture {
+
+    final LinearReluFixture ops = LinearReluFixture.linearReluAdd(4);
+    final LoomGraph graph = ops.graph;
+    final TensorNode x = ops.x;
+    final TensorNode w = ops.w;
+    final TensorNode bias = ops.bias;
+    final OperationNode linear = ops.linear;
+    final OperationNode relu = ops.relu;
+    final OperationNode add = ops.add;
+
+    Fixture() {
+      CommonMetaKernels.importTensor(graph, x);
+      CommonMetaKernels.exportTensor(graph, add.getResult());
+    }
+
+    Map<UUID, DenseBuffer> inputs() {
+      return Map.of(
+        x.getId(),
+        DenseBuffer.of(ZRange.newFromShape(4, 3), X),
+        w.getId(),
+        DenseBuffer.of(ZRange.newFromShape(3, 5), W),
+        bias.getId(),
+        DenseBuffer.of(ZRange.newFromShape(5), BIAS)
+      );
+    }
+  }
+
+  private static double[] expected() {
+    var y = new double[4 * 5];
+    for (int i = 0; i < 4; ++i) {
+      for (int o = 0; o < 5; ++o) {
+        double z = BIAS[o];
+        for (int f = 0; f < 3; ++f) {
+          z += X[i * 3 + f] * W[f * 5 + o];
+        }
+        y[i * 5 + o] = z + Math.max(0, z);
+      }
+    }
+    return y;
+  }
+
+  @Test
+  public void test_buffer() {
+    var range = ZRange.builder().start(2, 10).shape(2, 3).build();
+    var buffer = DenseBuffer.of(range, 0, 1, 2, 3, 4, 5);
+    assertThat(buffer.get(3, 11)).isEqualTo(4);
+    assertThat(buffer.offset(new int[] { 2, 10 }, new int[] { 1, 2 })).isEqualTo(5);
+
+    var target = DenseBuffer.zeros(buffer.getRange());
+    target.copyFrom(buffer, ZRange.builder().start(2, 11).shape(2, 2).build());
+    assertThat(target.toArray()).containsExactly(0, 1, 2, 0, 4, 5);
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> DenseBuffer.of(ZRange.newFromShape(2), 1));
+  }
+
+  @Test
+  public void test_execute() {
+    var fixture = new Fixture();
+    var values = ReferenceExecutor.DEFAULT.execute(fixture.graph, fixture.inputs());
+
+    var y = values.get(fixture.add.getResult().getId());
+    assertThat(y.getRange()).isEqualTo(ZRange.newFromShape(4, 5));
+    assertThat(y.toArray()).containsExactly(expected());
+    assertThat(values.get(fixture.x.getId()).toArray()).containsExactly(X);
+  }
+
+  @Test
+  public void test_sharded_matches_unsharded() {
+    var reference = new Fixture();
+    var expected = ReferenceExecutor.DEFAULT
+      .execute(reference.graph, reference.inputs())
+      .get(reference.add.getResult().getId())
+      .toArray();
+
+    var fixture = new Fixture();
+    ShardPlanner.shard(fixture.linear, 4);
+    ShardPlanner.shard(fixture.relu, 3);
+    ShardPlanner.shard(fixture.add, 2);
+    fixture.graph.validate();
+
+    var pool = Executors.newFixedThreadPool(4);
+    try {
+      for (int i = 0; i < 10; ++i) {
+        var values = ReferenceExecutor.DEFAULT.execute(fixture.graph, fixture.inputs(), pool);
+        assertThat(values.get(fixture.add.getResult().getId()).toArray())
+          .containsExactly(expected);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void test_errors() {
+    var fixture = new Fixture();
+
+    var missing = new HashMap<>(fixture.inputs());
+    missing.remove(fixture.w.getId());
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> ReferenceExecutor.DEFAULT.execute(fixture.graph, missing))
+      .withMessageContaining(fixture.w.getId().toString());
+
+    var noImport = new HashMap<>(fixture.inputs());
+    noImport.remove(fixture.x.getId());
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> ReferenceExecutor.DEFAULT.execute(fixture.graph, noImport))
+      .withMessageContaining("imported");
+
+    var misshapen = new HashMap<>(fixture.inputs());
+    misshapen.put(fixture.bias.getId(), DenseBuffer.zeros(ZRange.newFromShape(4)));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> ReferenceExecutor.DEFAULT.execute(fixture.graph, misshapen));
+
+    var noKernels = ReferenceExecutor.DEFAULT.toBuilder().clearKernels().build();
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> noKernels.execute(fixture.graph, fixture.inputs()))
+      .withMessageContaining("No reference kernel");
+  }
+}
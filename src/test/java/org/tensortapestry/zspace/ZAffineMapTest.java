@@ -1,6 +1,9 @@
 package org.tensortapestry.zspace;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import org.tensortapestry.zspace.indexing.BufferOwnership;
 import org.junit.jupiter.api.Test;
 import org.tensortapestry.zspace.experimental.ZSpaceTestAssertions;
 
@@ -162,4 +165,136 @@ public class ZAffineMapTest implements ZSpaceTestAssertions {
     assertThat(map.broadcastApply(ZTensor.newVector(100, 20, 1, 1)))
       .isEqualTo(ZTensor.newVector(100, 20, 5, 7, 9));
   }
+
+  @Test
+  public void test_apply_range() {
+    var map = new ZAffineMap(
+      ZTensor.newFromArray(new int[][] { { 1, -1 }, { -2, 0 } }),
+      ZTensor.newVector(3, 1)
+    );
+
+    assertThat(map.apply(ZRange.of(ZPoint.of(0, 0), ZPoint.of(2, 3))))
+      .isEqualTo(ZRange.of(ZPoint.of(1, -1), ZPoint.of(5, 2)));
+    assertThat(map.apply(ZRange.of(ZPoint.of(1, 1), ZPoint.of(1, 1))))
+      .isEqualTo(ZRange.of(ZPoint.of(3, -1), ZPoint.of(3, -1)));
+
+    var gen = new Random(5);
+    for (int k = 0; k < 50; ++k) {
+      var m = randomMap(gen, 1 + gen.nextInt(3), 1 + gen.nextInt(3));
+      var source = randomRange(gen, m.getInputNDim());
+      var images = new ArrayList<ZRange>();
+      for (var x : source.byCoords(BufferOwnership.CLONED)) {
+        var y = ZPoint.of(m.apply(ZPoint.of(x)));
+        images.add(ZRange.of(y, y.add(1)));
+      }
+      if (!images.isEmpty()) {
+        assertThat(m.apply(source)).isEqualTo(ZRange.boundingRange(images));
+      }
+    }
+  }
+
+  @Test
+  public void test_preimage() {
+    var map = new ZAffineMap(
+      ZTensor.newFromArray(new int[][] { { 1, 1 }, { 1, -1 } }),
+      ZTensor.newVector(0, 0)
+    );
+    var domain = ZRange.newFromShape(10, 10);
+
+    // x + y = 4, x - y = 0
+    assertThat(map.preimage(domain, ZRange.of(ZPoint.of(4, 0), ZPoint.of(5, 1))))
+      .isEqualTo(ZRange.of(ZPoint.of(2, 2), ZPoint.of(3, 3)));
+
+    // x + y = 5, x - y = 0 has no integer solution.
+    assertThat(map.preimage(domain, ZRange.of(ZPoint.of(5, 0), ZPoint.of(6, 1)))).isNull();
+
+    assertThat(map.preimage(domain, ZRange.of(ZPoint.of(0, 0), ZPoint.of(0, 0)))).isNull();
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> map.preimage(domain, ZRange.newFromShape(1)));
+
+    var gen = new Random(9);
+    for (int k = 0; k < 200; ++k) {
+      var m = randomMap(gen, 1 + gen.nextInt(3), 1 + gen.nextInt(3));
+      var dom = randomRange(gen, m.getInputNDim());
+      var target = randomRange(gen, m.getOutputNDim());
+
+      var points = new ArrayList<ZRange>();
+      for (var x : dom.byCoords(BufferOwnership.CLONED)) {
+        var y = ZPoint.of(m.apply(ZPoint.of(x)));
+        if (overlaps(ZRange.of(y, y.add(1)), target)) {
+          points.add(ZRange.of(ZPoint.of(x), ZPoint.of(x).add(1)));
+        }
+      }
+      assertThat(m.preimage(dom, target))
+        .isEqualTo(points.isEmpty() ? null : ZRange.boundingRange(points));
+    }
+  }
+
+  @Test
+  public void test_preimage_lattice() {
+    var domain = ZRange.newFromShape(160, 160, 160, 160, 160);
+
+    // 2 * (x0 - x1 + x2 - x3 + x4) is never odd.
+    var parity = ZAffineMap.fromMatrix(new int[] { 2, -2, 2, -2, 2 });
+    assertThat(parity.preimage(domain, ZRange.of(ZPoint.of(1), ZPoint.of(2)))).isNull();
+    assertThat(parity.preimage(domain, ZRange.of(ZPoint.of(1), ZPoint.of(4))))
+      .isEqualTo(ZRange.newFromShape(160, 160, 160, 160, 160));
+
+    // The sum of both rows is 2 * (x0 + x2 + x4); each row alone is solvable.
+    var pair = ZAffineMap.fromMatrix(new int[] { 1, 1, 1, 1, 1 }, new int[] { 1, -1, 1, -1, 1 });
+    assertThat(pair.preimage(domain, ZRange.of(ZPoint.of(1, 0), ZPoint.of(2, 1)))).isNull();
+  }
+
+  @Test
+  public void test_preimage_large_domain() {
+    var domain = ZRange.newFromShape(1000, 1000, 1000);
+
+    // x + y + z = 10, x - y = 0: x = y in [0, 5], z = 10 - 2x in [0, 10].
+    var map = ZAffineMap.fromMatrix(new int[] { 1, 1, 1 }, new int[] { 1, -1, 0 });
+    assertThat(map.preimage(domain, ZRange.of(ZPoint.of(10, 0), ZPoint.of(11, 1))))
+      .isEqualTo(ZRange.of(ZPoint.of(0, 0, 0), ZPoint.of(6, 6, 11)));
+
+    // 3x + 5y in [7, 8] has the single non-negative solution (1, 1); z is free.
+    var slanted = ZAffineMap.fromMatrix(new int[] { 3, 5, 0 });
+    assertThat(slanted.preimage(domain, ZRange.of(ZPoint.of(7), ZPoint.of(9))))
+      .isEqualTo(ZRange.of(ZPoint.of(1, 1, 0), ZPoint.of(2, 2, 1000)));
+
+    // 7x - 7y + 2z = 1 has integer solutions, but none with z = 0.
+    var thin = ZAffineMap.fromMatrix(new int[] { 7, -7, 2 });
+    assertThat(
+      thin.preimage(
+        ZRange.of(ZPoint.of(0, 0, 0), ZPoint.of(1000, 1000, 1)),
+        ZRange.of(ZPoint.of(1), ZPoint.of(2))
+      )
+    )
+      .isNull();
+  }
+
+  /**
+   * Do two ranges share at least one point?
+   */
+  static boolean overlaps(ZRange a, ZRange b) {
+    for (int i = 0; i < a.getNDim(); ++i) {
+      int lo = Math.max(a.getStart().get(i), b.getStart().get(i));
+      int hi = Math.min(a.getEnd().get(i), b.getEnd().get(i));
+      if (lo >= hi) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static ZAffineMap randomMap(Random gen, int outDim, int inDim) {
+    return new ZAffineMap(
+      ZTensor.newFilled(new int[] { outDim, inDim }, () -> gen.nextInt(5) - 2),
+      ZTensor.newFilled(new int[] { outDim }, () -> gen.nextInt(7) - 3)
+    );
+  }
+
+  static ZRange randomRange(Random gen, int ndim) {
+    var start = ZTensor.newFilled(new int[] { ndim }, () -> gen.nextInt(9) - 4);
+    var shape = ZTensor.newFilled(new int[] { ndim }, () -> gen.nextInt(5));
+    return ZRange.builder().start(start).shape(shape).build();
+  }
 }
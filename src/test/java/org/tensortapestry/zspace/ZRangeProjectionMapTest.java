@@ -1,6 +1,9 @@
 package org.tensortapestry.zspace;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import org.tensortapestry.zspace.indexing.BufferOwnership;
 import org.junit.jupiter.api.Test;
 import org.tensortapestry.zspace.experimental.ZSpaceTestAssertions;
 
@@ -228,4 +231,68 @@ public class ZRangeProjectionMapTest implements ZSpaceTestAssertions {
           .build()
       );
   }
+
+  @Test
+  public void test_apply_negative() {
+    var rpm = ZRangeProjectionMap
+      .builder()
+      .affineMap(new int[][] { { -1, 0 }, { 0, 2 } })
+      .shape(2, 1)
+      .build();
+
+    assertThat(rpm.apply(ZRange.of(ZPoint.of(1, 1), ZPoint.of(4, 3))))
+      .isEqualTo(ZRange.of(ZPoint.of(-3, 2), ZPoint.of(1, 5)));
+  }
+
+  @Test
+  public void test_preimage() {
+    var domain = ZRange.newFromShape(100, 50);
+
+    // Diagonal: row blocks of 4, column blocks of 2.
+    var diag = ZRangeProjectionMap.builder().fromDiagonal(4, 2).shape(4, 2).build();
+    assertThat(diag.preimage(domain, ZRange.of(ZPoint.of(10, 3), ZPoint.of(17, 4))))
+      .isEqualTo(ZRange.of(ZPoint.of(2, 1), ZPoint.of(5, 2)));
+    assertThat(diag.preimage(domain, ZRange.of(ZPoint.of(1000, 3), ZPoint.of(1001, 4)))).isNull();
+
+    // Permutation.
+    var perm = ZRangeProjectionMap.builder().affineMap(new int[][] { { 0, 1 }, { 1, 0 } }).build();
+    assertThat(perm.preimage(domain, ZRange.of(ZPoint.of(3, 7), ZPoint.of(5, 8))))
+      .isEqualTo(ZRange.of(ZPoint.of(7, 3), ZPoint.of(8, 5)));
+
+    // Broadcast: the second index dimension is free.
+    var bcast = ZRangeProjectionMap.builder().affineMap(new int[][] { { 1, 0 } }).build();
+    assertThat(bcast.preimage(domain, ZRange.of(ZPoint.of(3), ZPoint.of(5))))
+      .isEqualTo(ZRange.of(ZPoint.of(3, 0), ZPoint.of(5, 50)));
+
+    // Sliding window: [x + y, x + y + 3).
+    var conv = ZRangeProjectionMap.builder().affineMap(new int[][] { { 1, 1 } }).shape(3).build();
+    assertThat(conv.preimage(ZRange.newFromShape(10, 2), ZRange.of(ZPoint.of(0), ZPoint.of(1))))
+      .isEqualTo(ZRange.of(ZPoint.of(0, 0), ZPoint.of(1, 1)));
+
+    // Empty projections intersect nothing.
+    var empty = ZRangeProjectionMap.builder().identityMap(2).shape(0, 1).build();
+    assertThat(empty.preimage(domain, ZRange.newFromShape(4, 4))).isNull();
+
+    var gen = new Random(3);
+    for (int k = 0; k < 200; ++k) {
+      var rpm = new ZRangeProjectionMap(
+        ZAffineMapTest.randomMap(gen, 1 + gen.nextInt(3), 1 + gen.nextInt(3)),
+        null
+      );
+      int outDim = rpm.getShape().getNDim();
+      var shape = ZTensor.newFilled(new int[] { outDim }, () -> 1 + gen.nextInt(3));
+      rpm = rpm.toBuilder().shape(shape).build();
+      var dom = ZAffineMapTest.randomRange(gen, rpm.getAffineMap().getInputNDim());
+      var target = ZAffineMapTest.randomRange(gen, rpm.getShape().getNDim());
+
+      var points = new ArrayList<ZRange>();
+      for (var x : dom.byCoords(BufferOwnership.CLONED)) {
+        if (ZAffineMapTest.overlaps(rpm.apply(ZPoint.of(x)), target)) {
+          points.add(ZRange.of(ZPoint.of(x), ZPoint.of(x).add(1)));
+        }
+      }
+      assertThat(rpm.preimage(dom, target))
+        .isEqualTo(points.isEmpty() ? null : ZRange.boundingRange(points));
+    }
+  }
 }
@@ -337,6 +337,13 @@ public class ZRangeTest implements ZSpaceTestAssertions {
 
     assertThat(range.split(-1, 3)).containsExactly(range);
 
+    assertThat(ZRange.newFromShape(10).split(0, 4))
+      .containsExactly(
+        ZRange.of(new ZPoint(0), new ZPoint(4)),
+        ZRange.of(new ZPoint(4), new ZPoint(8)),
+        ZRange.of(new ZPoint(8), new ZPoint(10))
+      );
+
     assertThatExceptionOfType(IllegalArgumentException.class)
       .isThrownBy(() -> range.split(0, -2))
       .withMessage("chunk size must be > 0: -2");
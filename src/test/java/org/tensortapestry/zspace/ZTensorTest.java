@@ -642,6 +642,165 @@ public class ZTensorTest implements ZSpaceTestAssertions {
       .withMessageContaining("invalid dimension");
   }
 
+  @Test
+  public void test_rank_specialized_get_set() {
+    var t = ZTensor.newFromArray(new int[][][] { { { 2, 3 }, { 4, 5 } }, { { 6, 7 }, { 8, 9 } } });
+
+    assertThat(t.get3(1, 0, 1)).isEqualTo(t.get(1, 0, 1)).isEqualTo(7);
+    assertThat(t.get3(-1, -2, -1)).isEqualTo(7);
+    assertThat(t.selectDim(0, 1).get2(1, 0)).isEqualTo(8);
+    assertThat(t.selectDim(0, 1).T().get2(1, 0)).isEqualTo(7);
+    assertThat(t.selectDims(new int[] { 0, 1 }, new int[] { 0, 1 }).get1(-1)).isEqualTo(5);
+    assertThat(t.unsqueeze(0).get4(0, 1, 1, 0)).isEqualTo(8);
+
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+      .isThrownBy(() -> t.get3(2, 0, 0))
+      .withMessage("coords [2, 0, 0] are out of bounds of shape [2, 2, 2]");
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> t.get2(0, 0))
+      .withMessageContaining("must have the same dimensions");
+
+    var m = ZTensor.newZeros(2, 3);
+    m.set2(1, -1, 4);
+    m.T().set2(0, 0, 1);
+    assertThat(m).isEqualTo(ZTensor.newFromArray(new int[][] { { 1, 0, 0 }, { 0, 0, 4 } }));
+
+    var v = ZTensor.newZeros(3);
+    v.set1(-1, 2);
+    assertThat(v).isEqualTo(ZTensor.newVector(0, 0, 2));
+
+    var c = ZTensor.newZeros(1, 2, 2);
+    c.set3(0, 1, 0, 5);
+    assertThat(c.get(0, 1, 0)).isEqualTo(5);
+
+    var q = ZTensor.newZeros(1, 1, 1, 2);
+    q.set4(0, 0, 0, 1, 6);
+    assertThat(q.get(0, 0, 0, 1)).isEqualTo(6);
+
+    assertThatExceptionOfType(IllegalStateException.class)
+      .isThrownBy(() -> t.asImmutable().set3(0, 0, 0, 1));
+  }
+
+  @Test
+  public void test_indexer() {
+    var t = ZTensor.newFromArray(new int[][] { { 0, 1, 2 }, { 3, 4, 5 } });
+
+    var idx = t.indexer();
+    assertThat(idx.getNDim()).isEqualTo(2);
+    assertThat(idx.get2(1, 2)).isEqualTo(5);
+    assertThat(t.T().indexer().get2(2, 1)).isEqualTo(5);
+    assertThat(t.reverse(1).indexer().get2(0, 0)).isEqualTo(2);
+    assertThat(t.selectDim(1, 1).indexer().get1(1)).isEqualTo(4);
+    assertThat(t.selectDims(new int[] { 0, 1 }, new int[] { 1, 1 }).indexer().get0()).isEqualTo(4);
+    assertThat(t.unsqueeze(1).indexer().get3(1, 0, 1)).isEqualTo(4);
+    assertThat(t.unsqueeze(1).unsqueeze(0).indexer().get4(0, 1, 0, 1)).isEqualTo(4);
+
+    idx.set2(0, 0, 7);
+    assertThat(t.get(0, 0)).isEqualTo(7);
+    t.selectDim(0, 0).indexer().set1(1, 8);
+    assertThat(t.get(0, 1)).isEqualTo(8);
+    t.unsqueeze(0).indexer().set3(0, 1, 0, 9);
+    assertThat(t.get(1, 0)).isEqualTo(9);
+    t.unsqueeze(0).unsqueeze(0).indexer().set4(0, 0, 1, 1, 10);
+    assertThat(t.get(1, 1)).isEqualTo(10);
+    var s = ZTensor.newScalar(1);
+    s.indexer().set0(2);
+    assertThat(s.item()).isEqualTo(2);
+
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+      .isThrownBy(() -> idx.get2(2, 0));
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+      .isThrownBy(() -> idx.get2(0, -1));
+    assertThatExceptionOfType(ZDimMissMatchError.class)
+      .isThrownBy(() -> idx.get1(0))
+      .withMessage("Expected ndim 1, got 2");
+    assertThatExceptionOfType(IllegalStateException.class)
+      .isThrownBy(() -> t.asImmutable().indexer().set2(0, 0, 1))
+      .withMessage("tensor is immutable");
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> ZTensor.newZeros(1, 1, 1, 1, 1).indexer())
+      .withMessage("Indexer supports at most 4 dimensions, found shape [1, 1, 1, 1, 1]");
+  }
+
+  @Test
+  public void test_gather() {
+    var t = ZTensor.newFromArray(new int[][] { { 0, 1, 2 }, { 3, 4, 5 } });
+
+    assertThat(t.gather(ZTensor.newFromArray(new int[][] { { 0, 1 }, { 1, -1 } })))
+      .isEqualTo(ZTensor.newVector(1, 5));
+    assertThat(t.gather(ZTensor.newVector(1, 0))).isEqualTo(ZTensor.newScalar(3));
+    assertThat(t.T().gather(ZTensor.newFromArray(new int[][][] { { { 2, 0 } }, { { 0, 1 } } })))
+      .isEqualTo(ZTensor.newFromArray(new int[][] { { 2 }, { 3 } }));
+    assertThat(t.gather(ZTensor.newZeros(0, 2))).isEqualTo(ZTensor.newZeros(0));
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> t.gather(ZTensor.newVector(1, 0, 0)))
+      .withMessage("index shape [3] is not a batch of coordinates for shape [2, 3]");
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+      .isThrownBy(() -> t.gather(ZTensor.newFromArray(new int[][] { { 0, 1 }, { 2, 0 } })))
+      .withMessage("coords [2, 0] are out of bounds of shape [2, 3]");
+
+    var gen = new Random(7);
+    var big = ZTensor.newFilled(new int[] { 64, 64, 8 }, (IntSupplier) gen::nextInt);
+    var index = ZTensor.newZeros(ZTensor.PARALLEL_THRESHOLD + 3, 3);
+    for (int i = 0; i < index.shape(0); ++i) {
+      index.set(new int[] { i, 0 }, gen.nextInt(64));
+      index.set(new int[] { i, 1 }, gen.nextInt(64));
+      index.set(new int[] { i, 2 }, -1 - gen.nextInt(8));
+    }
+    var values = big.gather(index);
+    for (int i = 0; i < index.shape(0); ++i) {
+      assertThat(values.get(i)).isEqualTo(big.get(index.selectDim(0, i).toT1()));
+    }
+  }
+
+  @Test
+  public void test_scatter_() {
+    var t = ZTensor.newZeros(2, 3);
+
+    t.scatter_(ZTensor.newFromArray(new int[][] { { 0, 1 }, { 1, -1 } }), ZTensor.newVector(7, 8));
+    assertThat(t).isEqualTo(ZTensor.newFromArray(new int[][] { { 0, 7, 0 }, { 0, 0, 8 } }));
+
+    t.scatter_(ZTensor.newFromArray(new int[][] { { 0, 0 }, { 1, 0 } }), 9);
+    assertThat(t).isEqualTo(ZTensor.newFromArray(new int[][] { { 9, 7, 0 }, { 9, 0, 8 } }));
+
+    var index = ZTensor.newFromArray(new int[][] { { 2, 0 }, { 1, 1 } });
+    t.T().scatter_(index, ZTensor.newVector(3, 4));
+    assertThat(t).isEqualTo(ZTensor.newFromArray(new int[][] { { 9, 7, 3 }, { 9, 4, 8 } }));
+    assertThat(t.gather(ZTensor.newFromArray(new int[][] { { 1, 1 }, { 0, 2 } })))
+      .isEqualTo(ZTensor.newVector(4, 3));
+
+    assertThatExceptionOfType(IllegalStateException.class)
+      .isThrownBy(() -> t.asImmutable().scatter_(index, 1));
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> t.T().scatter_(index, ZTensor.newVector(1, 2, 3)));
+  }
+
+  @Test
+  public void test_indexSelect() {
+    var t = ZTensor.newFromArray(new int[][] { { 0, 1, 2 }, { 3, 4, 5 } });
+
+    assertThat(t.indexSelect(1, 2, 0, 0))
+      .isEqualTo(ZTensor.newFromArray(new int[][] { { 2, 0, 0 }, { 5, 3, 3 } }));
+    assertThat(t.indexSelect(0, ZTensor.newVector(-1, 0, 1)))
+      .isEqualTo(ZTensor.newFromArray(new int[][] { { 3, 4, 5 }, { 0, 1, 2 }, { 3, 4, 5 } }));
+    assertThat(t.T().indexSelect(-1, 1))
+      .isEqualTo(ZTensor.newFromArray(new int[][] { { 3 }, { 4 }, { 5 } }));
+    assertThat(t.indexSelect(1)).isEqualTo(ZTensor.newZeros(2, 0));
+
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+      .isThrownBy(() -> t.indexSelect(0, 2));
+
+    var gen = new Random(11);
+    var big = ZTensor.newFilled(new int[] { 5, 300, 40 }, (IntSupplier) gen::nextInt);
+    var indices = new int[] { 299, 0, 17, 17, -3 };
+    var selected = big.indexSelect(1, indices);
+    assertThat(selected.shapeAsList()).containsExactly(5, 5, 40);
+    for (int k = 0; k < indices.length; ++k) {
+      assertThat(selected.selectDim(1, k)).isEqualTo(big.selectDim(1, indices[k]));
+    }
+  }
+
   @Test
   public void test_permute() {
     var t = ZTensor.newFromArray(new int[][][] { { { 2, 3 }, { 4, 5 } }, { { 6, 7 }, { 8, 9 } } });
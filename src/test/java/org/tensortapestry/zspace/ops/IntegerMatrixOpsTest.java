@@ -0,0 +1,177 @@
+package org.tensortapestry.zspace.ops;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.zspace.ZMatrix;
+import org.tensortapestry.zspace.ZTensor;
+import org.tensortapestry.zspace.experimental.ZSpaceTestAssertions;
+
+public class IntegerMatrixOpsTest implements ZSpaceTestAssertions {
+
+  private static ZMatrix randomMatrix(Random gen, int rows, int cols) {
+    return ZMatrix.newMatrix(ZTensor.newFilled(new int[] { rows, cols }, () -> gen.nextInt(9) - 4));
+  }
+
+  /**
+   * A square integer matrix is unimodular iff every unit vector has an integer preimage.
+   */
+  private void assertUnimodular(ZMatrix u) {
+    assertThat(u.rows()).isEqualTo(u.cols());
+    assertThat(u.rank()).isEqualTo(u.rows());
+    for (int i = 0; i < u.rows(); ++i) {
+      var e = ZTensor.newZeros(u.rows());
+      e.set1(i, 1);
+      assertThat(u.solve(e)).isNotNull();
+    }
+  }
+
+  private void assertHermite(ZMatrix matrix) {
+    var hnf = matrix.hermiteNormalForm();
+    var h = hnf.getH();
+    assertThat(hnf.getU().matmul(matrix)).isEqualTo(h.unwrap());
+    assertUnimodular(hnf.getU());
+
+    var pivots = hnf.getPivots();
+    for (int r = 0; r < h.rows(); ++r) {
+      for (int c = 0; c < h.cols(); ++c) {
+        if (r >= pivots.length || c < pivots[r]) {
+          assertThat(h.get(r, c)).isEqualTo(0);
+        }
+      }
+      if (r < pivots.length) {
+        int p = h.get(r, pivots[r]);
+        assertThat(p).isPositive();
+        for (int i = 0; i < r; ++i) {
+          assertThat(h.get(i, pivots[r])).isBetween(0, p - 1);
+        }
+        if (r > 0) {
+          assertThat(pivots[r]).isGreaterThan(pivots[r - 1]);
+        }
+      }
+    }
+  }
+
+  private void assertSmith(ZMatrix matrix) {
+    var snf = matrix.smithNormalForm();
+    var s = snf.getS();
+    assertThat(MatrixOps.matmul(snf.getU().matmul(matrix), snf.getV())).isEqualTo(s.unwrap());
+    assertUnimodular(snf.getU());
+    assertUnimodular(snf.getV());
+
+    var factors = snf.getInvariantFactors();
+    assertThat(factors.length).isEqualTo(matrix.rank());
+    for (int r = 0; r < s.rows(); ++r) {
+      for (int c = 0; c < s.cols(); ++c) {
+        if (r != c || r >= factors.length) {
+          assertThat(s.get(r, c)).isEqualTo(0);
+        }
+      }
+    }
+    for (int i = 0; i < factors.length; ++i) {
+      assertThat(factors[i]).isPositive();
+      if (i > 0) {
+        assertThat(factors[i] % factors[i - 1]).isEqualTo(0);
+      }
+    }
+  }
+
+  @Test
+  public void test_rank() {
+    assertThat(ZMatrix.newIdentityMatrix(3).rank()).isEqualTo(3);
+    assertThat(ZMatrix.newZeros(2, 3).rank()).isEqualTo(0);
+    assertThat(ZMatrix.newMatrix(new int[][] { { 1, 2, 3 }, { 2, 4, 6 } }).rank()).isEqualTo(1);
+    assertThat(ZMatrix.newMatrix(new int[][] { { 2, 4 }, { 1, 3 }, { 0, 1 } }).rank())
+      .isEqualTo(2);
+    assertThat(ZMatrix.newZeros(0, 3).rank()).isEqualTo(0);
+  }
+
+  @Test
+  public void test_hermiteNormalForm() {
+    var matrix = ZMatrix.newMatrix(new int[][] { { 2, 3, 6, 2 }, { 5, 6, 1, 6 }, { 8, 3, 1, 1 } });
+    var hnf = matrix.hermiteNormalForm();
+    assertThat(hnf.getH())
+      .isEqualTo(
+        ZMatrix.newMatrix(new int[][] { { 1, 0, 50, -11 }, { 0, 3, 28, -2 }, { 0, 0, 61, -13 } })
+      );
+    assertThat(hnf.getRank()).isEqualTo(3);
+    assertHermite(matrix);
+
+    var gen = new Random(7);
+    for (int k = 0; k < 50; ++k) {
+      assertHermite(randomMatrix(gen, 1 + gen.nextInt(4), 1 + gen.nextInt(4)));
+    }
+  }
+
+  @Test
+  public void test_smithNormalForm() {
+    var matrix = ZMatrix.newMatrix(new int[][] { { 2, 4, 4 }, { -6, 6, 12 }, { 10, -4, -16 } });
+    assertThat(matrix.smithNormalForm().getInvariantFactors()).containsExactly(2, 6, 12);
+    assertSmith(matrix);
+
+    assertThat(ZMatrix.newDiagonalMatrix(4, 6).smithNormalForm().getInvariantFactors())
+      .containsExactly(2, 12);
+
+    var gen = new Random(11);
+    for (int k = 0; k < 50; ++k) {
+      assertSmith(randomMatrix(gen, 1 + gen.nextInt(4), 1 + gen.nextInt(4)));
+    }
+  }
+
+  @Test
+  public void test_kernel() {
+    var matrix = ZMatrix.newMatrix(new int[][] { { 1, 2, 3 }, { 2, 4, 6 } });
+    var kernel = matrix.kernel();
+    assertThat(kernel.shapeAsList()).containsExactly(3, 2);
+    assertThat(matrix.matmul(kernel)).isEqualTo(ZTensor.newZeros(2, 2));
+
+    assertThat(ZMatrix.newIdentityMatrix(2).kernel().shapeAsList()).containsExactly(2, 0);
+
+    var gen = new Random(13);
+    for (int k = 0; k < 50; ++k) {
+      var m = randomMatrix(gen, 1 + gen.nextInt(3), 1 + gen.nextInt(4));
+      var kern = m.kernel();
+      assertThat(kern.cols()).isEqualTo(m.cols() - m.rank());
+      assertThat(kern.rank()).isEqualTo(kern.cols());
+      assertThat(m.matmul(kern)).isEqualTo(ZTensor.newZeros(m.rows(), kern.cols()));
+    }
+  }
+
+  @Test
+  public void test_solve() {
+    var matrix = ZMatrix.newMatrix(new int[][] { { 2, 0 }, { 0, 3 } });
+    assertThat(matrix.solve(ZTensor.newVector(4, 9))).isEqualTo(ZTensor.newVector(2, 3));
+    assertThat(matrix.solve(ZTensor.newVector(3, 9))).isNull();
+
+    // Rational, but not integer, solutions.
+    assertThat(ZMatrix.newMatrix(new int[][] { { 2, 4 } }).solve(ZTensor.newVector(3))).isNull();
+
+    // Inconsistent.
+    assertThat(ZMatrix.newMatrix(new int[][] { { 1 }, { 1 } }).solve(ZTensor.newVector(1, 2)))
+      .isNull();
+
+    // Underdetermined.
+    var under = ZMatrix.newMatrix(new int[][] { { 3, 5 } });
+    assertThat(under.matmul(under.solve(ZTensor.newVector(1)))).isEqualTo(ZTensor.newVector(1));
+
+    assertThatExceptionOfType(IllegalArgumentException.class)
+      .isThrownBy(() -> matrix.solve(ZTensor.newVector(1, 2, 3)));
+
+    var gen = new Random(17);
+    for (int k = 0; k < 100; ++k) {
+      var m = randomMatrix(gen, 1 + gen.nextInt(3), 1 + gen.nextInt(3));
+      var x = ZTensor.newFilled(new int[] { m.cols() }, () -> gen.nextInt(11) - 5);
+      var b = m.matmul(x);
+      var sol = m.solve(b);
+      assertThat(sol).isNotNull();
+      assertThat(m.matmul(sol)).isEqualTo(b);
+    }
+  }
+
+  @Test
+  public void test_overflow() {
+    var big = ZMatrix.newMatrix(
+      new int[][] { { Integer.MAX_VALUE, Integer.MAX_VALUE - 1 }, { Integer.MAX_VALUE - 1, 1 } }
+    );
+    assertThatExceptionOfType(ArithmeticException.class).isThrownBy(big::smithNormalForm);
+  }
+}
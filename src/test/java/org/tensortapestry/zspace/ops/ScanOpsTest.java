@@ -0,0 +1,93 @@
+package org.tensortapestry.zspace.ops;
+
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.Test;
+import org.tensortapestry.zspace.ZTensor;
+import org.tensortapestry.zspace.experimental.ZSpaceTestAssertions;
+import org.tensortapestry.zspace.indexing.BufferOwnership;
+
+public class ScanOpsTest implements ZSpaceTestAssertions {
+
+  /**
+   * Reference scan, one cell at a time.
+   */
+  private static ZTensor naiveScan(ZTensor tensor, int dim, IntBinaryOperator op) {
+    var d = tensor.resolveDim(dim);
+    var res = tensor.clone(true);
+    for (var coords : res.byCoords(BufferOwnership.CLONED)) {
+      if (coords[d] == 0) {
+        continue;
+      }
+      var prev = coords.clone();
+      prev[d]--;
+      res.set(coords, op.applyAsInt(res.get(prev), res.get(coords)));
+    }
+    return res;
+  }
+
+  @Test
+  public void test_cumsum() {
+    var t = ZTensor.newFromArray(new int[][] { { 1, 2, 3 }, { 4, 5, 6 } });
+
+    assertThat(ScanOps.cumsum(t, 1))
+      .isEqualTo(t.cumsum(-1))
+      .isEqualTo(ZTensor.newFromArray(new int[][] { { 1, 3, 6 }, { 4, 9, 15 } }));
+    assertThat(ScanOps.cumsum(t, 0))
+      .isEqualTo(ZTensor.newFromArray(new int[][] { { 1, 2, 3 }, { 5, 7, 9 } }));
+    assertThat(t.T().cumsum(0))
+      .isEqualTo(ZTensor.newFromArray(new int[][] { { 1, 4 }, { 3, 9 }, { 6, 15 } }));
+    assertThat(ZTensor.newZeros(0, 3).cumsum(0)).isEqualTo(ZTensor.newZeros(0, 3));
+
+    assertThatExceptionOfType(IndexOutOfBoundsException.class)
+      .isThrownBy(() -> ZTensor.newScalar(3).cumsum(0));
+
+    var data = new int[] { 2, 3, 4 };
+    ScanOps.cumsum_(data);
+    assertThat(data).containsExactly(2, 5, 9);
+  }
+
+  @Test
+  public void test_cumprod() {
+    var t = ZTensor.newFromArray(new int[][] { { 1, 2, 3 }, { 4, 5, 6 } });
+
+    assertThat(ScanOps.cumprod(t, 1))
+      .isEqualTo(t.cumprod(1))
+      .isEqualTo(ZTensor.newFromArray(new int[][] { { 1, 2, 6 }, { 4, 20, 120 } }));
+  }
+
+  @Test
+  public void test_scan() {
+    var t = ZTensor.newVector(3, 1, 4, 1, 5, 9, 2, 6);
+
+    assertThat(t.scan(0, Math::max)).isEqualTo(ZTensor.newVector(3, 3, 4, 4, 5, 9, 9, 9));
+    assertThat(t.scan(0, Math::min)).isEqualTo(ZTensor.newVector(3, 1, 1, 1, 1, 1, 1, 1));
+
+    // The source is not modified.
+    assertThat(t).isEqualTo(ZTensor.newVector(3, 1, 4, 1, 5, 9, 2, 6));
+  }
+
+  @Test
+  public void test_large() {
+    var gen = new Random(3);
+    IntSupplier small = () -> gen.nextInt(7) - 3;
+
+    // A single long line; exercises the blocked parallel scan.
+    var line = ZTensor.newFilled(new int[] { 10 * ZTensor.PARALLEL_THRESHOLD + 17 }, small);
+    assertThat(line.cumsum(0)).isEqualTo(naiveScan(line, 0, Integer::sum));
+    assertThat(line.scan(0, Math::max)).isEqualTo(naiveScan(line, 0, Math::max));
+
+    // Two long strided lines.
+    var strided = ZTensor.newFilled(new int[] { ZTensor.PARALLEL_THRESHOLD + 5, 2 }, small);
+    assertThat(strided.cumsum(0)).isEqualTo(naiveScan(strided, 0, Integer::sum));
+
+    // Many lines; exercises the parallel row scan.
+    var wide = ZTensor.newFilled(new int[] { 7, 33, 200 }, small);
+    for (int d = 0; d < 3; ++d) {
+      assertThat(wide.cumsum(d)).isEqualTo(naiveScan(wide, d, Integer::sum));
+    }
+    assertThat(wide.permute(2, 0, 1).cumsum(-1))
+      .isEqualTo(naiveScan(wide.permute(2, 0, 1), -1, Integer::sum));
+  }
+}